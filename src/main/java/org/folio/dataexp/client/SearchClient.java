@@ -1,8 +1,8 @@
 package org.folio.dataexp.client;
 
+import feign.Response;
 import org.folio.dataexp.domain.dto.IdsJob;
 import org.folio.dataexp.domain.dto.IdsJobPayload;
-import org.folio.dataexp.domain.dto.ResourceIds;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,8 +17,11 @@ public interface SearchClient {
   @PostMapping(produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
   IdsJob submitIdsJob(@RequestBody IdsJobPayload idsJobPayload);
 
+  /**
+   * @return raw response, the body of {@link org.folio.dataexp.domain.dto.ResourceIds} is read as a stream
+   */
   @GetMapping(value = "/{jobId}/ids", produces = APPLICATION_JSON_VALUE)
-  ResourceIds getResourceIds(@PathVariable String jobId);
+  Response getResourceIds(@PathVariable String jobId);
 
   @GetMapping(value = "/{jobId}", produces = APPLICATION_JSON_VALUE)
   IdsJob getJobStatus(@PathVariable String jobId);
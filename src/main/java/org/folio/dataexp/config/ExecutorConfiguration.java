@@ -1,25 +1,180 @@
 package org.folio.dataexp.config;
 
+import lombok.extern.log4j.Log4j2;
 import org.folio.spring.scope.FolioExecutionScopeExecutionContextManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * Executors of the export. With {@code application.virtual-threads.enabled} on JDK 21+ the executors of the I/O bound
+ * stages run each task on a virtual thread, with the number of the concurrent tasks limited to the pool size of the
+ * platform executor, so the use of the connections stays capped. The MARC conversion and the progress reporting always
+ * run on platform threads.
+ */
 @Configuration
+@Log4j2
 public class ExecutorConfiguration {
 
+  private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
   @Value("#{ T(Integer).parseInt('${application.export-files.max-pool-size}')}")
   private int maxPollSize;
 
+  @Value("#{ T(Integer).parseInt('${application.export-files.conversion-pool-size}')}")
+  private int conversionPoolSize;
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.consortium-search-pool-size}')}")
+  private int consortiumSearchPoolSize;
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.s3-streaming.upload-concurrency}')}")
+  private int s3UploadConcurrency;
+
+  private boolean virtualThreads;
+
+  @Value("${application.virtual-threads.enabled}")
+  private void setVirtualThreads(boolean virtualThreadsEnabled) {
+    virtualThreads = virtualThreadsEnabled && isVirtualThreadsSupported();
+    if (virtualThreadsEnabled && !virtualThreads) {
+      log.warn("setVirtualThreads:: Virtual threads require Java {}+, running on {}, platform threads are used",
+        VIRTUAL_THREADS_MIN_JAVA_VERSION, Runtime.version());
+    } else if (virtualThreads) {
+      log.info("setVirtualThreads:: I/O bound export stages run on virtual threads");
+    }
+  }
+
   @Bean
   public TaskExecutor singleExportFileTaskExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("single-export-file-", maxPollSize, true);
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxPollSize);
+    executor.setMaxPoolSize(maxPollSize);
+    executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public TaskExecutor marcConversionExecutor() {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(conversionPoolSize);
+    executor.setMaxPoolSize(conversionPoolSize);
+    executor.setThreadNamePrefix("marc-conversion-");
+    executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public TaskExecutor slicePrefetchExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("slice-prefetch-", maxPollSize, true);
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxPollSize);
+    executor.setMaxPoolSize(maxPollSize);
+    executor.setThreadNamePrefix("slice-prefetch-");
+    executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public TaskExecutor exportIdsInsertExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("export-ids-insert-", maxPollSize, true);
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxPollSize);
+    executor.setMaxPoolSize(maxPollSize);
+    executor.setThreadNamePrefix("export-ids-insert-");
+    executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public TaskExecutor exportFinalizerExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("export-finalizer-", maxPollSize, true);
+    }
     var executor = new ThreadPoolTaskExecutor();
     executor.setCorePoolSize(maxPollSize);
     executor.setMaxPoolSize(maxPollSize);
+    executor.setThreadNamePrefix("export-finalizer-");
+    executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public TaskScheduler exportProgressScheduler() {
+    var scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("export-progress-");
+    scheduler.setRemoveOnCancelPolicy(true);
+    scheduler.initialize();
+    return scheduler;
+  }
+
+  @Bean
+  public TaskExecutor s3PartUploadExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("s3-part-upload-", maxPollSize * Math.max(s3UploadConcurrency, 1), false);
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxPollSize * Math.max(s3UploadConcurrency, 1));
+    executor.setMaxPoolSize(maxPollSize * Math.max(s3UploadConcurrency, 1));
+    executor.setThreadNamePrefix("s3-part-upload-");
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean
+  public TaskExecutor consortiumSearchExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("consortium-search-", consortiumSearchPoolSize, true);
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(consortiumSearchPoolSize);
+    executor.setMaxPoolSize(consortiumSearchPoolSize);
+    executor.setThreadNamePrefix("consortium-search-");
     executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
     executor.initialize();
     return executor;
   }
+
+  @Bean
+  public TaskExecutor dataExportExecutor() {
+    if (virtualThreads) {
+      return virtualThreadExecutor("data-export-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY, false);
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(0);
+    executor.setQueueCapacity(0);
+    executor.setThreadNamePrefix("data-export-");
+    executor.initialize();
+    return executor;
+  }
+
+  static boolean isVirtualThreadsSupported() {
+    return Runtime.version().feature() >= VIRTUAL_THREADS_MIN_JAVA_VERSION;
+  }
+
+  static TaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit, boolean propagateFolioContext) {
+    var executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+    executor.setVirtualThreads(true);
+    executor.setConcurrencyLimit(concurrencyLimit);
+    if (propagateFolioContext) {
+      executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
+    }
+    return executor;
+  }
 }
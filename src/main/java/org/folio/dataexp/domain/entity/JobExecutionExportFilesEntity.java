@@ -35,4 +35,8 @@ public class JobExecutionExportFilesEntity {
 
   @Enumerated(EnumType.STRING)
   private JobExecutionExportFilesStatus status;
+
+  private Long estimatedWeight;
+
+  private Long durationMs;
 }
@@ -1,6 +1,7 @@
 package org.folio.dataexp.repository;
 
 import org.folio.dataexp.domain.entity.ExportIdEntity;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -21,20 +22,22 @@ public interface ExportIdEntityRepository extends JpaRepository<ExportIdEntity,
 
   Slice<ExportIdEntity> findByJobExecutionIdIsAndInstanceIdGreaterThanEqualAndInstanceIdLessThanEqualOrderByInstanceIdAsc(UUID jobExecutionId, UUID fromId, UUID toId, Pageable page);
 
+  List<ExportIdEntity> findByJobExecutionIdIsAndInstanceIdGreaterThanAndInstanceIdLessThanEqualOrderByInstanceIdAsc(UUID jobExecutionId, UUID lastId, UUID toId, Pageable page);
+
   long countByJobExecutionIdIsAndInstanceIdGreaterThanEqualAndInstanceIdLessThanEqual(UUID jobExecutionId, UUID fromId, UUID toId);
 
   @Modifying
   @Query("DELETE ExportIdEntity e WHERE e.jobExecutionId = :jobExecutionId")
   int deleteWithJobExecutionId(@Param("jobExecutionId") UUID jobExecutionId);
 
-  @Modifying
-  @Query(value = "INSERT INTO job_executions_export_ids (job_execution_id, instance_id) VALUES (?1, ?2) ON CONFLICT DO NOTHING",  nativeQuery = true)
-  void insertExportId(UUID jobExecutionId, UUID instanceId);
-
   default Slice<ExportIdEntity> getExportIds(UUID jobExecutionId, UUID fromId, UUID toId, Pageable page) {
     return findByJobExecutionIdIsAndInstanceIdGreaterThanEqualAndInstanceIdLessThanEqualOrderByInstanceIdAsc(jobExecutionId, fromId, toId, page);
   }
 
+  default List<ExportIdEntity> getExportIdsAfter(UUID jobExecutionId, UUID toId, UUID lastId, int limit) {
+    return findByJobExecutionIdIsAndInstanceIdGreaterThanAndInstanceIdLessThanEqualOrderByInstanceIdAsc(jobExecutionId, lastId, toId, PageRequest.of(0, limit));
+  }
+
   default long countExportIds(UUID jobExecutionId, UUID fromId, UUID toId) {
     return countByJobExecutionIdIsAndInstanceIdGreaterThanEqualAndInstanceIdLessThanEqual(jobExecutionId, fromId, toId);
   }
@@ -16,10 +16,16 @@ public interface FolioHoldingsAllRepository extends Repository<HoldingsRecordEnt
   @Query(value = "SELECT * FROM v_folio_holdings_all_non_deleted WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<HoldingsRecordEntity> findFolioHoldingsAllNonDeleted(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_folio_holdings_all_non_deleted WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<HoldingsRecordEntity> findFolioHoldingsAllNonDeletedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   // onlyNonDeleted, suppressedFromDiscovery = false
   @Query(value = "SELECT * FROM v_folio_holdings_all_non_deleted_non_suppressed WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<HoldingsRecordEntity> findFolioHoldingsAllNonDeletedNonSuppressed(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_folio_holdings_all_non_deleted_non_suppressed WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<HoldingsRecordEntity> findFolioHoldingsAllNonDeletedNonSuppressedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   // onlyDeleted, suppressedFromDiscovery = true
   @Query(value = "SELECT * FROM v_holdings_all_folio_deleted ORDER BY id ASC", nativeQuery = true)
   List<HoldingsRecordEntity> findFolioHoldingsAllDeleted();
@@ -31,9 +37,15 @@ public interface FolioHoldingsAllRepository extends Repository<HoldingsRecordEnt
   @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted_custom_profile WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<HoldingsRecordEntity> findMarcHoldingsAllNonDeletedCustomHoldingsProfile(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted_custom_profile WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<HoldingsRecordEntity> findMarcHoldingsAllNonDeletedCustomHoldingsProfileAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted_non_suppressed_custom_profile WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<HoldingsRecordEntity> findMarcHoldingsAllNonDeletedNonSuppressedCustomHoldingsProfile(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted_non_suppressed_custom_profile WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<HoldingsRecordEntity> findMarcHoldingsAllNonDeletedNonSuppressedCustomHoldingsProfileAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT * FROM v_holdings_all_marc_deleted_custom_profile ORDER BY id ASC", nativeQuery = true)
   List<HoldingsRecordEntity> findMarcHoldingsAllDeletedCustomHoldingsProfile();
 
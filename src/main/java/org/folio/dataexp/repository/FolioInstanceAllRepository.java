@@ -15,10 +15,16 @@ public interface FolioInstanceAllRepository extends Repository<InstanceEntity, U
   @Query(value = "SELECT * FROM v_folio_instance_all_non_deleted WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<InstanceEntity> findFolioInstanceAllNonDeleted(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_folio_instance_all_non_deleted WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<InstanceEntity> findFolioInstanceAllNonDeletedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   // onlyNonDeleted, suppressedFromDiscovery = false
   @Query(value = "SELECT * FROM v_folio_instance_all_non_deleted_non_suppressed WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<InstanceEntity> findFolioInstanceAllNonDeletedNonSuppressed(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_folio_instance_all_non_deleted_non_suppressed WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<InstanceEntity> findFolioInstanceAllNonDeletedNonSuppressedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   // onlyDeleted, suppressedFromDiscovery = true
   @Query(value = "SELECT * FROM v_instance_all_folio_deleted ORDER BY id ASC", nativeQuery = true)
   List<InstanceEntity> findFolioInstanceAllDeleted();
@@ -31,10 +37,16 @@ public interface FolioInstanceAllRepository extends Repository<InstanceEntity, U
   @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted_custom_profile WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<InstanceEntity> findMarcInstanceAllNonDeletedCustomInstanceProfile(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted_custom_profile WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<InstanceEntity> findMarcInstanceAllNonDeletedCustomInstanceProfileAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   // v_marc_instance_all_non_deleted_non_suppressed
   @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted_non_suppressed_custom_instance_profile WHERE id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<InstanceEntity> findMarcInstanceAllNonDeletedNonSuppressedForCustomInstanceProfile(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted_non_suppressed_custom_instance_profile WHERE id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<InstanceEntity> findMarcInstanceAllNonDeletedNonSuppressedForCustomInstanceProfileAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   // v_instance_all_marc_deleted
   @Query(value = "SELECT * FROM v_instance_all_marc_deleted_custom_instance_profile ORDER BY id ASC", nativeQuery = true)
   List<InstanceEntity> findMarcInstanceAllDeletedForCustomInstanceProfile();
@@ -12,4 +12,6 @@ public interface HoldingsRecordEntityRepository extends JpaRepository<HoldingsRe
   List<HoldingsRecordEntity> findByIdIn(Set<UUID> ids);
 
   List<HoldingsRecordEntity> findByInstanceIdIs(UUID instanceId);
+
+  List<HoldingsRecordEntity> findByInstanceIdIn(Set<UUID> instanceIds);
 }
@@ -2,7 +2,10 @@ package org.folio.dataexp.repository;
 
 import org.folio.dataexp.domain.entity.JobExecutionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -10,4 +13,13 @@ public interface JobExecutionEntityRepository extends JpaRepository<JobExecution
 
   @Query("SELECT nextval('job_execution_hrId')")
   int getHrid();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE job_executions SET exported = :exported, jsonb = jsonb_set(jsonb, '{progress,exported}', to_jsonb(CAST(:exported AS int))) "
+    + "WHERE id = :id AND status = 'IN_PROGRESS'", nativeQuery = true)
+  int updateExported(@Param("id") UUID id, @Param("exported") int exported);
+
+  @Query(value = "SELECT count(*) > 0 FROM job_executions WHERE id = :id AND status = 'IN_PROGRESS'", nativeQuery = true)
+  boolean isInProgress(@Param("id") UUID id);
 }
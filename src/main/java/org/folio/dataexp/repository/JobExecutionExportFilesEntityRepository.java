@@ -9,4 +9,6 @@ import java.util.UUID;
 public interface JobExecutionExportFilesEntityRepository extends JpaRepository<JobExecutionExportFilesEntity, UUID> {
 
   List<JobExecutionExportFilesEntity> findByJobExecutionId(UUID jobExecutionId);
+
+  long countByJobExecutionId(UUID jobExecutionId);
 }
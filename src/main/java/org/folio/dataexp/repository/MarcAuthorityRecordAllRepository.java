@@ -6,6 +6,7 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface MarcAuthorityRecordAllRepository extends Repository<MarcRecordEntity, UUID> {
@@ -17,12 +18,25 @@ public interface MarcAuthorityRecordAllRepository extends Repository<MarcRecordE
       + "ORDER BY id ASC", nativeQuery = true)
   Slice<MarcRecordEntity> findAllWithoutDeleted(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT id, content, external_id, record_type, state, leader_record_status, suppress_discovery, generation "
+      + "FROM v_authority_all "
+      + "WHERE state = 'ACTUAL' AND leader_record_status != 'd' "
+      + "AND external_id BETWEEN ?1 AND ?2 AND id > ?3 "
+      + "ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<MarcRecordEntity> findAllWithoutDeletedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT id, content, external_id, record_type, state, leader_record_status, suppress_discovery, generation "
       + "FROM v_authority_all "
       + "WHERE external_id BETWEEN ?1 AND ?2 "
       + "ORDER BY id ASC", nativeQuery = true)
   Slice<MarcRecordEntity> findAllWithDeleted(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT id, content, external_id, record_type, state, leader_record_status, suppress_discovery, generation "
+      + "FROM v_authority_all "
+      + "WHERE external_id BETWEEN ?1 AND ?2 AND id > ?3 "
+      + "ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<MarcRecordEntity> findAllWithDeletedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT COUNT(id) FROM v_authority_all", nativeQuery = true)
   long count();
 }
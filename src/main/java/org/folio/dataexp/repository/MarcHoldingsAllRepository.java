@@ -14,9 +14,15 @@ public interface MarcHoldingsAllRepository extends Repository<MarcRecordEntity,
   @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted WHERE external_id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<MarcRecordEntity> findMarcHoldingsAllNonDeleted(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted WHERE external_id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<MarcRecordEntity> findMarcHoldingsAllNonDeletedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted_non_suppressed WHERE external_id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<MarcRecordEntity> findMarcHoldingsAllNonDeletedNonSuppressed(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_holdings_all_non_deleted_non_suppressed WHERE external_id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<MarcRecordEntity> findMarcHoldingsAllNonDeletedNonSuppressedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT * FROM v_holdings_all_marc_deleted ORDER BY id ASC", nativeQuery = true)
   List<MarcRecordEntity> findMarcHoldingsAllDeleted();
 
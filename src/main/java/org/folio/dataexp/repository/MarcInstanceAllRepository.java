@@ -14,9 +14,15 @@ public interface MarcInstanceAllRepository extends Repository<MarcRecordEntity,
   @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted WHERE external_id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<MarcRecordEntity> findMarcInstanceAllNonDeleted(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted WHERE external_id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<MarcRecordEntity> findMarcInstanceAllNonDeletedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted_non_suppressed WHERE external_id BETWEEN ?1 AND ?2 ORDER BY id ASC", nativeQuery = true)
   Slice<MarcRecordEntity> findMarcInstanceAllNonDeletedNonSuppressed(UUID fromId, UUID toId, Pageable page);
 
+  @Query(value = "SELECT * FROM v_marc_instance_all_non_deleted_non_suppressed WHERE external_id BETWEEN ?1 AND ?2 AND id > ?3 ORDER BY id ASC LIMIT ?4", nativeQuery = true)
+  List<MarcRecordEntity> findMarcInstanceAllNonDeletedNonSuppressedAfter(UUID fromId, UUID toId, UUID lastId, int limit);
+
   @Query(value = "SELECT * FROM v_instance_all_marc_deleted ORDER BY id ASC", nativeQuery = true)
   List<MarcRecordEntity> findMarcInstanceAllDeleted();
 
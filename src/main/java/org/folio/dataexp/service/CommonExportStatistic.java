@@ -10,6 +10,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CommonExportStatistic {
   @Getter
@@ -24,6 +25,18 @@ public class CommonExportStatistic {
   @Getter
   @Setter
   private ExportedMarcListener exportedMarcListener;
+  private final AtomicInteger remainingExports = new AtomicInteger();
+
+  public void setRemainingExports(int remainingExports) {
+    this.remainingExports.set(remainingExports);
+  }
+
+  /**
+   * @return true if the completed export is the last one of the job execution
+   */
+  public boolean completeExport() {
+    return remainingExports.decrementAndGet() <= 0;
+  }
 
   public void addToNotExistUUIDAll(List<UUID> ids) {
     var idsToString = ids.stream().map(UUID::toString).toList();
@@ -38,6 +38,9 @@ public class DataExportAllService {
     exportRequest.setDeletedRecords(exportAllRequest.getDeletedRecords());
     exportRequest.setFileDefinitionId(fileDefinition.getId());
     exportRequest.setAll(true);
+    if (nonNull(exportAllRequest.getOutputFormat())) {
+      exportRequest.setOutputFormat(ExportRequest.OutputFormatEnum.valueOf(exportAllRequest.getOutputFormat().name()));
+    }
     return exportRequest;
   }
 
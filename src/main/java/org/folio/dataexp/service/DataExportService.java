@@ -21,11 +21,12 @@ import org.folio.dataexp.repository.JobProfileEntityRepository;
 import org.folio.dataexp.repository.MarcAuthorityRecordAllRepository;
 import org.folio.dataexp.service.validators.DataExportRequestValidator;
 import org.folio.spring.FolioExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.Set;
 import java.util.UUID;
 
@@ -47,7 +48,12 @@ public class DataExportService {
   private final HoldingsRecordEntityRepository holdingsRecordEntityRepository;
   private final InstanceEntityRepository instanceEntityRepository;
   private final MarcAuthorityRecordAllRepository marcAuthorityRecordAllRepository;
-  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private Executor executor = Runnable::run;
+
+  @Autowired
+  private void setExecutor(@Qualifier("dataExportExecutor") Executor executor) {
+    this.executor = executor;
+  }
 
   public void postDataExport(ExportRequest exportRequest) {
     var commonExportFails = new CommonExportStatistic();
@@ -46,12 +46,13 @@ public class ExportAuthorityDeletedService {
 
   private FileDefinition getFileDefinition(List<String> authorityIds) {
     var fileContent = String.join(System.lineSeparator(), authorityIds);
+    var fileBytes = fileContent.getBytes();
     var fileDefinition = new FileDefinition();
-    fileDefinition.setSize(authorityIds.size());
+    fileDefinition.setSize((int) Math.ceil(fileBytes.length / 1024.0));
     fileDefinition.setUploadFormat(FileDefinition.UploadFormatEnum.CSV);
     fileDefinition.setFileName(DELETED_AUTHORITIES_FILE_NAME);
     fileDefinition = fileDefinitionsService.postFileDefinition(fileDefinition);
-    fileDefinition = fileDefinitionsService.uploadFile(fileDefinition.getId(), new ByteArrayResource(fileContent.getBytes()));
+    fileDefinition = fileDefinitionsService.uploadFile(fileDefinition.getId(), new ByteArrayResource(fileBytes));
     return fileDefinition;
   }
 }
@@ -0,0 +1,247 @@
+package org.folio.dataexp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.ArrayUtils;
+import org.folio.dataexp.domain.dto.ExportRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Slices the ids of a source into the export files without numbering all the rows as the slicing procedures do.
+ * The boundaries are found either by walking the index of the ids, which gives slices of the exact size, or from a
+ * sample of the source, which gives slices of approximate size or of approximately equal estimated weight. Each
+ * boundary of a sample is resolved to the ids of the source with an index probe.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class IdRangeSlicer {
+
+  private static final String INSERT_EXPORT_FILE = "INSERT INTO job_execution_export_files(id, job_execution_id, file_location, from_id, to_id, "
+    + "status, estimated_weight) VALUES (?, ?, ?, ?, ?, 'SCHEDULED', ?)";
+  private static final String SELECT_MIN_ID = "SELECT %2$s FROM %1$s WHERE %3$s ORDER BY %2$s LIMIT 1";
+  private static final String SELECT_MIN_ID_FROM = "SELECT %2$s FROM %1$s WHERE %3$s AND %2$s >= ? ORDER BY %2$s LIMIT 1";
+  private static final String SELECT_MAX_ID_FROM = "SELECT %2$s FROM %1$s WHERE %3$s AND %2$s >= ? ORDER BY %2$s DESC LIMIT 1";
+  private static final String SELECT_MAX_ID_BETWEEN = "SELECT %2$s FROM %1$s WHERE %3$s AND %2$s >= ? AND %2$s < ? "
+    + "ORDER BY %2$s DESC LIMIT 1";
+  private static final String SELECT_SLICE_END = "SELECT %2$s FROM %1$s WHERE %3$s AND %2$s >= ? ORDER BY %2$s OFFSET ? LIMIT 2";
+  private static final String SELECT_SAMPLE = "SELECT s.id FROM (%s) s ORDER BY s.id";
+  private static final String SELECT_WEIGHTED_SAMPLE = "SELECT s.id, %s AS weight FROM (%s) s ORDER BY s.id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Walks the index of the ids, each slice takes one index scan of its size, no rows are sorted.
+   *
+   * @return number of the slices
+   */
+  @Transactional
+  public int walkIndex(SliceSource source, UUID jobExecutionId, String fileLocation, int sliceSize) {
+    var slices = 0;
+    var from = queryForUuid(source.format(SELECT_MIN_ID), source.params());
+    while (Objects.nonNull(from)) {
+      var ends = jdbcTemplate.queryForList(source.format(SELECT_SLICE_END), UUID.class, source.params(from, sliceSize - 1));
+      var to = ends.isEmpty() ? queryForUuid(source.format(SELECT_MAX_ID_FROM), source.params(from)) : ends.get(0);
+      insertExportFile(jobExecutionId, fileLocation, from, to, null);
+      slices++;
+      from = ends.size() == 2 ? ends.get(1) : null;
+    }
+    return slices;
+  }
+
+  /**
+   * Takes every {@code samplesPerSlice}-th id of a sample of the source as the start of a slice, the sample covers
+   * {@code samplesPerSlice / sliceSize} of the source.
+   *
+   * @return number of the slices
+   */
+  @Transactional
+  public int sample(SliceSource source, UUID jobExecutionId, String fileLocation, int sliceSize, int samplesPerSlice) {
+    var sample = jdbcTemplate.queryForList(String.format(SELECT_SAMPLE, source.sampleSql(samplePercent(sliceSize, samplesPerSlice))),
+      UUID.class, source.sampleParams);
+    var boundaries = new ArrayList<UUID>();
+    for (int i = samplesPerSlice; i < sample.size(); i += samplesPerSlice) {
+      boundaries.add(sample.get(i));
+    }
+    log.info("Sampled {} ids of {} for job execution {}, {} boundaries", sample.size(), source.relation, jobExecutionId,
+      boundaries.size());
+    return sliceByBoundaries(source, jobExecutionId, fileLocation, boundaries, null);
+  }
+
+  /**
+   * Weights the ids of a sample of the source by the estimated cost of their export and starts a new slice when the
+   * weight of the current one reaches the weight of {@code samplesPerSlice} ids of average weight, so the slices have
+   * about the same cost instead of the same size. The estimated weight of each slice is saved with the export file.
+   *
+   * @return number of the slices
+   */
+  @Transactional
+  public int weigh(SliceSource source, UUID jobExecutionId, String fileLocation, int sliceSize, int samplesPerSlice) {
+    var percent = samplePercent(sliceSize, samplesPerSlice);
+    var sample = jdbcTemplate.query(String.format(SELECT_WEIGHTED_SAMPLE, source.weight, source.sampleSql(percent)),
+      (rs, rowNum) -> new WeightedId(rs.getObject(1, UUID.class), rs.getLong(2)), source.sampleParams);
+    var idsPerSample = 100.0 / percent;
+    var targetWeight = sample.stream().mapToLong(weightedId -> weightedId.weight).average().orElse(1) * samplesPerSlice;
+    var boundaries = new ArrayList<UUID>();
+    var weights = new ArrayList<Long>();
+    var weight = 0L;
+    for (int i = 0; i < sample.size(); i++) {
+      if (weight >= targetWeight) {
+        boundaries.add(sample.get(i).id);
+        weights.add(Math.round(weight * idsPerSample));
+        weight = 0;
+      }
+      weight += sample.get(i).weight;
+    }
+    weights.add(Math.round(weight * idsPerSample));
+    log.info("Weighted {} sampled ids of {} for job execution {}, {} boundaries", sample.size(), source.relation, jobExecutionId,
+      boundaries.size());
+    return sliceByBoundaries(source, jobExecutionId, fileLocation, boundaries, weights);
+  }
+
+  private int sliceByBoundaries(SliceSource source, UUID jobExecutionId, String fileLocation, List<UUID> boundaries,
+                                List<Long> weights) {
+    var slices = 0;
+    var from = queryForUuid(source.format(SELECT_MIN_ID), source.params());
+    for (int i = 0; i < boundaries.size(); i++) {
+      if (Objects.isNull(from)) {
+        return slices;
+      }
+      var boundary = boundaries.get(i);
+      var to = queryForUuid(source.format(SELECT_MAX_ID_BETWEEN), source.params(from, boundary));
+      if (Objects.nonNull(to)) {
+        insertExportFile(jobExecutionId, fileLocation, from, to, Objects.isNull(weights) ? null : weights.get(i));
+        slices++;
+      }
+      from = queryForUuid(source.format(SELECT_MIN_ID_FROM), source.params(boundary));
+    }
+    if (Objects.nonNull(from)) {
+      insertExportFile(jobExecutionId, fileLocation, from, queryForUuid(source.format(SELECT_MAX_ID_FROM), source.params(from)),
+        Objects.isNull(weights) ? null : weights.get(weights.size() - 1));
+      slices++;
+    }
+    return slices;
+  }
+
+  private static double samplePercent(int sliceSize, int samplesPerSlice) {
+    return Math.min(100.0, samplesPerSlice * 100.0 / sliceSize);
+  }
+
+  private UUID queryForUuid(String sql, Object... params) {
+    return jdbcTemplate.queryForList(sql, UUID.class, params).stream().findFirst().orElse(null);
+  }
+
+  private void insertExportFile(UUID jobExecutionId, String fileLocation, UUID from, UUID to, Long estimatedWeight) {
+    jdbcTemplate.update(INSERT_EXPORT_FILE, UUID.randomUUID(), jobExecutionId, String.format(fileLocation, from, to), from, to,
+      estimatedWeight);
+  }
+
+  private static class WeightedId {
+    private final UUID id;
+    private final long weight;
+
+    private WeightedId(UUID id, long weight) {
+      this.id = id;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Relation to slice the ids of. The ids are ordered and probed in the relation, the sample is taken from the table
+   * behind it, since a view cannot be sampled. The weight is an SQL expression estimating the cost of the export of the
+   * sampled id {@code s.id}.
+   */
+  public static class SliceSource {
+    private static final String TABLE_SAMPLE = "SELECT %s AS id FROM %s TABLESAMPLE SYSTEM (%s) WHERE %s";
+    private static final String EXPORT_IDS_SAMPLE = "SELECT instance_id AS id FROM job_executions_export_ids "
+      + "WHERE job_execution_id = ? AND random() < %s / 100";
+    private static final String INSTANCE_WEIGHT = "1 + (SELECT count(*) FROM %1$s_mod_inventory_storage.holdings_record h "
+      + "WHERE h.instanceid = s.id) + (SELECT count(*) FROM %1$s_mod_inventory_storage.holdings_record h "
+      + "JOIN %1$s_mod_inventory_storage.item i ON i.holdingsrecordid = h.id WHERE h.instanceid = s.id)";
+    private static final String HOLDINGS_WEIGHT = "1 + (SELECT count(*) FROM %1$s_mod_inventory_storage.item i "
+      + "WHERE i.holdingsrecordid = s.id)";
+    private static final String AUTHORITY_WEIGHT = "1 + coalesce((SELECT max(pg_column_size(m.content)) "
+      + "FROM %1$s_mod_source_record_storage.records_lb r JOIN %1$s_mod_source_record_storage.marc_records_lb m USING (id) "
+      + "WHERE r.external_id = s.id AND r.record_type = 'MARC_AUTHORITY' AND r.state != 'OLD'), 0) / 1024";
+    private static final String AUTHORITY_BY_EXTERNAL_ID_WEIGHT = "1 + coalesce((SELECT max(pg_column_size(m.content)) "
+      + "FROM %1$s_mod_source_record_storage.records_lb r JOIN %1$s_mod_source_record_storage.marc_records_lb m USING (id) "
+      + "WHERE r.external_id = s.id), 0) / 1024";
+
+    private final String relation;
+    private final String idColumn;
+    private final String filter;
+    private final Object[] filterParams;
+    private final String sample;
+    private final Object[] sampleParams;
+    private final String weight;
+
+    private SliceSource(String relation, String idColumn, String filter, Object[] filterParams, String sample,
+                        Object[] sampleParams, String weight) {
+      this.relation = relation;
+      this.idColumn = idColumn;
+      this.filter = filter;
+      this.filterParams = filterParams;
+      this.sample = sample;
+      this.sampleParams = sampleParams;
+      this.weight = weight;
+    }
+
+    /**
+     * Ids uploaded for the job execution. The table is shared by all the job executions, so the ids of the job
+     * execution are sampled from its index instead of its pages.
+     */
+    public static SliceSource exportIds(UUID jobExecutionId, ExportRequest.IdTypeEnum idType, String tenantId) {
+      var weight = switch (Objects.requireNonNullElse(idType, ExportRequest.IdTypeEnum.INSTANCE)) {
+        case HOLDING -> HOLDINGS_WEIGHT;
+        case AUTHORITY -> AUTHORITY_BY_EXTERNAL_ID_WEIGHT;
+        default -> INSTANCE_WEIGHT;
+      };
+      return new SliceSource("job_executions_export_ids", "instance_id", "job_execution_id = ?", new Object[]{jobExecutionId},
+        EXPORT_IDS_SAMPLE, new Object[]{jobExecutionId}, String.format(weight, tenantId));
+    }
+
+    public static SliceSource instances(String tenantId) {
+      var table = String.format("%s_mod_inventory_storage.instance", tenantId);
+      return new SliceSource(table, "id", "true", new Object[0], String.format(TABLE_SAMPLE, "id", table, "%s", "true"),
+        new Object[0], String.format(INSTANCE_WEIGHT, tenantId));
+    }
+
+    public static SliceSource holdings(String tenantId) {
+      var table = String.format("%s_mod_inventory_storage.holdings_record", tenantId);
+      return new SliceSource(table, "id", "true", new Object[0], String.format(TABLE_SAMPLE, "id", table, "%s", "true"),
+        new Object[0], String.format(HOLDINGS_WEIGHT, tenantId));
+    }
+
+    /**
+     * MARC authority records, sliced by the ids of the authorities as the exports look them up, so the sample is
+     * taken from the records of the view with the filter of the view.
+     */
+    public static SliceSource authorities(String tenantId) {
+      var table = String.format("%s_mod_source_record_storage.records_lb", tenantId);
+      return new SliceSource("v_authority_all", "external_id", "true", new Object[0],
+        String.format(TABLE_SAMPLE, "external_id", table, "%s", "record_type = 'MARC_AUTHORITY' AND state != 'OLD'"),
+        new Object[0],
+        String.format(AUTHORITY_WEIGHT, tenantId));
+    }
+
+    private String format(String sql) {
+      return String.format(sql, relation, idColumn, filter);
+    }
+
+    private String sampleSql(double percent) {
+      return String.format(sample, String.format(Locale.ROOT, "%.6f", percent));
+    }
+
+    private Object[] params(Object... params) {
+      return ArrayUtils.addAll(filterParams, params);
+    }
+  }
+}
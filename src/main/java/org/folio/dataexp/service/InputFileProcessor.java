@@ -4,11 +4,13 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.folio.dataexp.util.ErrorCode.ERROR_DUPLICATED_IDS;
 import static org.folio.dataexp.util.ErrorCode.ERROR_INVALID_CQL_SYNTAX;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.awaitility.pollinterval.IterativePollInterval;
 import org.folio.dataexp.client.SearchClient;
 import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.FileDefinition;
@@ -16,27 +18,34 @@ import org.folio.dataexp.domain.dto.IdsJob;
 import org.folio.dataexp.domain.dto.IdsJobPayload;
 import org.folio.dataexp.domain.entity.ExportIdEntity;
 import org.folio.dataexp.exception.export.DataExportException;
-import org.folio.dataexp.repository.ExportIdEntityRepository;
 import org.folio.dataexp.service.logs.ErrorLogService;
+import org.folio.dataexp.util.IdsFileReader;
+import org.folio.dataexp.util.ResourceIdsReader;
 import org.folio.dataexp.util.S3FilePathUtils;
+import org.folio.dataexp.util.UuidHashSet;
 import org.folio.s3.client.FolioS3Client;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.apache.commons.lang3.ObjectUtils.min;
 import static org.awaitility.Awaitility.await;
 
 @Component
@@ -45,16 +54,37 @@ import static org.awaitility.Awaitility.await;
 public class InputFileProcessor {
 
   private static final int BATCH_SIZE_TO_SAVE = 1000;
-  private static final long SEARCH_POLL_INTERVAL_SECONDS = 5L;
+  private static final Duration SEARCH_POLL_INITIAL_INTERVAL = Duration.ofMillis(250);
+  private static final Duration SEARCH_POLL_MAX_INTERVAL = Duration.ofSeconds(5);
+  private static final int CQL_IDS_CHUNK_SIZE = 10_000;
+  private static final int ESTIMATED_LINE_LENGTH = 37;
+  private static final int MAX_PRESIZED_IDS = 1 << 18;
 
   @Value("#{ T(Integer).parseInt('${application.wait-search-ids-time}')}")
   private int waitSearchIdsTimeSeconds;
-  private final ExportIdEntityRepository exportIdEntityRepository;
+
+  @Value("#{ T(Long).parseLong('${application.file-uploading.ids-dedup-max-memory}')}")
+  private long idsDedupMaxMemory;
   private final FolioS3Client s3Client;
   private final SearchClient searchClient;
   private final ErrorLogService errorLogService;
   private final JobExecutionService jobExecutionService;
   private final InsertExportIdService insertExportIdService;
+  private Executor exportIdsInsertExecutor = Runnable::run;
+  private final AtomicLong idsDedupMemory = new AtomicLong();
+
+  @Autowired
+  private void setExportIdsInsertExecutor(@Qualifier("exportIdsInsertExecutor") Executor exportIdsInsertExecutor) {
+    this.exportIdsInsertExecutor = exportIdsInsertExecutor;
+  }
+
+  @Autowired
+  private void setMeterRegistry(MeterRegistry meterRegistry) {
+    Gauge.builder("data.export.ids.dedup.memory", idsDedupMemory, AtomicLong::get)
+      .description("Memory held by the sets of the read ids of the uploaded files")
+      .baseUnit(BaseUnits.BYTES)
+      .register(meterRegistry);
+  }
 
   public void readFile(FileDefinition fileDefinition, CommonExportStatistic commonExportStatistic, ExportRequest.IdTypeEnum idType) {
     try {
@@ -68,67 +98,88 @@ public class InputFileProcessor {
     }
   }
 
+  /**
+   * Reads the file in a single pass, the batches of ids are saved asynchronously while the next batch is read.
+   * The total is estimated from the size of the file until the file is read, the set of the read ids is sized up front
+   * from the estimate up to {@value #MAX_PRESIZED_IDS} ids and grows from there. The read ids are kept in a compact set,
+   * the sets of all the files being read share the configured memory, the duplicates of the ids not fitting the set are
+   * dropped by the database and counted from the number of the inserted ids.
+   */
   private void readCsvFile(FileDefinition fileDefinition, CommonExportStatistic commonExportStatistic) {
     var jobExecution = jobExecutionService.getById(fileDefinition.getJobExecutionId());
     var progress = jobExecution.getProgress();
     var pathToRead = S3FilePathUtils.getPathToUploadedFiles(fileDefinition.getId(), fileDefinition.getFileName());
-
-    try (InputStream is = s3Client.read(pathToRead); BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-      progress.setTotal((int) reader.lines().count());
+    var estimatedTotal = 0;
+    if (Objects.nonNull(fileDefinition.getSize()) && fileDefinition.getSize() > 0) {
+      estimatedTotal = (int) Math.min(Integer.MAX_VALUE, fileDefinition.getSize() * 1024L / ESTIMATED_LINE_LENGTH);
+      progress.setTotal(estimatedTotal);
       jobExecutionService.save(jobExecution);
-    } catch (Exception e) {
-      commonExportStatistic.setFailedToReadInputFile(true);
-      log.error("Failed to read for file definition {}", fileDefinition.getId(), e);
     }
     var batch = new ArrayList<ExportIdEntity>();
-    var readIds = new HashSet<>();
+    var readIds = new UuidHashSet(Math.min(estimatedTotal, MAX_PRESIZED_IDS), idsDedupMaxMemory, idsDedupMemory);
     var duplicatedIds = new HashMap<UUID, Integer>();
-    var countOfRead = new AtomicInteger();
-    try (InputStream is = s3Client.read(pathToRead); BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-      reader.lines().forEach(id -> {
-        countOfRead.incrementAndGet();
-        commonExportStatistic.setFailedToReadInputFile(false);
-        var instanceId = id.replace("\"", StringUtils.EMPTY);
+    var countOfRead = 0;
+    var inserted = 0;
+    var savedBatch = CompletableFuture.completedFuture(0);
+    try (var reader = new IdsFileReader(s3Client.read(pathToRead))) {
+      while (reader.nextLine()) {
+        countOfRead++;
         try {
-          var entity = ExportIdEntity.builder().jobExecutionId(fileDefinition
-            .getJobExecutionId()).instanceId(UUID.fromString(instanceId)).build();
-          if (!readIds.contains(entity.getInstanceId())) {
-            batch.add(entity);
-            readIds.add(entity.getInstanceId());
+          var instanceId = reader.getUuid();
+          if (readIds.add(instanceId)) {
+            batch.add(ExportIdEntity.builder().jobExecutionId(fileDefinition.getJobExecutionId()).instanceId(instanceId).build());
           } else {
             commonExportStatistic.incrementDuplicatedUUID();
-            var countDuplicated = duplicatedIds.getOrDefault(entity.getInstanceId(), 1) + 1;
-            duplicatedIds.put(entity.getInstanceId(), countDuplicated);
+            duplicatedIds.merge(instanceId, 2, (count, increment) -> count + 1);
           }
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
+          var instanceId = reader.getLine();
           log.error("Error converting {} to uuid", instanceId);
           commonExportStatistic.addToInvalidUUIDFormat(instanceId);
         }
         if (batch.size() == BATCH_SIZE_TO_SAVE) {
-          insertExportIdService.saveBatch(batch);
-          progress.setReadIds(countOfRead.get());
+          inserted += savedBatch.join();
+          savedBatch = saveBatchAsync(batch);
+          batch = new ArrayList<>();
+          progress.setReadIds(countOfRead);
+          progress.setTotal(Math.max(progress.getTotal(), countOfRead));
           jobExecutionService.save(jobExecution);
-          batch.clear();
         }
-      });
-      readIds.clear();
+      }
+      if (readIds.isFull()) {
+        log.warn("Ids of file definition {} do not fit {} bytes shared by the files being read, the rest of duplicates "
+          + "are dropped by the database", fileDefinition.getId(), idsDedupMaxMemory);
+      }
       for (var entry : duplicatedIds.entrySet()) {
         errorLogService.saveGeneralErrorWithMessageValues(ERROR_DUPLICATED_IDS.getCode(), List.of(entry.getKey().toString(), Integer.toString(entry.getValue())), jobExecution.getId());
       }
       duplicatedIds.clear();
+      commonExportStatistic.setFailedToReadInputFile(false);
     } catch (Exception e) {
       commonExportStatistic.setFailedToReadInputFile(true);
       log.error("Failed to read for file definition {}", fileDefinition.getId(), e);
+    } finally {
+      readIds.close();
+    }
+    try {
+      inserted += savedBatch.join();
+    } catch (CompletionException e) {
+      commonExportStatistic.setFailedToReadInputFile(true);
+      log.error("Failed to save ids for file definition {}", fileDefinition.getId(), e.getCause());
     }
-    insertExportIdService.saveBatch(batch);
-    progress.setReadIds(countOfRead.get());
+    inserted += insertExportIdService.saveBatch(batch);
+    progress.setReadIds(countOfRead);
+    progress.setTotal(countOfRead);
     jobExecutionService.save(jobExecution);
 
-    int totalExportsIds = (int) exportIdEntityRepository.countByJobExecutionId(jobExecution.getId());
-    int duplicated = getDuplicatedNumber(countOfRead.get(), totalExportsIds, commonExportStatistic);
+    int duplicated = getDuplicatedNumber(countOfRead, inserted, commonExportStatistic);
     commonExportStatistic.incrementDuplicatedUUID(duplicated);
   }
 
+  private CompletableFuture<Integer> saveBatchAsync(List<ExportIdEntity> batch) {
+    return CompletableFuture.supplyAsync(() -> insertExportIdService.saveBatch(batch), exportIdsInsertExecutor);
+  }
+
   private int getDuplicatedNumber(int countOfRead, int totalExportsIds, CommonExportStatistic commonExportStatistic) {
     return countOfRead - totalExportsIds - commonExportStatistic.getDuplicatedUUIDAmount() - commonExportStatistic.getInvalidUUIDFormat().size();
   }
@@ -143,27 +194,14 @@ public class InputFileProcessor {
       try {
         var idsJobPayload = new IdsJobPayload().withEntityType(IdsJobPayload.EntityType.valueOf(idType.name())).withQuery(cql);
         var idsJob = searchClient.submitIdsJob(idsJobPayload);
-        await().with().pollInterval(SEARCH_POLL_INTERVAL_SECONDS, SECONDS)
+        await().with().pollDelay(SEARCH_POLL_INITIAL_INTERVAL)
+          .pollInterval(new IterativePollInterval(interval -> min(interval.multipliedBy(2), SEARCH_POLL_MAX_INTERVAL),
+            SEARCH_POLL_INITIAL_INTERVAL))
           .atMost(waitSearchIdsTimeSeconds, SECONDS)
           .until(() -> getJobSearchStatus(idsJob.getId().toString()) != IdsJob.Status.IN_PROGRESS);
         var jobStatus = getJobSearchStatus(idsJob.getId().toString());
         if (jobStatus == IdsJob.Status.COMPLETED) {
-          var resourceIds = searchClient.getResourceIds(idsJob.getId().toString());
-          log.info("CQL totalRecords: {} for file definition id: {}", resourceIds.getTotalRecords(), fileDefinition.getId());
-          List<ExportIdEntity> entities = resourceIds.getIds()
-            .stream().map(id -> new ExportIdEntity()
-              .withJobExecutionId(fileDefinition.getJobExecutionId())
-              .withInstanceId(id.getId())).toList();
-          var jobExecution = jobExecutionService.getById(fileDefinition.getJobExecutionId());
-          var progress = jobExecution.getProgress();
-          progress.setTotal(entities.size());
-          jobExecutionService.save(jobExecution);
-          var partitions = ListUtils.partition(entities, BATCH_SIZE_TO_SAVE);
-          for (var partition : partitions) {
-            insertExportIdService.saveBatch(partition);
-            progress.setReadIds(progress.getReadIds() + partition.size());
-            jobExecutionService.save(jobExecution);
-          }
+          readResourceIds(idsJob.getId().toString(), fileDefinition);
         } else if (jobStatus == IdsJob.Status.ERROR) {
           log.error(ERROR_INVALID_CQL_SYNTAX.getDescription(), fileDefinition.getFileName());
           errorLogService.saveGeneralErrorWithMessageValues(ERROR_INVALID_CQL_SYNTAX.getCode(), Collections.singletonList(fileDefinition.getFileName()),
@@ -176,6 +214,40 @@ public class InputFileProcessor {
     }
   }
 
+  /**
+   * Streams the ids of the completed ids job into the export ids in chunks, the progress is updated per chunk.
+   */
+  private void readResourceIds(String jobId, FileDefinition fileDefinition) throws IOException {
+    var jobExecution = jobExecutionService.getById(fileDefinition.getJobExecutionId());
+    var progress = jobExecution.getProgress();
+    try (var response = searchClient.getResourceIds(jobId)) {
+      if (response.status() != HttpStatus.OK.value()) {
+        throw new DataExportException(String.format("Failed to get ids of job %s from mod-search, status: %d", jobId, response.status()));
+      }
+      var read = 0;
+      var duplicated = 0;
+      if (Objects.nonNull(response.body())) {
+        try (var reader = new ResourceIdsReader(response.body().asInputStream())) {
+          List<UUID> ids;
+          while (!(ids = reader.nextChunk(CQL_IDS_CHUNK_SIZE)).isEmpty()) {
+            duplicated += ids.size() - insertExportIdService.saveBatch(fileDefinition.getJobExecutionId(), ids);
+            read += ids.size();
+            progress.setReadIds(read);
+            progress.setTotal(Math.max(read, Objects.requireNonNullElse(reader.getTotalRecords(), 0)));
+            jobExecutionService.save(jobExecution);
+          }
+        }
+      }
+      progress.setReadIds(read);
+      progress.setTotal(read);
+      jobExecutionService.save(jobExecution);
+      log.info("CQL totalRecords: {} for file definition id: {}", read, fileDefinition.getId());
+      if (duplicated > 0) {
+        log.info("{} duplicated ids dropped for file definition id: {}", duplicated, fileDefinition.getId());
+      }
+    }
+  }
+
   private IdsJob.Status getJobSearchStatus(String jobId) {
     return searchClient.getJobStatus(jobId).getStatus();
   }
@@ -1,23 +1,76 @@
 package org.folio.dataexp.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.folio.dataexp.domain.entity.ExportIdEntity;
-import org.folio.dataexp.repository.ExportIdEntityRepository;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Bulk loader of export ids: the ids are copied into a temporary staging table with {@code COPY FROM STDIN} and moved
+ * into job_executions_export_ids with one {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}, so the ids already
+ * saved for the job execution are dropped by the database.
+ */
 @Component
 @RequiredArgsConstructor
+@Log4j2
 public class InsertExportIdService {
 
-  private final ExportIdEntityRepository exportIdEntityRepository;
+  private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE IF NOT EXISTS export_ids_staging (instance_id uuid) ON COMMIT DELETE ROWS";
+  private static final String COPY_TO_STAGING_TABLE = "COPY pg_temp.export_ids_staging (instance_id) FROM STDIN";
+  private static final String INSERT_FROM_STAGING_TABLE = "INSERT INTO job_executions_export_ids (job_execution_id, instance_id) " +
+    "SELECT ?, instance_id FROM pg_temp.export_ids_staging ON CONFLICT DO NOTHING";
+  private static final String TRUNCATE_STAGING_TABLE = "TRUNCATE pg_temp.export_ids_staging";
+  private static final int UUID_LINE_LENGTH = 37;
 
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * @return number of the inserted ids
+   */
+  @Transactional
+  public int saveBatch(List<ExportIdEntity> exportIds) {
+    if (exportIds.isEmpty()) {
+      return 0;
+    }
+    return saveBatch(exportIds.get(0).getJobExecutionId(), exportIds.stream().map(ExportIdEntity::getInstanceId).toList());
+  }
+
+  /**
+   * @return number of the inserted ids, the rest are duplicates
+   */
   @Transactional
-  public void saveBatch(List<ExportIdEntity> exportIds) {
-    for (var exportId : exportIds) {
-      exportIdEntityRepository.insertExportId(exportId.getJobExecutionId(), exportId.getInstanceId());
+  public int saveBatch(UUID jobExecutionId, Collection<UUID> instanceIds) {
+    if (instanceIds.isEmpty()) {
+      return 0;
+    }
+    var copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      try (var statement = connection.createStatement()) {
+        statement.execute(CREATE_STAGING_TABLE);
+        statement.execute(TRUNCATE_STAGING_TABLE);
+      }
+      var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+      return copyManager.copyIn(COPY_TO_STAGING_TABLE, new ByteArrayInputStream(toCopyText(instanceIds)));
+    });
+    var inserted = jdbcTemplate.update(INSERT_FROM_STAGING_TABLE, jobExecutionId);
+    log.debug("Copied {} ids, inserted {} for job execution {}", copied, inserted, jobExecutionId);
+    return inserted;
+  }
+
+  private static byte[] toCopyText(Collection<UUID> instanceIds) {
+    var text = new StringBuilder(instanceIds.size() * UUID_LINE_LENGTH);
+    for (var instanceId : instanceIds) {
+      text.append(instanceId).append('\n');
     }
+    return text.toString().getBytes(StandardCharsets.US_ASCII);
   }
 }
@@ -11,6 +11,7 @@ import org.folio.dataexp.domain.entity.MappingProfileEntity;
 import org.folio.dataexp.exception.mapping.profile.DefaultMappingProfileException;
 import org.folio.dataexp.repository.MappingProfileEntityCqlRepository;
 import org.folio.dataexp.repository.MappingProfileEntityRepository;
+import org.folio.dataexp.service.export.strategies.RuleFactory;
 import org.folio.dataexp.service.validators.MappingProfileValidator;
 import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.data.OffsetRequest;
@@ -28,12 +29,14 @@ public class MappingProfileService {
   private final MappingProfileEntityCqlRepository mappingProfileEntityCqlRepository;
   private final UserClient userClient;
   private final MappingProfileValidator mappingProfileValidator;
+  private final RuleFactory ruleFactory;
 
   public void deleteMappingProfileById(UUID mappingProfileId) {
     var mappingProfileEntity = mappingProfileEntityRepository.getReferenceById(mappingProfileId);
     if (Boolean.TRUE.equals(mappingProfileEntity.getMappingProfile().getDefault()))
       throw new DefaultMappingProfileException("Deletion of default mapping profile is forbidden");
     mappingProfileEntityRepository.deleteById(mappingProfileId);
+    ruleFactory.invalidateRules(mappingProfileId);
   }
 
   public MappingProfileEntity getMappingProfileById(UUID mappingProfileId) {
@@ -107,6 +110,7 @@ public class MappingProfileService {
     mappingProfileValidator.validate(mappingProfile);
 
     mappingProfileEntityRepository.save(MappingProfileEntity.fromMappingProfile(mappingProfile));
+    ruleFactory.invalidateRules(mappingProfileId);
   }
 
 }
@@ -51,13 +51,14 @@ public class MarcDeletedIdsService {
     List<String> marcIds = sourceStorageClient.getMarcRecordsIdentifiers(payload).getRecords();
     log.info("Found deleted MARC IDs: {}", marcIds.size());
     var fileContent = String.join(System.lineSeparator(), marcIds);
+    var fileBytes = fileContent.getBytes();
 
     var fileDefinition = new FileDefinition();
-    fileDefinition.setSize(marcIds.size());
+    fileDefinition.setSize((int) Math.ceil(fileBytes.length / 1024.0));
     fileDefinition.setUploadFormat(FileDefinition.UploadFormatEnum.CSV);
     fileDefinition.setFileName(DELETED_MARC_IDS_FILE_NAME);
     fileDefinition = fileDefinitionsService.postFileDefinition(fileDefinition);
-    fileDefinition = fileDefinitionsService.uploadFile(fileDefinition.getId(), new ByteArrayResource(fileContent.getBytes()));
+    fileDefinition = fileDefinitionsService.uploadFile(fileDefinition.getId(), new ByteArrayResource(fileBytes));
     return fileDefinition;
   }
 
@@ -6,13 +6,10 @@ import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.FileDefinition;
 import org.folio.dataexp.domain.dto.QuickExportRequest;
 import org.folio.dataexp.domain.dto.QuickExportResponse;
-import org.folio.dataexp.domain.entity.ExportIdEntity;
 import org.folio.dataexp.exception.export.DataExportRequestValidationException;
-import org.folio.dataexp.repository.ExportIdEntityRepository;
 import org.folio.dataexp.repository.JobProfileEntityRepository;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.UUID;
 
 import static java.util.Objects.nonNull;
@@ -25,7 +22,7 @@ public class QuickExportService {
   private final FileDefinitionsService fileDefinitionsService;
   private final DataExportService dataExportService;
   private final JobProfileEntityRepository jobProfileEntityRepository;
-  private final ExportIdEntityRepository exportIdEntityRepository;
+  private final InsertExportIdService insertExportIdService;
   private final JobExecutionService jobExecutionService;
 
   public QuickExportResponse postQuickExport(QuickExportRequest quickExportRequest) {
@@ -52,13 +49,10 @@ public class QuickExportService {
   private void saveBatch(QuickExportRequest quickExportRequest, FileDefinition fileDefinition) {
     var uuids = quickExportRequest.getUuids();
     if (nonNull(uuids)) {
-      var batch = new ArrayList<ExportIdEntity>();
-      uuids.forEach(instanceId -> {
-        var entity = ExportIdEntity.builder().jobExecutionId(fileDefinition
-          .getJobExecutionId()).instanceId(instanceId).build();
-        batch.add(entity);
-      });
-      exportIdEntityRepository.saveAll(batch);
+      var inserted = insertExportIdService.saveBatch(fileDefinition.getJobExecutionId(), uuids);
+      if (inserted < uuids.size()) {
+        log.info("{} duplicated ids dropped for fileDefinitionId {}", uuids.size() - inserted, fileDefinition.getId());
+      }
     } else {
       log.error("Nothing to export for fileDefinitionId {}: no uuids provided.", fileDefinition.getId());
     }
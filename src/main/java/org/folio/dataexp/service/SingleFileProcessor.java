@@ -9,9 +9,10 @@ import org.folio.dataexp.exception.export.DataExportException;
 import org.folio.dataexp.repository.JobExecutionEntityRepository;
 import org.folio.dataexp.repository.JobExecutionExportFilesEntityRepository;
 import org.folio.dataexp.service.export.ExportExecutor;
-import org.folio.dataexp.service.export.strategies.ExportedMarcListener;
+import org.folio.dataexp.service.export.ExportProgressReporter;
 import org.folio.dataexp.service.logs.ErrorLogService;
 import org.folio.dataexp.util.S3FilePathUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +36,12 @@ public class SingleFileProcessor {
   private final ErrorLogService errorLogService;
   private int exportIdsBatch;
   private String exportTmpStorage;
+  private ExportProgressReporter exportProgressReporter;
+
+  @Autowired
+  protected void setExportProgressReporter(ExportProgressReporter exportProgressReporter) {
+    this.exportProgressReporter = exportProgressReporter;
+  }
 
   @Value("#{ T(Integer).parseInt('${application.export-ids-batch}')}")
   protected void setExportIdsBatch(int exportIdsBatch) {
@@ -75,8 +82,9 @@ public class SingleFileProcessor {
     }
     var exportIterator = exports.iterator();
 
-    var exportStrategyStatisticListener = new ExportedMarcListener(jobExecutionEntityRepository, getProgressExportUpdateStep(exportRequest), jobExecutionId);
+    var exportStrategyStatisticListener = exportProgressReporter.start(jobExecutionId, getProgressExportUpdateStep(exportRequest));
     commonExportStatistic.setExportedMarcListener(exportStrategyStatisticListener);
+    commonExportStatistic.setRemainingExports(exports.size());
     while (exportIterator.hasNext()) {
       var export = exportIterator.next();
       exportRequest.setLastExport(!exportIterator.hasNext());
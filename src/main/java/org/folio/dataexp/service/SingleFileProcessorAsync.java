@@ -37,6 +37,7 @@ public class SingleFileProcessorAsync extends SingleFileProcessor {
       .suppressedFromDiscovery(exportRequest.getSuppressedFromDiscovery())
       .lastSlice(exportRequest.getLastSlice())
       .lastExport(exportRequest.getLastExport())
+      .outputFormat(exportRequest.getOutputFormat())
       .metadata(exportRequest.getMetadata()).build();
   }
 }
@@ -6,6 +6,8 @@ import org.apache.commons.io.FilenameUtils;
 import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.FileDefinition;
 import org.folio.dataexp.exception.export.DataExportException;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
@@ -29,8 +31,16 @@ public class SlicerProcessor {
   public static final int DEFAULT_SLICE_SIZE = 100_000;
   public static final String SLICE_SIZE_KEY = "slice_size";
 
+  @Value("${application.slicing.mode}")
+  private SlicingMode slicingMode;
+
+  @Value("#{ T(Integer).parseInt('${application.slicing.samples-per-slice}')}")
+  private int samplesPerSlice;
+
   private final JdbcTemplate jdbcTemplate;
   private final ConfigurationService configurationService;
+  private final IdRangeSlicer idRangeSlicer;
+  private final FolioExecutionContext folioExecutionContext;
 
   public void sliceInstancesIds(FileDefinition fileDefinition, ExportRequest exportRequest) {
     var sliceSize = configurationService.getValue(SLICE_SIZE_KEY);
@@ -38,8 +48,24 @@ public class SlicerProcessor {
   }
 
   public void sliceInstancesIds(FileDefinition fileDefinition, int sliceSize, ExportRequest exportRequest) {
+    sliceInstancesIds(fileDefinition, sliceSize, exportRequest, slicingMode);
+  }
+
+  public void sliceInstancesIds(FileDefinition fileDefinition, int sliceSize, ExportRequest exportRequest, SlicingMode mode) {
     var fileName = createFileNameWithPlaceHolder(fileDefinition.getFileName());
     var pathLocation = getPathToStoredFiles(fileDefinition.getJobExecutionId().toString(), fileName);
+    if (mode != SlicingMode.EXACT) {
+      var start = System.currentTimeMillis();
+      var source = selectSource(exportRequest, fileDefinition);
+      var slices = switch (mode) {
+        case SAMPLED -> idRangeSlicer.sample(source, fileDefinition.getJobExecutionId(), pathLocation, sliceSize, samplesPerSlice);
+        case WEIGHTED -> idRangeSlicer.weigh(source, fileDefinition.getJobExecutionId(), pathLocation, sliceSize, samplesPerSlice);
+        default -> idRangeSlicer.walkIndex(source, fileDefinition.getJobExecutionId(), pathLocation, sliceSize);
+      };
+      log.info("{} slices created in {} ms with {} slicing for fileDefinitionId {}", slices, System.currentTimeMillis() - start,
+        mode, fileDefinition.getId());
+      return;
+    }
     try (Connection connection = jdbcTemplate.getDataSource().getConnection();
          CallableStatement callableStatement = connection.prepareCall(selectProcedure(exportRequest))) {
       callableStatement.setString(1, fileDefinition.getJobExecutionId().toString());
@@ -58,6 +84,19 @@ public class SlicerProcessor {
     return baseName + FROM_TO_UUID_PART + MARC_EXTENSION;
   }
 
+  private IdRangeSlicer.SliceSource selectSource(ExportRequest exportRequest, FileDefinition fileDefinition) {
+    var tenantId = folioExecutionContext.getTenantId();
+    if (Boolean.TRUE.equals(exportRequest.getAll())) {
+      if (exportRequest.getIdType() == ExportRequest.IdTypeEnum.INSTANCE) {
+        return IdRangeSlicer.SliceSource.instances(tenantId);
+      } else if (exportRequest.getIdType() == ExportRequest.IdTypeEnum.HOLDING) {
+        return IdRangeSlicer.SliceSource.holdings(tenantId);
+      }
+      return IdRangeSlicer.SliceSource.authorities(tenantId);
+    }
+    return IdRangeSlicer.SliceSource.exportIds(fileDefinition.getJobExecutionId(), exportRequest.getIdType(), tenantId);
+  }
+
   private String selectProcedure(ExportRequest exportRequest) {
     if (Boolean.TRUE.equals(exportRequest.getAll())) {
       if (exportRequest.getIdType() == ExportRequest.IdTypeEnum.INSTANCE) {
@@ -69,4 +108,13 @@ public class SlicerProcessor {
     }
     return CALL_SLICE_INSTANCES_IDS_PROCEDURE;
   }
+
+  /**
+   * EXACT numbers all the ids in the slicing procedures, INDEX_WALK finds the slices of the exact size by walking the index
+   * of the ids, SAMPLED finds the slices of approximate size from a sample of the source table, WEIGHTED finds the slices
+   * of approximately equal estimated cost from a sample weighted by the holdings, items or record size of the ids.
+   */
+  public enum SlicingMode {
+    EXACT, INDEX_WALK, SAMPLED, WEIGHTED
+  }
 }
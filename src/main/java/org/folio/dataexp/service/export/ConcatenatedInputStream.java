@@ -0,0 +1,54 @@
+package org.folio.dataexp.service.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads the parts one after another, each part is opened when the previous one is read to the end.
+ */
+class ConcatenatedInputStream extends InputStream {
+  private final List<InputStreamSource> parts;
+  private int next;
+  private InputStream current;
+
+  ConcatenatedInputStream(List<InputStreamSource> parts) {
+    this.parts = parts;
+  }
+
+  @Override
+  public int read() throws IOException {
+    var single = new byte[1];
+    return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    while (true) {
+      if (current == null) {
+        if (next == parts.size()) {
+          return -1;
+        }
+        current = parts.get(next++).open();
+      }
+      var count = current.read(bytes, offset, length);
+      if (count != -1) {
+        return count;
+      }
+      current.close();
+      current = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (current != null) {
+      current.close();
+      current = null;
+    }
+    next = parts.size();
+  }
+}
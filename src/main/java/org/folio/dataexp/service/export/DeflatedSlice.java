@@ -0,0 +1,93 @@
+package org.folio.dataexp.service.export;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Slice file compressed while it was written by {@link DeflatingChannel}: a raw deflate stream followed by a trailer
+ * of the CRC-32 (4 bytes) and the size (8 bytes) of the uncompressed records, both little-endian.
+ */
+public class DeflatedSlice {
+
+  public static final String SUFFIX = ".deflate";
+  public static final int TRAILER_LENGTH = 12;
+
+  private final long crc;
+  private final long size;
+  private final long compressedSize;
+
+  private DeflatedSlice(long crc, long size, long compressedSize) {
+    this.crc = crc;
+    this.size = size;
+    this.compressedSize = compressedSize;
+  }
+
+  /**
+   * @param trailer last {@link #TRAILER_LENGTH} bytes of the slice file
+   * @param length  length of the slice file
+   */
+  public static DeflatedSlice fromTrailer(byte[] trailer, long length) throws IOException {
+    if (trailer.length != TRAILER_LENGTH || length < TRAILER_LENGTH) {
+      throw new IOException("Compressed slice is truncated");
+    }
+    var buffer = ByteBuffer.wrap(trailer).order(ByteOrder.LITTLE_ENDIAN);
+    return new DeflatedSlice(Integer.toUnsignedLong(buffer.getInt()), buffer.getLong(), length - TRAILER_LENGTH);
+  }
+
+  /**
+   * @param file slice file in the local storage
+   */
+  public static DeflatedSlice fromFile(File file) throws IOException {
+    try (var randomAccessFile = new RandomAccessFile(file, "r")) {
+      var trailer = new byte[(int) Math.min(TRAILER_LENGTH, randomAccessFile.length())];
+      randomAccessFile.seek(randomAccessFile.length() - trailer.length);
+      randomAccessFile.readFully(trailer);
+      return fromTrailer(trailer, randomAccessFile.length());
+    }
+  }
+
+  public long getCrc() {
+    return crc;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getCompressedSize() {
+    return compressedSize;
+  }
+
+  /**
+   * @param slice stream of the slice file
+   * @return stream of the compressed records, without the trailer
+   */
+  public InputStream compressed(InputStream slice) {
+    return new BoundedInputStream(slice, compressedSize);
+  }
+
+  /**
+   * @param slice stream of the slice file
+   * @return stream of the uncompressed records, the inflater stops at the end of the deflate stream
+   */
+  public InputStream inflated(InputStream slice) {
+    return new InflaterInputStream(slice, new Inflater(true)) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inf.end();
+        }
+      }
+    };
+  }
+}
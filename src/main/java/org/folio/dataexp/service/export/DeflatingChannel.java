@@ -0,0 +1,81 @@
+package org.folio.dataexp.service.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the written bytes into a raw deflate stream, the way they are stored in a zip entry, and computes the CRC
+ * of the bytes on the fly. The stream is followed by the trailer described in {@link DeflatedSlice}, so the slice
+ * can be copied into the zip as is.
+ */
+class DeflatingChannel implements WritableByteChannel {
+
+  private static final int OUTPUT_SIZE = 64 * 1024;
+  private static final byte[] NO_INPUT = new byte[0];
+
+  private final WritableByteChannel target;
+  private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+  private final CRC32 crc = new CRC32();
+  private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_SIZE);
+  private long size;
+  private boolean open = true;
+
+  DeflatingChannel(WritableByteChannel target) {
+    this.target = target;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+    var length = src.remaining();
+    crc.update(src.duplicate());
+    deflater.setInput(src);
+    while (!deflater.needsInput()) {
+      deflater.deflate(output, Deflater.NO_FLUSH);
+      drainOutput();
+    }
+    // the deflater keeps the buffer as its input, which is reused by the caller
+    deflater.setInput(NO_INPUT);
+    size += length;
+    return length;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!open) {
+      return;
+    }
+    open = false;
+    try (target) {
+      deflater.finish();
+      while (!deflater.finished()) {
+        deflater.deflate(output, Deflater.NO_FLUSH);
+        drainOutput();
+      }
+      output.order(ByteOrder.LITTLE_ENDIAN).putInt((int) crc.getValue()).putLong(size);
+      drainOutput();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private void drainOutput() throws IOException {
+    output.flip();
+    while (output.hasRemaining()) {
+      target.write(output);
+    }
+    output.clear();
+  }
+}
@@ -17,15 +17,19 @@ import org.folio.dataexp.service.CommonExportStatistic;
 import org.folio.dataexp.service.JobExecutionService;
 import org.folio.dataexp.service.StorageCleanUpService;
 import org.folio.dataexp.service.export.strategies.ExportStrategyStatistic;
+import org.folio.dataexp.service.export.strategies.ExportedMarcListener;
 import org.folio.dataexp.service.logs.ErrorLogService;
 import org.folio.dataexp.util.ErrorCode;
-import org.springframework.scheduling.annotation.Async;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Component
@@ -41,10 +45,18 @@ public class ExportExecutor {
   private final S3ExportsUploader s3Uploader;
   private final FileDefinitionEntityRepository fileDefinitionEntityRepository;
   private final StorageCleanUpService storageCleanUpService;
+  private final SliceScheduler sliceScheduler;
+  private final FolioExecutionContext folioExecutionContext;
+  private Executor exportFinalizerExecutor = Runnable::run;
+
+  @Autowired
+  private void setExportFinalizerExecutor(@Qualifier("exportFinalizerExecutor") Executor exportFinalizerExecutor) {
+    this.exportFinalizerExecutor = exportFinalizerExecutor;
+  }
 
-  @Async("singleExportFileTaskExecutor")
   public void exportAsynch(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, CommonExportStatistic commonExportStatistic) {
-    export(exportFilesEntity, exportRequest, commonExportStatistic);
+    sliceScheduler.submit(folioExecutionContext.getTenantId(), SliceScheduler.Lane.of(exportRequest),
+      () -> export(exportFilesEntity, exportRequest, commonExportStatistic));
   }
 
   public void export(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, CommonExportStatistic commonExportStatistic) {
@@ -52,29 +64,58 @@ public class ExportExecutor {
     exportFilesEntity = jobExecutionExportFilesEntityRepository.getReferenceById(exportFilesEntity.getId());
     exportFilesEntity.setStatus(JobExecutionExportFilesStatus.ACTIVE);
     jobExecutionExportFilesEntityRepository.save(exportFilesEntity);
+    var start = System.currentTimeMillis();
     var exportStrategy = exportStrategyFactory.getExportStrategy(exportRequest);
     var exportStatistic = exportStrategy.saveMarcToLocalStorage(exportFilesEntity, exportRequest, commonExportStatistic.getExportedMarcListener());
+    exportFilesEntity.setDurationMs(System.currentTimeMillis() - start);
     commonExportStatistic.addToNotExistUUIDAll(exportStatistic.getNotExistIds());
-    synchronized (this) {
+    var jobExecutionId = exportFilesEntity.getJobExecutionId();
+    synchronized (commonExportStatistic) {
       exportStrategy.setStatusBaseExportStatistic(exportFilesEntity, exportStatistic);
       jobExecutionExportFilesEntityRepository.save(exportFilesEntity);
-      log.info("export:: Complete export {} for job execution {}", exportFilesEntity.getFileLocation(), exportFilesEntity.getJobExecutionId());
-      updateJobExecutionStatusAndProgress(exportFilesEntity.getJobExecutionId(), exportStatistic, commonExportStatistic, exportRequest);
+      log.info("export:: Complete export {} for job execution {}", exportFilesEntity.getFileLocation(), jobExecutionId);
+      updateJobExecutionProgress(jobExecutionId, exportStatistic, commonExportStatistic.getExportedMarcListener());
+    }
+    if (commonExportStatistic.completeExport()) {
+      exportFinalizerExecutor.execute(() -> finalizeJobExecution(jobExecutionId, commonExportStatistic, exportRequest));
     }
   }
 
-  private void updateJobExecutionStatusAndProgress(UUID jobExecutionId, ExportStrategyStatistic exportStatistic, CommonExportStatistic commonExportStatistic, ExportRequest exportRequest) {
+  /**
+   * Saves the whole job execution, so the exported count is taken from the listener: the count read with the job
+   * execution may be older than the one the progress reporter has written meanwhile.
+   */
+  private void updateJobExecutionProgress(UUID jobExecutionId, ExportStrategyStatistic exportStatistic,
+                                          ExportedMarcListener exportedMarcListener) {
     var jobExecution = jobExecutionService.getById(jobExecutionId);
     var progress = jobExecution.getProgress();
+    progress.setExported(exportedMarcListener.getExportedCount());
     progress.setFailed(progress.getFailed() + exportStatistic.getFailed());
     progress.setDuplicatedSrs(progress.getDuplicatedSrs() + exportStatistic.getDuplicatedSrs());
+    jobExecution.setLastUpdatedDate(new Date());
+    jobExecutionService.save(jobExecution);
+  }
+
+  private void finalizeJobExecution(UUID jobExecutionId, CommonExportStatistic commonExportStatistic, ExportRequest exportRequest) {
+    try {
+      updateJobExecutionStatus(jobExecutionId, commonExportStatistic, exportRequest);
+    } catch (Exception e) {
+      log.error("finalizeJobExecution:: Failed to complete job execution {}: {}", jobExecutionId, e.getMessage(), e);
+    }
+  }
+
+  private void updateJobExecutionStatus(UUID jobExecutionId, CommonExportStatistic commonExportStatistic, ExportRequest exportRequest) {
+    var jobExecution = jobExecutionService.getById(jobExecutionId);
+    var progress = jobExecution.getProgress();
     var exports = jobExecutionExportFilesEntityRepository.findByJobExecutionId(jobExecutionId);
     long exportsCompleted = exports.stream().filter(e -> e.getStatus() == JobExecutionExportFilesStatus.COMPLETED).count();
     long exportsFailed = exports.stream().filter(e -> e.getStatus() == JobExecutionExportFilesStatus.FAILED).count();
     long exportsCompletedWithErrors = exports.stream().filter(e -> e.getStatus() == JobExecutionExportFilesStatus.COMPLETED_WITH_ERRORS).count();
     var currentDate = new Date();
     if (exportsCompleted + exportsFailed + exportsCompletedWithErrors == exports.size()) {
-      progress.setExported(commonExportStatistic.getExportedMarcListener().getExportedCount().get());
+      var exportedMarcListener = commonExportStatistic.getExportedMarcListener();
+      exportedMarcListener.stopReporting();
+      progress.setExported(exportedMarcListener.getExportedCount());
       if (Boolean.TRUE.equals(exportRequest.getAll())) {
         progress.setTotal(progress.getExported() - progress.getDuplicatedSrs() + progress.getFailed());
       }
@@ -98,7 +139,7 @@ public class ExportExecutor {
       var fileDefinition= queryResult.get(0).getFileDefinition();
       var initialFileName= FilenameUtils.getBaseName(fileDefinition.getFileName());
       try {
-        var innerFileName = s3Uploader.upload(jobExecution, filesForExport, initialFileName);
+        var innerFileName = s3Uploader.upload(jobExecution, filesForExport, initialFileName, exportRequest.getOutputFormat());
         var innerFile = new JobExecutionExportedFilesInner().fileId(UUID.randomUUID())
           .fileName(FilenameUtils.getName(innerFileName));
         jobExecution.setExportedFiles(Set.of(innerFile));
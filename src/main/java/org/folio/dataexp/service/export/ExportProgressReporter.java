@@ -0,0 +1,68 @@
+package org.folio.dataexp.service.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dataexp.repository.JobExecutionEntityRepository;
+import org.folio.dataexp.service.export.strategies.ExportedMarcListener;
+import org.folio.spring.scope.FolioExecutionScopeExecutionContextManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reports the progress of the exported records of the job executions in the background. Each job execution has its
+ * own task with a fixed delay, so there is never more than one writer of the progress of a job execution.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class ExportProgressReporter {
+
+  private final JobExecutionEntityRepository jobExecutionEntityRepository;
+  private TaskScheduler exportProgressScheduler;
+  private long progressReportInterval;
+
+  @Autowired
+  protected void setExportProgressScheduler(@Qualifier("exportProgressScheduler") TaskScheduler exportProgressScheduler) {
+    this.exportProgressScheduler = exportProgressScheduler;
+  }
+
+  @Value("#{ T(Long).parseLong('${application.export-files.progress-report-interval}')}")
+  protected void setProgressReportInterval(long progressReportInterval) {
+    this.progressReportInterval = progressReportInterval;
+  }
+
+  /**
+   * Creates the listener of the exported records of the job execution and starts reporting its progress, the reporting
+   * stops when the job execution is not in progress anymore or on {@link ExportedMarcListener#stopReporting()}.
+   */
+  public ExportedMarcListener start(UUID jobExecutionId, int progressExportedUpdateStep) {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, progressExportedUpdateStep, jobExecutionId);
+    Runnable report = () -> report(listener, jobExecutionId);
+    var interval = Duration.ofMillis(progressReportInterval);
+    listener.setReporting(exportProgressScheduler.scheduleWithFixedDelay(
+      FolioExecutionScopeExecutionContextManager.getRunnableWithCurrentFolioContext(report), Instant.now().plus(interval), interval));
+    return listener;
+  }
+
+  /**
+   * Stops the reporting only when the job execution is not in progress anymore, a failed write is retried on the next
+   * run, so a transient database error does not stop the progress of a long export.
+   */
+  void report(ExportedMarcListener listener, UUID jobExecutionId) {
+    try {
+      if (!listener.report()) {
+        listener.stopReporting();
+      }
+    } catch (Exception e) {
+      log.error("report:: Failed to report progress of job execution {}, retrying on the next run: {}", jobExecutionId,
+        e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package org.folio.dataexp.service.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens the stream of a slice file.
+ */
+@FunctionalInterface
+public interface InputStreamSource {
+  InputStream open() throws IOException;
+}
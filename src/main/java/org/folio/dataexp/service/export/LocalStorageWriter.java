@@ -1,61 +1,199 @@
 package org.folio.dataexp.service.export;
 
+import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.dataexp.exception.export.LocalStorageWriterException;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
 
-public class LocalStorageWriter extends StringWriter {
-  private final File tmp;
-  private final BufferedWriter writer;
+/**
+ * Writes the exported records of a slice to the local file through a {@link FileChannel} and a direct buffer of the given size.
+ * Strings are encoded to UTF-8 straight into the buffer, already encoded records can be appended as bytes.
+ * The first I/O error stops the writing and removes the file, the error is reported by {@link #close()}.
+ * Created from {@link S3MultipartOutputStream} the records are uploaded to the remote storage instead of the local file.
+ * With {@code deflate} the records are compressed on the writing thread into a {@link DeflatedSlice}.
+ */
+@Log4j2
+public class LocalStorageWriter implements AutoCloseable {
+  private final String name;
+  private final WritableByteChannel channel;
+  private final Discard discard;
+  private final ByteBuffer buffer;
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+    .onMalformedInput(CodingErrorAction.REPLACE)
+    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private IOException writeError;
+  private boolean closed;
+  private long bytesWritten;
+  private long writeNanos;
 
   public LocalStorageWriter(String path, int size) {
+    this(path, size, false);
+  }
+
+  public LocalStorageWriter(String path, int size, boolean deflate) {
     try {
       Path p = Path.of(path);
-      this.tmp = Files.createFile(p)
-        .toFile();
-      this.writer = new BufferedWriter(new FileWriter(this.tmp), size);
+      Files.createFile(p);
+      this.name = p.getFileName().toString();
+      var fileChannel = FileChannel.open(p, StandardOpenOption.WRITE);
+      this.channel = deflate ? new DeflatingChannel(fileChannel) : fileChannel;
+      this.discard = () -> Files.deleteIfExists(p);
+      this.buffer = ByteBuffer.allocateDirect(size);
     } catch (Exception ex) {
       throw new LocalStorageWriterException("Files buffer cannot be created due to error: " + ex.getMessage());
     }
   }
 
-  @Override
+  public LocalStorageWriter(S3MultipartOutputStream outputStream, int size) {
+    this(outputStream, size, false);
+  }
+
+  public LocalStorageWriter(S3MultipartOutputStream outputStream, int size, boolean deflate) {
+    this.name = outputStream.getKey();
+    var outputChannel = Channels.newChannel(outputStream);
+    this.channel = deflate ? new DeflatingChannel(outputChannel) : outputChannel;
+    this.discard = outputStream::abort;
+    this.buffer = ByteBuffer.allocateDirect(size);
+  }
+
   public void write(String data) {
     if (StringUtils.isNotEmpty(data)) {
-      try {
-        writer.append(data);
-      } catch (IOException e) {
-        deleteTmp(tmp);
+      if (isWritable()) {
+        encode(data);
       }
     } else {
-      deleteTmp(tmp);
+      deleteTmp();
+    }
+  }
+
+  public void append(byte[] data, int offset, int length) {
+    append(ByteBuffer.wrap(data, offset, length));
+  }
+
+  public void append(ByteBuffer data) {
+    if (!isWritable()) {
+      return;
+    }
+    try {
+      while (data.hasRemaining()) {
+        if (!buffer.hasRemaining()) {
+          flushBuffer();
+        }
+        var limit = data.limit();
+        data.limit(data.position() + Math.min(data.remaining(), buffer.remaining()));
+        buffer.put(data);
+        data.limit(limit);
+      }
+    } catch (IOException e) {
+      failWrite(e);
     }
   }
 
+  /**
+   * @return number of bytes of the records written so far, before compression
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
   @Override
   public void close() {
+    if (!closed) {
+      closed = true;
+      try (channel) {
+        flushBuffer();
+      } catch (Exception ex) {
+        throw new LocalStorageWriterException("Error while close(): " + ex.getMessage());
+      }
+      logThroughput();
+    }
+    if (writeError != null) {
+      throw new LocalStorageWriterException("Error while write(): " + writeError.getMessage());
+    }
+  }
+
+  private boolean isWritable() {
+    return !closed && writeError == null;
+  }
+
+  private void encode(String data) {
+    var chars = CharBuffer.wrap(data);
+    encoder.reset();
     try {
-      if (tmp.exists()) {
-        writer.close();
+      while (encoder.encode(chars, buffer, true).isOverflow()) {
+        flushBuffer();
       }
-    } catch (Exception ex) {
-      throw new LocalStorageWriterException("Error while close(): " + ex.getMessage());
+      while (encoder.flush(buffer).isOverflow()) {
+        flushBuffer();
+      }
+    } catch (IOException e) {
+      failWrite(e);
     }
   }
 
-  private void deleteTmp(File tmp) {
+  private void flushBuffer() throws IOException {
+    var start = System.nanoTime();
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      bytesWritten += channel.write(buffer);
+    }
+    buffer.clear();
+    writeNanos += System.nanoTime() - start;
+  }
+
+  private void failWrite(IOException e) {
+    log.error("write:: error writing file {}: {}", name, e.getMessage());
+    writeError = e;
     try {
-      close();
-      Files.deleteIfExists(tmp.toPath());
+      discard.run();
+    } catch (IOException ex) {
+      log.error("write:: error deleting file {}: {}", name, ex.getMessage());
+    }
+    closeQuietly();
+  }
+
+  private void logThroughput() {
+    var millis = TimeUnit.NANOSECONDS.toMillis(writeNanos);
+    log.info("close:: {} bytes written to {} in {} ms ({} MB/s)", bytesWritten, name, millis,
+      millis == 0 ? "n/a" : String.format("%.1f", bytesWritten / 1048.576 / millis));
+  }
+
+  private void closeQuietly() {
+    closed = true;
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      log.warn("close:: error closing file {}: {}", name, ex.getMessage());
+    }
+  }
+
+  private void deleteTmp() {
+    try {
+      discard.run();
+      closeQuietly();
     } catch (IOException ex) {
       throw new LocalStorageWriterException("Error in deleting file: " + ex.getMessage());
     }
   }
+
+  /**
+   * Removes what is written so far, before the channel is closed so that a partial upload is never completed.
+   */
+  @FunctionalInterface
+  private interface Discard {
+    void run() throws IOException;
+  }
 }
@@ -0,0 +1,71 @@
+package org.folio.dataexp.service.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-member gzip file of the slices compressed while they were written. Every slice becomes a gzip member: the
+ * compressed records are copied as they are between the member header and the CRC and size trailer, so no
+ * recompression happens and the members are read back as one concatenated stream of records.
+ */
+public class PrecompressedGzip {
+
+  private static final byte[] HEADER = {
+    0x1f, (byte) 0x8b, // magic
+    8, // deflate
+    0, // flags
+    0, 0, 0, 0, // modification time is not set
+    0, // extra flags
+    (byte) 0xff // unknown operating system
+  };
+  private static final int TRAILER_LENGTH = 8;
+
+  private final List<InputStreamSource> parts = new ArrayList<>();
+  private final long length;
+
+  /**
+   * @param slices sources of the slice files and the slices in the order they are written
+   */
+  public PrecompressedGzip(List<Member> slices) {
+    long offset = 0;
+    for (var member : slices) {
+      var trailer = ByteBuffer.allocate(TRAILER_LENGTH).order(ByteOrder.LITTLE_ENDIAN)
+        .putInt((int) member.slice.getCrc())
+        .putInt((int) member.slice.getSize())
+        .array();
+      parts.add(() -> new ByteArrayInputStream(HEADER));
+      parts.add(() -> member.slice.compressed(member.source.open()));
+      parts.add(() -> new ByteArrayInputStream(trailer));
+      offset += HEADER.length + member.slice.getCompressedSize() + TRAILER_LENGTH;
+    }
+    length = offset;
+  }
+
+  /**
+   * @return length of the file in bytes
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * @return stream of the file, the slices are opened one by one while the stream is read
+   */
+  public InputStream openStream() {
+    return new ConcatenatedInputStream(parts);
+  }
+
+  public static class Member {
+    private final DeflatedSlice slice;
+    private final InputStreamSource source;
+
+    public Member(DeflatedSlice slice, InputStreamSource source) {
+      this.slice = slice;
+      this.source = source;
+    }
+  }
+}
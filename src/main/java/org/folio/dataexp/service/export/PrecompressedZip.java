@@ -0,0 +1,190 @@
+package org.folio.dataexp.service.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Zip archive of the slices compressed while they were written. The compressed records are copied into the entries as
+ * they are, only the local headers and the central directory are written, so no recompression happens. Since the sizes
+ * and the CRC of every entry are known up front, the length of the archive is known before it is read. ZIP64 records
+ * are written when the sizes, the offsets or the number of entries do not fit the classic format.
+ */
+public class PrecompressedZip {
+
+  private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+  private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+  private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+  private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+  private static final int END_SIGNATURE = 0x06054b50;
+  private static final int VERSION = 20;
+  private static final int ZIP64_VERSION = 45;
+  private static final int UTF8_FLAG = 0x0800;
+  private static final int DEFLATED = 8;
+  private static final int ZIP64_EXTRA_ID = 0x0001;
+  private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+  private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+  private final List<InputStreamSource> parts = new ArrayList<>();
+  private final long length;
+
+  /**
+   * @param entries entries of the archive in the order they are written
+   * @param time    modification time of the entries
+   */
+  public PrecompressedZip(List<Entry> entries, LocalDateTime time) {
+    var dosTime = toDosTime(time);
+    var centralDirectory = new ByteArrayOutputStream();
+    long offset = 0;
+    for (var entry : entries) {
+      var localHeader = localHeader(entry, dosTime);
+      parts.add(() -> new ByteArrayInputStream(localHeader));
+      parts.add(() -> entry.slice.compressed(entry.source.open()));
+      centralDirectory.writeBytes(centralHeader(entry, dosTime, offset));
+      offset += localHeader.length + entry.slice.getCompressedSize();
+    }
+    var centralDirectorySize = centralDirectory.size();
+    centralDirectory.writeBytes(end(entries.size(), offset, centralDirectorySize));
+    var tail = centralDirectory.toByteArray();
+    parts.add(() -> new ByteArrayInputStream(tail));
+    length = offset + tail.length;
+  }
+
+  /**
+   * @return length of the archive in bytes
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * @return stream of the archive, the slices are opened one by one while the stream is read
+   */
+  public InputStream openStream() {
+    return new ConcatenatedInputStream(parts);
+  }
+
+  private static byte[] localHeader(Entry entry, int dosTime) {
+    var zip64 = entry.isZip64();
+    var extraLength = zip64 ? 20 : 0;
+    var buffer = allocate(30 + entry.name.length + extraLength)
+      .putInt(LOCAL_HEADER_SIGNATURE)
+      .putShort((short) (zip64 ? ZIP64_VERSION : VERSION))
+      .putShort((short) UTF8_FLAG)
+      .putShort((short) DEFLATED)
+      .putInt(dosTime)
+      .putInt((int) entry.slice.getCrc())
+      .putInt((int) (zip64 ? ZIP64_MAGIC : entry.slice.getCompressedSize()))
+      .putInt((int) (zip64 ? ZIP64_MAGIC : entry.slice.getSize()))
+      .putShort((short) entry.name.length)
+      .putShort((short) extraLength)
+      .put(entry.name);
+    if (zip64) {
+      buffer.putShort((short) ZIP64_EXTRA_ID).putShort((short) 16)
+        .putLong(entry.slice.getSize())
+        .putLong(entry.slice.getCompressedSize());
+    }
+    return buffer.array();
+  }
+
+  private static byte[] centralHeader(Entry entry, int dosTime, long offset) {
+    var sizeZip64 = entry.isZip64();
+    var offsetZip64 = offset >= ZIP64_MAGIC;
+    var extraLength = sizeZip64 || offsetZip64 ? 4 + (sizeZip64 ? 16 : 0) + (offsetZip64 ? 8 : 0) : 0;
+    var version = sizeZip64 || offsetZip64 ? ZIP64_VERSION : VERSION;
+    var buffer = allocate(46 + entry.name.length + extraLength)
+      .putInt(CENTRAL_HEADER_SIGNATURE)
+      .putShort((short) version)
+      .putShort((short) version)
+      .putShort((short) UTF8_FLAG)
+      .putShort((short) DEFLATED)
+      .putInt(dosTime)
+      .putInt((int) entry.slice.getCrc())
+      .putInt((int) (sizeZip64 ? ZIP64_MAGIC : entry.slice.getCompressedSize()))
+      .putInt((int) (sizeZip64 ? ZIP64_MAGIC : entry.slice.getSize()))
+      .putShort((short) entry.name.length)
+      .putShort((short) extraLength)
+      .putShort((short) 0)
+      .putShort((short) 0)
+      .putShort((short) 0)
+      .putInt(0)
+      .putInt((int) (offsetZip64 ? ZIP64_MAGIC : offset))
+      .put(entry.name);
+    if (extraLength > 0) {
+      buffer.putShort((short) ZIP64_EXTRA_ID).putShort((short) (extraLength - 4));
+      if (sizeZip64) {
+        buffer.putLong(entry.slice.getSize()).putLong(entry.slice.getCompressedSize());
+      }
+      if (offsetZip64) {
+        buffer.putLong(offset);
+      }
+    }
+    return buffer.array();
+  }
+
+  private static byte[] end(int count, long centralDirectoryOffset, long centralDirectorySize) {
+    var zip64 = count >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC || centralDirectorySize >= ZIP64_MAGIC;
+    var buffer = allocate((zip64 ? 56 + 20 : 0) + 22);
+    if (zip64) {
+      var zip64EndOffset = centralDirectoryOffset + centralDirectorySize;
+      buffer.putInt(ZIP64_END_SIGNATURE)
+        .putLong(44)
+        .putShort((short) ZIP64_VERSION)
+        .putShort((short) ZIP64_VERSION)
+        .putInt(0)
+        .putInt(0)
+        .putLong(count)
+        .putLong(count)
+        .putLong(centralDirectorySize)
+        .putLong(centralDirectoryOffset)
+        .putInt(ZIP64_LOCATOR_SIGNATURE)
+        .putInt(0)
+        .putLong(zip64EndOffset)
+        .putInt(1);
+    }
+    buffer.putInt(END_SIGNATURE)
+      .putShort((short) 0)
+      .putShort((short) 0)
+      .putShort((short) (zip64 ? ZIP64_MAGIC_COUNT : count))
+      .putShort((short) (zip64 ? ZIP64_MAGIC_COUNT : count))
+      .putInt((int) (zip64 ? ZIP64_MAGIC : centralDirectorySize))
+      .putInt((int) (zip64 ? ZIP64_MAGIC : centralDirectoryOffset))
+      .putShort((short) 0);
+    return buffer.array();
+  }
+
+  private static ByteBuffer allocate(int length) {
+    return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static int toDosTime(LocalDateTime time) {
+    if (time.getYear() < 1980) {
+      time = LocalDateTime.of(1980, 1, 1, 0, 0);
+    }
+    var date = (time.getYear() - 1980) << 9 | time.getMonthValue() << 5 | time.getDayOfMonth();
+    var dosTime = time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+    return date << 16 | dosTime;
+  }
+
+  public static class Entry {
+    private final byte[] name;
+    private final DeflatedSlice slice;
+    private final InputStreamSource source;
+
+    public Entry(String name, DeflatedSlice slice, InputStreamSource source) {
+      this.name = name.getBytes(StandardCharsets.UTF_8);
+      this.slice = slice;
+      this.source = source;
+    }
+
+    private boolean isZip64() {
+      return slice.getSize() >= ZIP64_MAGIC || slice.getCompressedSize() >= ZIP64_MAGIC;
+    }
+  }
+}
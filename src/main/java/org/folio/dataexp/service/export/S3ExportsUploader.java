@@ -3,6 +3,7 @@ package org.folio.dataexp.service.export;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
+import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.JobExecution;
 import org.folio.dataexp.domain.entity.JobExecutionExportFilesEntity;
 import org.folio.dataexp.exception.export.S3ExportsUploadException;
@@ -19,8 +20,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -34,6 +40,7 @@ public class S3ExportsUploader {
 
   public static final String EMPTY_FILE_FOR_EXPORT_ERROR_MESSAGE = "File for exports is empty";
   private final FolioS3Client s3Client;
+  private final S3StreamingStorage s3StreamingStorage;
   private String exportTmpStorage;
 
   @Value("${application.export-tmp-storage}")
@@ -42,10 +49,22 @@ public class S3ExportsUploader {
   }
 
   public String upload(JobExecution jobExecution, List<JobExecutionExportFilesEntity> exports, String initialFileName) {
+    return upload(jobExecution, exports, initialFileName, ExportRequest.OutputFormatEnum.MRC);
+  }
+
+  public String upload(JobExecution jobExecution, List<JobExecutionExportFilesEntity> exports, String initialFileName,
+                       ExportRequest.OutputFormatEnum outputFormat) {
     if (exports.isEmpty()) {
       throw new S3ExportsUploadException(EMPTY_FILE_FOR_EXPORT_ERROR_MESSAGE);
     }
     try {
+      if (s3StreamingStorage.isEnabled()) {
+        return uploadStreamed(jobExecution, exports, initialFileName, outputFormat);
+      }
+      var deflatedSlices = getDeflatedSlices(exports);
+      if (!deflatedSlices.isEmpty() || outputFormat == ExportRequest.OutputFormatEnum.MRC_GZIP) {
+        return uploadDeflated(jobExecution, deflatedSlices, initialFileName, outputFormat);
+      }
       String uploadedPath;
       if (exports.size() > 1) {
         var filesToExport = exports.stream().map(e -> new File(S3FilePathUtils.getLocalStorageWriterPath(exportTmpStorage, e.getFileLocation())))
@@ -117,7 +136,156 @@ public class S3ExportsUploader {
     return s3ZipPath;
   }
 
+  private Map<String, DeflatedSlice> getDeflatedSlices(List<JobExecutionExportFilesEntity> exports) throws IOException {
+    var slices = new LinkedHashMap<String, DeflatedSlice>();
+    for (var export : exports) {
+      var file = new File(S3FilePathUtils.getLocalStorageWriterPath(exportTmpStorage, export.getFileLocation() + DeflatedSlice.SUFFIX));
+      if (file.exists()) {
+        slices.put(file.getPath(), DeflatedSlice.fromFile(file));
+      }
+    }
+    return slices;
+  }
+
+  private String uploadDeflated(JobExecution jobExecution, Map<String, DeflatedSlice> deflatedSlices, String fileName,
+                                ExportRequest.OutputFormatEnum outputFormat) throws IOException {
+    var resultingFile = assembleDeflated(jobExecution, deflatedSlices, path -> () -> new FileInputStream(path), fileName, outputFormat);
+    try (var inputStream = new BufferedInputStream(resultingFile.source.open())) {
+      s3Client.write(resultingFile.path, inputStream, resultingFile.length);
+    }
+    removeTempDirForJobExecution(jobExecution.getId());
+    return resultingFile.path;
+  }
+
+  /**
+   * The slices are already in the remote storage: a single slice is moved to the resulting file,
+   * several slices are zipped into the resulting file while they are read back from the storage.
+   */
+  private String uploadStreamed(JobExecution jobExecution, List<JobExecutionExportFilesEntity> exports, String fileName,
+                                ExportRequest.OutputFormatEnum outputFormat) throws IOException {
+    var deflatedSlices = new LinkedHashMap<String, DeflatedSlice>();
+    var slices = new LinkedHashMap<String, Long>();
+    for (var export : exports) {
+      var deflatedPath = export.getFileLocation() + DeflatedSlice.SUFFIX;
+      var deflatedSize = s3StreamingStorage.getSize(deflatedPath);
+      if (deflatedSize > 0) {
+        deflatedSlices.put(deflatedPath, DeflatedSlice.fromTrailer(s3StreamingStorage.readTail(deflatedPath, DeflatedSlice.TRAILER_LENGTH), deflatedSize));
+        continue;
+      }
+      var size = s3StreamingStorage.getSize(export.getFileLocation());
+      if (size > 0) {
+        slices.put(export.getFileLocation(), size);
+      }
+    }
+    if (!deflatedSlices.isEmpty() || outputFormat == ExportRequest.OutputFormatEnum.MRC_GZIP) {
+      return uploadStreamedDeflated(jobExecution, deflatedSlices, fileName, outputFormat);
+    }
+    if (slices.isEmpty()) {
+      removeTempDirForJobExecution(jobExecution.getId());
+      throw new S3ExportsUploadException(EMPTY_FILE_FOR_EXPORT_ERROR_MESSAGE);
+    }
+    if (slices.size() == 1) {
+      var slice = slices.entrySet().iterator().next();
+      var s3path = getPathToStoredFiles(jobExecution.getId(), String.format("%s-%s.mrc", fileName, jobExecution.getHrId()));
+      s3StreamingStorage.move(slice.getKey(), s3path, slice.getValue());
+      removeTempDirForJobExecution(jobExecution.getId());
+      return s3path;
+    }
+    var s3ZipPath = getPathToStoredFiles(jobExecution.getId(), String.format("%s-%s.zip", fileName, jobExecution.getHrId()));
+    var upload = s3StreamingStorage.openUpload(s3ZipPath);
+    try (var zipOutputStream = new ZipOutputStream(upload)) {
+      var countExportsFiles = 0;
+      for (var slice : slices.keySet()) {
+        countExportsFiles++;
+        var zipEntryName = String.format("%s-%s-%s.mrc", fileName, jobExecution.getHrId(), countExportsFiles);
+        log.info(slice + " add to zip as " + zipEntryName);
+        zipOutputStream.putNextEntry(new ZipEntry(zipEntryName));
+        try (var inputStream = s3StreamingStorage.read(slice)) {
+          inputStream.transferTo(zipOutputStream);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      upload.abort();
+      throw e;
+    }
+    slices.keySet().forEach(s3StreamingStorage::remove);
+    removeTempDirForJobExecution(jobExecution.getId());
+    return s3ZipPath;
+  }
+
+  private String uploadStreamedDeflated(JobExecution jobExecution, Map<String, DeflatedSlice> deflatedSlices, String fileName,
+                                        ExportRequest.OutputFormatEnum outputFormat) throws IOException {
+    ResultingFile resultingFile;
+    try {
+      resultingFile = assembleDeflated(jobExecution, deflatedSlices, path -> () -> s3StreamingStorage.read(path), fileName, outputFormat);
+    } catch (S3ExportsUploadException e) {
+      deflatedSlices.keySet().forEach(s3StreamingStorage::remove);
+      throw e;
+    }
+    var upload = s3StreamingStorage.openUpload(resultingFile.path);
+    try (var inputStream = resultingFile.source.open(); upload) {
+      inputStream.transferTo(upload);
+    } catch (IOException | RuntimeException e) {
+      upload.abort();
+      throw e;
+    }
+    deflatedSlices.keySet().forEach(s3StreamingStorage::remove);
+    removeTempDirForJobExecution(jobExecution.getId());
+    return resultingFile.path;
+  }
+
+  /**
+   * The slices were compressed while written, so they are copied into the resulting file as they are: all slices
+   * become members of the .mrc.gz file for the gzip format, several slices become entries of the zip otherwise.
+   * A single slice of the MRC format is inflated into the .mrc file.
+   */
+  private ResultingFile assembleDeflated(JobExecution jobExecution, Map<String, DeflatedSlice> deflatedSlices,
+                                         Function<String, InputStreamSource> sources, String fileName,
+                                         ExportRequest.OutputFormatEnum outputFormat) throws IOException {
+    var slices = deflatedSlices.entrySet().stream().filter(e -> e.getValue().getSize() > 0).toList();
+    if (slices.isEmpty()) {
+      removeTempDirForJobExecution(jobExecution.getId());
+      throw new S3ExportsUploadException(EMPTY_FILE_FOR_EXPORT_ERROR_MESSAGE);
+    }
+    ResultingFile resultingFile;
+    if (outputFormat == ExportRequest.OutputFormatEnum.MRC_GZIP) {
+      var members = slices.stream().map(slice -> new PrecompressedGzip.Member(slice.getValue(), sources.apply(slice.getKey()))).toList();
+      var gzip = new PrecompressedGzip(members);
+      var s3path = getPathToStoredFiles(jobExecution.getId(), String.format("%s-%s.mrc.gz", fileName, jobExecution.getHrId()));
+      resultingFile = new ResultingFile(s3path, gzip.length(), gzip::openStream);
+    } else if (slices.size() == 1) {
+      var slice = slices.get(0);
+      var source = sources.apply(slice.getKey());
+      var s3path = getPathToStoredFiles(jobExecution.getId(), String.format("%s-%s.mrc", fileName, jobExecution.getHrId()));
+      resultingFile = new ResultingFile(s3path, slice.getValue().getSize(), () -> slice.getValue().inflated(source.open()));
+    } else {
+      var entries = new ArrayList<PrecompressedZip.Entry>();
+      for (var slice : slices) {
+        var zipEntryName = String.format("%s-%s-%s.mrc", fileName, jobExecution.getHrId(), entries.size() + 1);
+        log.info(slice.getKey() + " add to zip as " + zipEntryName);
+        entries.add(new PrecompressedZip.Entry(zipEntryName, slice.getValue(), sources.apply(slice.getKey())));
+      }
+      var zip = new PrecompressedZip(entries, LocalDateTime.now());
+      var s3path = getPathToStoredFiles(jobExecution.getId(), String.format("%s-%s.zip", fileName, jobExecution.getHrId()));
+      resultingFile = new ResultingFile(s3path, zip.length(), zip::openStream);
+    }
+    log.info("assembleDeflated:: {} slices assembled as {}", slices.size(), resultingFile.path);
+    return resultingFile;
+  }
+
   private void removeTempDirForJobExecution(UUID jobExecutionId) throws IOException {
     FileUtils.deleteDirectory(new File(S3FilePathUtils.getTempDirForJobExecutionId(exportTmpStorage, jobExecutionId)));
   }
+
+  private static class ResultingFile {
+    private final String path;
+    private final long length;
+    private final InputStreamSource source;
+
+    ResultingFile(String path, long length, InputStreamSource source) {
+      this.path = path;
+      this.length = length;
+      this.source = source;
+    }
+  }
 }
@@ -0,0 +1,160 @@
+package org.folio.dataexp.service.export;
+
+import lombok.extern.log4j.Log4j2;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Output stream uploading the written bytes to an S3 object with a multipart upload. The bytes are collected into parts
+ * of the given size, each full part is uploaded on the executor while writing goes on, and the number of parts
+ * being uploaded at a time is bounded, which bounds the memory held by the stream as well.
+ * The object is created on {@link #close()}: a stream shorter than one part is uploaded with a single put,
+ * nothing is uploaded if nothing was written. {@link #abort()} discards the upload.
+ */
+@Log4j2
+public class S3MultipartOutputStream extends OutputStream {
+
+  private final S3Client s3Client;
+  private final String bucket;
+  private final String key;
+  private final int partSize;
+  private final Executor executor;
+  private final Semaphore partsInFlight;
+  private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+  private byte[] part;
+  private int partLength;
+  private String uploadId;
+  private boolean closed;
+
+  public S3MultipartOutputStream(S3Client s3Client, String bucket, String key, int partSize, Executor executor, int maxPartsInFlight) {
+    this.s3Client = s3Client;
+    this.bucket = bucket;
+    this.key = key;
+    this.partSize = partSize;
+    this.executor = executor;
+    this.partsInFlight = new Semaphore(maxPartsInFlight);
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    if (closed) {
+      throw new IOException("Upload of " + key + " is closed");
+    }
+    while (length > 0) {
+      if (part == null) {
+        part = new byte[partSize];
+      }
+      var count = Math.min(length, partSize - partLength);
+      System.arraycopy(bytes, offset, part, partLength, count);
+      partLength += count;
+      offset += count;
+      length -= count;
+      if (partLength == partSize) {
+        uploadPart();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (uploadId == null) {
+        if (partLength > 0) {
+          s3Client.putObject(builder -> builder.bucket(bucket).key(key), requestBody(part, partLength));
+        }
+        return;
+      }
+      if (partLength > 0) {
+        uploadPart();
+      }
+      var completedParts = parts.stream().map(CompletableFuture::join).toList();
+      s3Client.completeMultipartUpload(builder -> builder.bucket(bucket).key(key).uploadId(uploadId)
+        .multipartUpload(upload -> upload.parts(completedParts)));
+      log.info("close:: {} parts uploaded to {}", completedParts.size(), key);
+    } catch (CompletionException | SdkException e) {
+      abort();
+      throw new IOException("Upload of " + key + " failed: " + e.getMessage(), e);
+    } catch (IOException e) {
+      abort();
+      throw e;
+    } finally {
+      part = null;
+    }
+  }
+
+  /**
+   * Discards the upload, the parts uploaded so far are removed from the storage.
+   */
+  public void abort() {
+    closed = true;
+    part = null;
+    if (uploadId != null) {
+      parts.forEach(future -> future.cancel(false));
+      try {
+        s3Client.abortMultipartUpload(builder -> builder.bucket(bucket).key(key).uploadId(uploadId));
+      } catch (SdkException e) {
+        log.warn("abort:: error aborting upload of {}: {}", key, e.getMessage());
+      }
+    }
+  }
+
+  private void uploadPart() throws IOException {
+    try {
+      if (uploadId == null) {
+        uploadId = s3Client.createMultipartUpload(builder -> builder.bucket(bucket).key(key)).uploadId();
+      }
+      var failedPart = parts.stream().filter(CompletableFuture::isCompletedExceptionally).findFirst();
+      if (failedPart.isPresent()) {
+        failedPart.get().join();
+      }
+      partsInFlight.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Upload of " + key + " is interrupted");
+    } catch (CompletionException | SdkException e) {
+      throw new IOException("Upload of " + key + " failed: " + e.getMessage(), e);
+    }
+    var currentUploadId = uploadId;
+    var partNumber = parts.size() + 1;
+    var data = part;
+    var length = partLength;
+    part = null;
+    partLength = 0;
+    parts.add(CompletableFuture.supplyAsync(() -> {
+        var response = s3Client.uploadPart(builder -> builder.bucket(bucket).key(key).uploadId(currentUploadId).partNumber(partNumber),
+          requestBody(data, length));
+        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+      }, executor)
+      .whenComplete((completedPart, error) -> partsInFlight.release()));
+  }
+
+  private static RequestBody requestBody(byte[] data, int length) {
+    return RequestBody.fromInputStream(new ByteArrayInputStream(data, 0, length), length);
+  }
+}
@@ -0,0 +1,174 @@
+package org.folio.dataexp.service.export;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.Executor;
+
+/**
+ * Streams the exported files to the remote storage while they are written, instead of staging them in
+ * {@code export-tmp-storage}. Each slice is uploaded to its file location with a multipart upload, and the uploaded
+ * slices are then copied or zipped to the resulting file within the storage. Enabled by
+ * {@code application.export-files.s3-streaming.enabled}.
+ */
+@Log4j2
+@Component
+public class S3StreamingStorage {
+
+  private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+  private static final long MAX_COPY_OBJECT_SIZE = 5L * 1024 * 1024 * 1024;
+  private static final String DEFAULT_REGION = "us-east-1";
+
+  private final Executor s3PartUploadExecutor;
+  private boolean enabled;
+  private int partSize;
+  private int uploadConcurrency;
+  private String endpoint;
+  private String region;
+  private String bucket;
+  private String accessKey;
+  private String secretKey;
+  private boolean awsSdk;
+  private volatile S3Client s3Client;
+
+  public S3StreamingStorage(@Qualifier("s3PartUploadExecutor") Executor s3PartUploadExecutor) {
+    this.s3PartUploadExecutor = s3PartUploadExecutor;
+  }
+
+  @Value("#{ T(Boolean).parseBoolean('${application.export-files.s3-streaming.enabled}')}")
+  protected void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.s3-streaming.part-size}')}")
+  protected void setPartSize(int partSize) {
+    this.partSize = Math.max(partSize, MIN_PART_SIZE);
+  }
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.s3-streaming.upload-concurrency}')}")
+  protected void setUploadConcurrency(int uploadConcurrency) {
+    this.uploadConcurrency = Math.max(uploadConcurrency, 1);
+  }
+
+  @Value("${application.remote-files-storage.endpoint}")
+  protected void setEndpoint(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  @Value("${application.remote-files-storage.region}")
+  protected void setRegion(String region) {
+    this.region = region;
+  }
+
+  @Value("${application.remote-files-storage.bucket}")
+  protected void setBucket(String bucket) {
+    this.bucket = bucket;
+  }
+
+  @Value("${application.remote-files-storage.accessKey}")
+  protected void setAccessKey(String accessKey) {
+    this.accessKey = accessKey;
+  }
+
+  @Value("${application.remote-files-storage.secretKey}")
+  protected void setSecretKey(String secretKey) {
+    this.secretKey = secretKey;
+  }
+
+  @Value("#{ T(Boolean).parseBoolean('${application.remote-files-storage.awsSdk}')}")
+  protected void setAwsSdk(boolean awsSdk) {
+    this.awsSdk = awsSdk;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Opens the upload of the file, the file is created in the storage once the stream is closed.
+   *
+   * @param path path of the file in the storage
+   * @return stream uploading the written bytes
+   */
+  public S3MultipartOutputStream openUpload(String path) {
+    return new S3MultipartOutputStream(getS3Client(), bucket, path, partSize, s3PartUploadExecutor, uploadConcurrency);
+  }
+
+  /**
+   * @return size of the file in the storage or -1 if the file does not exist
+   */
+  public long getSize(String path) {
+    try {
+      return getS3Client().headObject(builder -> builder.bucket(bucket).key(path)).contentLength();
+    } catch (NoSuchKeyException e) {
+      return -1;
+    }
+  }
+
+  public InputStream read(String path) {
+    return getS3Client().getObject(builder -> builder.bucket(bucket).key(path));
+  }
+
+  /**
+   * @return last {@code length} bytes of the file
+   */
+  public byte[] readTail(String path, int length) {
+    return getS3Client().getObjectAsBytes(builder -> builder.bucket(bucket).key(path).range("bytes=-" + length)).asByteArray();
+  }
+
+  /**
+   * Moves the file within the storage. Files too large for a single copy request are streamed through a new upload.
+   */
+  public void move(String sourcePath, String targetPath, long size) throws IOException {
+    if (size <= MAX_COPY_OBJECT_SIZE) {
+      getS3Client().copyObject(builder -> builder.sourceBucket(bucket).sourceKey(sourcePath)
+        .destinationBucket(bucket).destinationKey(targetPath));
+    } else {
+      try (var inputStream = read(sourcePath); var outputStream = openUpload(targetPath)) {
+        inputStream.transferTo(outputStream);
+      }
+    }
+    remove(sourcePath);
+    log.info("move:: {} moved to {}", sourcePath, targetPath);
+  }
+
+  public void remove(String path) {
+    getS3Client().deleteObject(builder -> builder.bucket(bucket).key(path));
+  }
+
+  private S3Client getS3Client() {
+    if (s3Client == null) {
+      synchronized (this) {
+        if (s3Client == null) {
+          s3Client = S3Client.builder()
+            .endpointOverride(URI.create(endpoint))
+            .region(Region.of(StringUtils.defaultIfBlank(region, DEFAULT_REGION)))
+            .credentialsProvider(getCredentialsProvider())
+            .forcePathStyle(!awsSdk)
+            .build();
+        }
+      }
+    }
+    return s3Client;
+  }
+
+  private AwsCredentialsProvider getCredentialsProvider() {
+    if (StringUtils.isAnyBlank(accessKey, secretKey)) {
+      return DefaultCredentialsProvider.create();
+    }
+    return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+  }
+}
@@ -0,0 +1,229 @@
+package org.folio.dataexp.service.export;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.dataexp.domain.dto.ExportRequest;
+import org.folio.spring.scope.FolioExecutionScopeExecutionContextManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the slices of the exports of all the tenants on the export file executor, admitting no more slices than the
+ * executor has threads. A free thread takes a slice of the highest priority lane, quick exports first, then the exports
+ * of uploaded ids, then the exports of all the records. Inside a lane the tenants take turns, and no tenant runs more
+ * slices at once than its cap.
+ */
+@Component
+@Log4j2
+public class SliceScheduler {
+
+  public enum Lane {
+    QUICK, IDS_FILE, ALL;
+
+    public static Lane of(ExportRequest exportRequest) {
+      if (Boolean.TRUE.equals(exportRequest.getQuick())) {
+        return QUICK;
+      }
+      return Boolean.TRUE.equals(exportRequest.getAll()) ? ALL : IDS_FILE;
+    }
+  }
+
+  private final Map<Lane, Map<String, ArrayDeque<Runnable>>> queues = new EnumMap<>(Lane.class);
+  private final Map<String, Integer> runningByTenant = new HashMap<>();
+  private final Map<String, Long> lastTurns = new HashMap<>();
+  private final Map<String, Integer> tenantPoolSizes = new HashMap<>();
+  private int running;
+  private long turn;
+  private int maxPoolSize;
+  private int tenantMaxPoolSize;
+  private Executor singleExportFileTaskExecutor = Runnable::run;
+  private TaskDecorator taskDecorator = FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext;
+
+  public SliceScheduler() {
+    for (var lane : Lane.values()) {
+      queues.put(lane, new HashMap<>());
+    }
+  }
+
+  @Autowired
+  protected void setSingleExportFileTaskExecutor(@Qualifier("singleExportFileTaskExecutor") Executor singleExportFileTaskExecutor) {
+    this.singleExportFileTaskExecutor = singleExportFileTaskExecutor;
+  }
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.max-pool-size}')}")
+  protected void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.tenant-max-pool-size}')}")
+  protected void setTenantMaxPoolSize(int tenantMaxPoolSize) {
+    this.tenantMaxPoolSize = tenantMaxPoolSize;
+  }
+
+  /**
+   * @param tenantPoolSizes caps of the tenants that differ from the default one, as {@code tenant:size,tenant:size}
+   */
+  @Value("${application.export-files.tenant-pool-sizes}")
+  protected void setTenantPoolSizes(String tenantPoolSizes) {
+    this.tenantPoolSizes.clear();
+    for (var tenantPoolSize : StringUtils.split(tenantPoolSizes, ',')) {
+      var tenantAndSize = StringUtils.split(tenantPoolSize, ':');
+      if (tenantAndSize.length == 2) {
+        this.tenantPoolSizes.put(tenantAndSize[0].trim(), Integer.parseInt(tenantAndSize[1].trim()));
+      } else {
+        log.warn("setTenantPoolSizes:: Skipping invalid tenant pool size {}", tenantPoolSize);
+      }
+    }
+  }
+
+  @Autowired
+  protected void setMeterRegistry(MeterRegistry meterRegistry) {
+    for (var lane : Lane.values()) {
+      Gauge.builder("data.export.slices.queued", this, scheduler -> scheduler.getQueued(lane))
+        .description("Slices waiting for a thread of the export file executor")
+        .tag("lane", lane.name())
+        .register(meterRegistry);
+    }
+    Gauge.builder("data.export.slices.running", this, SliceScheduler::getRunning)
+      .description("Slices running on the export file executor")
+      .register(meterRegistry);
+  }
+
+  public void submit(String tenantId, Lane lane, Runnable slice) {
+    var decorated = taskDecorator.decorate(slice);
+    synchronized (this) {
+      queues.get(lane).computeIfAbsent(tenantId, tenant -> new ArrayDeque<>()).add(decorated);
+    }
+    dispatch();
+  }
+
+  public synchronized int getQueued(Lane lane) {
+    return queues.get(lane).values().stream().mapToInt(ArrayDeque::size).sum();
+  }
+
+  public synchronized int getRunning() {
+    return running;
+  }
+
+  private void dispatch() {
+    var admitted = new ArrayList<Admission>();
+    synchronized (this) {
+      while (running < maxPoolSize) {
+        var admission = pollNext();
+        if (admission == null) {
+          break;
+        }
+        running++;
+        admitted.add(admission);
+      }
+    }
+    for (int i = 0; i < admitted.size(); i++) {
+      var admission = admitted.get(i);
+      try {
+        singleExportFileTaskExecutor.execute(() -> run(admission));
+      } catch (RejectedExecutionException e) {
+        log.error("dispatch:: Export file executor rejected a slice of tenant {}, requeueing {} slices: {}",
+          admission.tenantId, admitted.size() - i, e.getMessage(), e);
+        requeue(admitted.subList(i, admitted.size()));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Puts the slices the executor did not accept back to the heads of their queues in their order, they are dispatched
+   * again when a running slice completes or a slice is submitted.
+   */
+  private synchronized void requeue(List<Admission> rejected) {
+    for (int i = rejected.size() - 1; i >= 0; i--) {
+      var admission = rejected.get(i);
+      release(admission.tenantId);
+      queues.get(admission.lane).computeIfAbsent(admission.tenantId, tenant -> new ArrayDeque<>()).addFirst(admission.slice);
+    }
+  }
+
+  private synchronized void release(String tenantId) {
+    running--;
+    runningByTenant.computeIfPresent(tenantId, (tenant, count) -> count > 1 ? count - 1 : null);
+  }
+
+  /**
+   * Takes a slice of the first lane that has one of a tenant under its cap. Of such tenants the one with the fewest
+   * running slices goes first, then the one that has waited longest since its last turn.
+   */
+  private Admission pollNext() {
+    for (var laneQueues : queues.entrySet()) {
+      var tenantQueues = laneQueues.getValue();
+      String next = null;
+      for (var tenantId : tenantQueues.keySet()) {
+        if (getTenantRunning(tenantId) < getTenantPoolSize(tenantId) && (next == null || isBefore(tenantId, next))) {
+          next = tenantId;
+        }
+      }
+      if (next != null) {
+        var tenantId = next;
+        var tenantQueue = tenantQueues.get(tenantId);
+        var slice = tenantQueue.poll();
+        if (tenantQueue.isEmpty()) {
+          tenantQueues.remove(tenantId);
+        }
+        runningByTenant.merge(tenantId, 1, Integer::sum);
+        lastTurns.put(tenantId, ++turn);
+        return new Admission(tenantId, laneQueues.getKey(), slice);
+      }
+    }
+    return null;
+  }
+
+  private boolean isBefore(String tenantId, String otherTenantId) {
+    var running = getTenantRunning(tenantId);
+    var otherRunning = getTenantRunning(otherTenantId);
+    if (running != otherRunning) {
+      return running < otherRunning;
+    }
+    return lastTurns.getOrDefault(tenantId, 0L) < lastTurns.getOrDefault(otherTenantId, 0L);
+  }
+
+  private int getTenantRunning(String tenantId) {
+    return runningByTenant.getOrDefault(tenantId, 0);
+  }
+
+  private int getTenantPoolSize(String tenantId) {
+    return tenantPoolSizes.getOrDefault(tenantId, tenantMaxPoolSize > 0 ? tenantMaxPoolSize : maxPoolSize);
+  }
+
+  private void run(Admission admission) {
+    try {
+      admission.slice.run();
+    } finally {
+      release(admission.tenantId);
+      dispatch();
+    }
+  }
+
+  private static class Admission {
+    private final String tenantId;
+    private final Lane lane;
+    private final Runnable slice;
+
+    private Admission(String tenantId, Lane lane, Runnable slice) {
+      this.tenantId = tenantId;
+      this.lane = lane;
+      this.slice = slice;
+    }
+  }
+}
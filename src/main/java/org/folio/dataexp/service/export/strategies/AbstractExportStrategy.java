@@ -6,12 +6,14 @@ import static org.folio.dataexp.service.export.Constants.OUTPUT_BUFFER_SIZE;
 import static org.folio.dataexp.util.ErrorCode.ERROR_CONVERTING_JSON_TO_MARC;
 import static org.folio.dataexp.util.ErrorCode.ERROR_FIELDS_MAPPING_SRS;
 
+import com.jayway.jsonpath.JsonPath;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.extern.log4j.Log4j2;
 import net.minidev.json.JSONObject;
 import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.MappingProfile;
@@ -22,18 +24,27 @@ import org.folio.dataexp.domain.entity.MarcRecordEntity;
 import org.folio.dataexp.exception.TransformationRuleException;
 import org.folio.dataexp.repository.ExportIdEntityRepository;
 import org.folio.dataexp.repository.InstanceEntityRepository;
+import org.folio.dataexp.repository.JobExecutionExportFilesEntityRepository;
 import org.folio.dataexp.repository.JobProfileEntityRepository;
 import org.folio.dataexp.repository.MappingProfileEntityRepository;
 import org.folio.dataexp.service.JobExecutionService;
+import org.folio.dataexp.service.export.DeflatedSlice;
 import org.folio.dataexp.service.export.LocalStorageWriter;
+import org.folio.dataexp.service.export.S3StreamingStorage;
+import org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory;
+import org.folio.dataexp.service.export.strategies.pagination.KeysetPageReader;
+import org.folio.dataexp.service.export.strategies.pagination.PageReader;
+import org.folio.dataexp.service.export.strategies.pagination.PrefetchingPageReader;
 import org.folio.dataexp.repository.MarcAuthorityRecordAllRepository;
 import org.folio.dataexp.service.logs.ErrorLogService;
 import org.folio.dataexp.util.ErrorCode;
 import org.folio.dataexp.util.S3FilePathUtils;
+import org.folio.reader.EntityReader;
+import org.folio.reader.JPathSyntaxEntityReader;
 import org.folio.spring.FolioExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -43,20 +54,36 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Log4j2
 public abstract class AbstractExportStrategy implements ExportStrategy {
 
+  private static final int MIN_CONVERSION_CHUNK_SIZE = 50;
+
   protected int exportIdsBatch;
   protected String exportTmpStorage;
+  protected int conversionPoolSize = 1;
+  protected int prefetchPages;
+  protected boolean cursorRead;
+  protected int outputBufferSize = OUTPUT_BUFFER_SIZE;
+
+  private Executor marcConversionExecutor = Runnable::run;
+  private Executor slicePrefetchExecutor;
+
+  protected ExportAllCursorReaderFactory exportAllCursorReaderFactory;
 
   private InstanceEntityRepository instanceEntityRepository;
   private ExportIdEntityRepository exportIdEntityRepository;
   private MappingProfileEntityRepository mappingProfileEntityRepository;
   private JobProfileEntityRepository jobProfileEntityRepository;
+  private JobExecutionExportFilesEntityRepository jobExecutionExportFilesEntityRepository;
   private JobExecutionService jobExecutionService;
   private JsonToMarcConverter jsonToMarcConverter;
+  private S3StreamingStorage s3StreamingStorage;
 
   protected ErrorLogService errorLogService;
   protected MarcAuthorityRecordAllRepository marcAuthorityRecordAllRepository;
@@ -76,6 +103,26 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
     this.exportTmpStorage = exportTmpStorage;
   }
 
+  @Value("#{ T(Integer).parseInt('${application.export-files.conversion-pool-size}')}")
+  protected void setConversionPoolSize(int conversionPoolSize) {
+    this.conversionPoolSize = conversionPoolSize;
+  }
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.prefetch-pages}')}")
+  protected void setPrefetchPages(int prefetchPages) {
+    this.prefetchPages = prefetchPages;
+  }
+
+  @Value("#{ T(Boolean).parseBoolean('${application.export-all.cursor-read}')}")
+  protected void setCursorRead(boolean cursorRead) {
+    this.cursorRead = cursorRead;
+  }
+
+  @Value("#{ T(Integer).parseInt('${application.export-files.output-buffer-size}')}")
+  protected void setOutputBufferSize(int outputBufferSize) {
+    this.outputBufferSize = outputBufferSize;
+  }
+
   public static Optional<JSONObject> getAsJsonObject(String jsonAsString) {
     try {
       var jsonParser = new JSONParser(DEFAULT_PERMISSIVE_MODE);
@@ -90,7 +137,7 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
   public ExportStrategyStatistic saveMarcToLocalStorage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, ExportedMarcListener exportedMarcListener) {
     var exportStatistic = new ExportStrategyStatistic(exportedMarcListener);
     var mappingProfile = getMappingProfile(exportFilesEntity.getJobExecutionId());
-    var localStorageWriter = createLocalStorageWrite(exportFilesEntity);
+    var localStorageWriter = createLocalStorageWrite(exportFilesEntity, exportRequest);
     processSlices(exportFilesEntity, exportStatistic, mappingProfile, exportRequest, localStorageWriter);
     try {
       localStorageWriter.close();
@@ -128,8 +175,18 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
 
   abstract Map<UUID, MarcFields> getAdditionalMarcFieldsByExternalId(List<MarcRecordEntity> marcRecords, MappingProfile mappingProfile, UUID jobExecutionId) throws TransformationRuleException;
 
-  protected LocalStorageWriter createLocalStorageWrite(JobExecutionExportFilesEntity exportFilesEntity) {
-    return new LocalStorageWriter(S3FilePathUtils.getLocalStorageWriterPath(exportTmpStorage, exportFilesEntity.getFileLocation()), OUTPUT_BUFFER_SIZE);
+  /**
+   * Slices of a job exported to several files end up in a zip, and every slice of a gzip export ends up in the .mrc.gz file,
+   * so they are compressed while written and copied into the resulting file without recompression.
+   */
+  protected LocalStorageWriter createLocalStorageWrite(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    var deflate = exportRequest.getOutputFormat() == ExportRequest.OutputFormatEnum.MRC_GZIP
+      || jobExecutionExportFilesEntityRepository.countByJobExecutionId(exportFilesEntity.getJobExecutionId()) > 1;
+    var fileLocation = deflate ? exportFilesEntity.getFileLocation() + DeflatedSlice.SUFFIX : exportFilesEntity.getFileLocation();
+    if (s3StreamingStorage != null && s3StreamingStorage.isEnabled()) {
+      return new LocalStorageWriter(s3StreamingStorage.openUpload(fileLocation), outputBufferSize, deflate);
+    }
+    return new LocalStorageWriter(S3FilePathUtils.getLocalStorageWriterPath(exportTmpStorage, fileLocation), outputBufferSize, deflate);
   }
 
   protected void createAndSaveMarc(Set<UUID> externalIds, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile,
@@ -154,20 +211,22 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
       return;
     }
     var duplicatedUuidWithIdentifiers = new LinkedHashMap<UUID, Optional<ExportIdentifiersForDuplicateErrors>>();
-    for (var marcRecordEntity : marcRecords) {
-      var marc = StringUtils.EMPTY;
-      try {
-        var marcHoldingsItemsFields = additionalFieldsPerId.getOrDefault(marcRecordEntity.getExternalId(), new MarcFields());
-        if (!marcHoldingsItemsFields.getErrorMessages().isEmpty()) {
-          errorLogService
-            .saveGeneralErrorWithMessageValues(ERROR_FIELDS_MAPPING_SRS.getCode(), marcHoldingsItemsFields.getErrorMessages(), jobExecutionId);
-        }
-        marc = jsonToMarcConverter.convertJsonRecordToMarcRecord(marcRecordEntity.getContent(), marcHoldingsItemsFields.getHoldingItemsFields(), mappingProfile);
-      } catch (Exception e) {
+    var conversions = convertInParallel(marcRecords, marcRecordEntity -> jsonToMarcConverter.convertJsonRecordToMarcRecord(marcRecordEntity.getContent(),
+      additionalFieldsPerId.getOrDefault(marcRecordEntity.getExternalId(), new MarcFields()).getHoldingItemsFields(), mappingProfile));
+    for (int i = 0; i < marcRecords.size(); i++) {
+      var marcRecordEntity = marcRecords.get(i);
+      var marcHoldingsItemsFields = additionalFieldsPerId.getOrDefault(marcRecordEntity.getExternalId(), new MarcFields());
+      if (!marcHoldingsItemsFields.getErrorMessages().isEmpty()) {
+        errorLogService
+          .saveGeneralErrorWithMessageValues(ERROR_FIELDS_MAPPING_SRS.getCode(), marcHoldingsItemsFields.getErrorMessages(), jobExecutionId);
+      }
+      var conversion = conversions.get(i);
+      if (conversion.isFailed()) {
         exportStatistic.incrementFailed();
-        saveConvertJsonRecordToMarcRecordError(marcRecordEntity, jobExecutionId, e);
+        saveConvertJsonRecordToMarcRecordError(marcRecordEntity, jobExecutionId, conversion.getError());
         continue;
       }
+      var marc = conversion.getMarc();
       localStorageWriter.write(marc);
       if (externalIdsWithMarcRecord.contains(marcRecordEntity.getExternalId())) {
         exportStatistic.incrementDuplicatedSrs();
@@ -195,6 +254,37 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
     exportStatistic.addNotExistIdsAll(result.getNotExistIds());
   }
 
+  /**
+   * Converts the given sources to MARC using the conversion pool, the batch is split into chunks, one task per chunk.
+   * Results are returned in the order of the sources, so the caller writes them sequentially as before.
+   *
+   * @param sources    records to convert
+   * @param conversion conversion of a single record
+   * @return conversion results in the order of the sources
+   */
+  protected <T> List<MarcConversionResult> convertInParallel(List<T> sources, MarcConversionResult.MarcConversion<T> conversion) {
+    if (conversionPoolSize <= 1 || sources.size() <= MIN_CONVERSION_CHUNK_SIZE) {
+      return sources.stream().map(source -> MarcConversionResult.convert(source, conversion)).toList();
+    }
+    var chunkSize = Math.max(MIN_CONVERSION_CHUNK_SIZE, (sources.size() + conversionPoolSize - 1) / conversionPoolSize);
+    var futures = ListUtils.partition(sources, chunkSize).stream()
+      .map(chunk -> CompletableFuture.supplyAsync(() -> chunk.stream()
+        .map(source -> MarcConversionResult.convert(source, conversion)).toList(), marcConversionExecutor))
+      .toList();
+    return futures.stream().map(CompletableFuture::join).flatMap(List::stream).toList();
+  }
+
+  /**
+   * Creates the reader the mapping rules are evaluated with. The rule paths are read directly from the in-memory json tree
+   * of the record, so the record is not serialized to a string and parsed back for every conversion.
+   *
+   * @param jsonObject record built of instance, holdings and items
+   * @return entity reader over the record
+   */
+  protected EntityReader createEntityReader(JSONObject jsonObject) {
+    return new JPathSyntaxEntityReader(JsonPath.parse(jsonObject));
+  }
+
   protected boolean isDeletedJobProfile(UUID jobProfileId) {
     return StringUtils.equals(jobProfileId.toString(), "2c9be114-6d35-4408-adac-9ead35f51a27");
   }
@@ -249,17 +339,38 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
 
   protected void processSlices(JobExecutionExportFilesEntity exportFilesEntity,
       ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile, ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var slice = exportIdEntityRepository.getExportIds(exportFilesEntity.getJobExecutionId(),
-        exportFilesEntity.getFromId(), exportFilesEntity.getToId(), PageRequest.of(0, exportIdsBatch));
-    log.info("Slice size: {}", slice.getSize());
-    var exportIds = slice.getContent().stream().map(ExportIdEntity::getInstanceId).collect(Collectors.toSet());
-    createAndSaveMarc(exportIds, exportStatistic, mappingProfile, exportFilesEntity.getJobExecutionId(), exportRequest, localStorageWriter);
-    while (slice.hasNext()) {
-      slice = exportIdEntityRepository.getExportIds(exportFilesEntity.getJobExecutionId(),
-          exportFilesEntity.getFromId(), exportFilesEntity.getToId(), slice.nextPageable());
-      exportIds = slice.getContent().stream().map(ExportIdEntity::getInstanceId).collect(Collectors.toSet());
-      createAndSaveMarc(exportIds, exportStatistic, mappingProfile, exportFilesEntity.getJobExecutionId(),
-          exportRequest, localStorageWriter);
+    processPages(new KeysetPageReader<>(pageable -> exportIdEntityRepository.getExportIds(exportFilesEntity.getJobExecutionId(),
+        exportFilesEntity.getFromId(), exportFilesEntity.getToId(), pageable),
+        (lastId, limit) -> exportIdEntityRepository.getExportIdsAfter(exportFilesEntity.getJobExecutionId(), exportFilesEntity.getToId(), lastId, limit),
+        ExportIdEntity::getInstanceId, exportIdsBatch), exportIdEntities -> {
+      log.info("Slice size: {}", exportIdEntities.size());
+      var exportIds = exportIdEntities.stream().map(ExportIdEntity::getInstanceId).collect(Collectors.toSet());
+      createAndSaveMarc(exportIds, exportStatistic, mappingProfile, exportFilesEntity.getJobExecutionId(), exportRequest, localStorageWriter);
+    });
+  }
+
+  /**
+   * Passes every page of the reader to the page processor. When prefetching is enabled, the next pages are read
+   * on a separate thread while the current page is processed.
+   *
+   * @param pageReader    reader of the slice pages
+   * @param pageProcessor processor of a single page
+   */
+  protected <T> void processPages(PageReader<T> pageReader, Consumer<List<T>> pageProcessor) {
+    try (PageReader<T> pages = prefetchPages > 0 ? new PrefetchingPageReader<>(pageReader, prefetchPages, slicePrefetchExecutor) : pageReader) {
+      for (var page = pages.readNext(); page != null; page = pages.readNext()) {
+        pageProcessor.accept(page);
+      }
+    }
+  }
+
+  /**
+   * Clears the persistence context between the pages read by the repository queries.
+   * Records read by a cursor are never managed, so there is nothing to clear.
+   */
+  protected void clearPersistenceContext() {
+    if (!cursorRead) {
+      entityManager.clear();
     }
   }
 
@@ -273,11 +384,31 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
     this.exportIdEntityRepository = exportIdEntityRepository;
   }
 
+  @Autowired
+  private void setMarcConversionExecutor(@Qualifier("marcConversionExecutor") Executor marcConversionExecutor) {
+    this.marcConversionExecutor = marcConversionExecutor;
+  }
+
+  @Autowired
+  private void setSlicePrefetchExecutor(@Qualifier("slicePrefetchExecutor") Executor slicePrefetchExecutor) {
+    this.slicePrefetchExecutor = slicePrefetchExecutor;
+  }
+
+  @Autowired
+  private void setExportAllCursorReaderFactory(ExportAllCursorReaderFactory exportAllCursorReaderFactory) {
+    this.exportAllCursorReaderFactory = exportAllCursorReaderFactory;
+  }
+
   @Autowired
   private void setJsonToMarcConverter(JsonToMarcConverter jsonToMarcConverter) {
     this.jsonToMarcConverter = jsonToMarcConverter;
   }
 
+  @Autowired
+  private void setS3StreamingStorage(S3StreamingStorage s3StreamingStorage) {
+    this.s3StreamingStorage = s3StreamingStorage;
+  }
+
   @Autowired
   private void setMappingProfileEntityRepository(MappingProfileEntityRepository mappingProfileEntityRepository) {
     this.mappingProfileEntityRepository = mappingProfileEntityRepository;
@@ -288,6 +419,11 @@ public abstract class AbstractExportStrategy implements ExportStrategy {
     this.jobProfileEntityRepository = jobProfileEntityRepository;
   }
 
+  @Autowired
+  private void setJobExecutionExportFilesEntityRepository(JobExecutionExportFilesEntityRepository jobExecutionExportFilesEntityRepository) {
+    this.jobExecutionExportFilesEntityRepository = jobExecutionExportFilesEntityRepository;
+  }
+
   @Autowired
   private void setJobExecutionService(JobExecutionService jobExecutionService) {
     this.jobExecutionService = jobExecutionService;
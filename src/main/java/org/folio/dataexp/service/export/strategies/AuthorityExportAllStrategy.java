@@ -10,8 +10,8 @@ import org.folio.dataexp.repository.ErrorLogEntityCqlRepository;
 import org.folio.dataexp.repository.MarcAuthorityRecordRepository;
 import org.folio.dataexp.service.ConsortiaService;
 import org.folio.dataexp.service.export.LocalStorageWriter;
+import org.folio.dataexp.service.export.strategies.pagination.KeysetPageReader;
 import org.folio.spring.FolioExecutionContext;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
@@ -38,16 +38,13 @@ public class AuthorityExportAllStrategy extends AuthorityExportStrategy {
 
   @Override
   protected void processSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile, ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var slice = chooseSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-    log.info("Slice size for authorities export all: {}", slice.getContent().size());
-    var exportIds = slice.getContent().stream().map(MarcRecordEntity::getExternalId).collect(Collectors.toSet());
-    log.info("Size of exportIds for authorities export all: {}", exportIds.size());
-    createAndSaveMarc(exportIds, slice.getContent(), exportStatistic, mappingProfile, exportFilesEntity.getJobExecutionId(), localStorageWriter);
-    while (slice.hasNext()) {
-      slice = chooseSlice(exportFilesEntity, exportRequest, slice.nextPageable());
-      exportIds = slice.getContent().stream().map(MarcRecordEntity::getExternalId).collect(Collectors.toSet());
-      createAndSaveMarc(exportIds, slice.getContent(), exportStatistic, mappingProfile, exportFilesEntity.getJobExecutionId(), localStorageWriter);
-    }
+    processPages(new KeysetPageReader<>(pageable -> chooseSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> choosePage(exportFilesEntity, exportRequest, lastId, limit), MarcRecordEntity::getId, exportIdsBatch), marcRecords -> {
+      log.info("Slice size for authorities export all: {}", marcRecords.size());
+      var exportIds = marcRecords.stream().map(MarcRecordEntity::getExternalId).collect(Collectors.toSet());
+      log.info("Size of exportIds for authorities export all: {}", exportIds.size());
+      createAndSaveMarc(exportIds, marcRecords, exportStatistic, mappingProfile, exportFilesEntity.getJobExecutionId(), localStorageWriter);
+    });
   }
 
   @Override
@@ -70,6 +67,13 @@ public class AuthorityExportAllStrategy extends AuthorityExportStrategy {
     return marcAuthorityRecordAllRepository.findAllWithoutDeleted(exportFilesEntity.getFromId(), exportFilesEntity.getToId(), pageble);
   }
 
+  private List<MarcRecordEntity> choosePage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getDeletedRecords())) {
+      return marcAuthorityRecordAllRepository.findAllWithDeletedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(), lastId, limit);
+    }
+    return marcAuthorityRecordAllRepository.findAllWithoutDeletedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(), lastId, limit);
+  }
+
   protected void createAndSaveMarc(Set<UUID> externalIds, List<MarcRecordEntity> marcRecords, ExportStrategyStatistic exportStatistic,
       MappingProfile mappingProfile, UUID jobExecutionId, LocalStorageWriter localStorageWriter) {
     var externalIdsWithMarcRecord = new HashSet<UUID>();
@@ -0,0 +1,70 @@
+package org.folio.dataexp.service.export.strategies;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.folio.dataexp.client.ConsortiumSearchClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves the member tenants holdings belong to in a consortium. The holdings of a batch are looked up in mod-search
+ * concurrently on a bounded executor, and the resolved tenants are kept per job execution, so every holding is looked up once per job.
+ */
+@Log4j2
+@Component
+public class ConsortiumHoldingsTenantResolver {
+
+  private static final Duration JOB_ROUTES_EXPIRATION = Duration.ofMinutes(30);
+
+  private final ConsortiumSearchClient consortiumSearchClient;
+  private final Executor consortiumSearchExecutor;
+  private final Cache<UUID, Map<UUID, Optional<String>>> tenantsByJobExecutionId = Caffeine.newBuilder()
+    .expireAfterAccess(JOB_ROUTES_EXPIRATION)
+    .build();
+
+  public ConsortiumHoldingsTenantResolver(ConsortiumSearchClient consortiumSearchClient,
+                                          @Qualifier("consortiumSearchExecutor") Executor consortiumSearchExecutor) {
+    this.consortiumSearchClient = consortiumSearchClient;
+    this.consortiumSearchExecutor = consortiumSearchExecutor;
+  }
+
+  /**
+   * Resolves tenants of the holdings.
+   *
+   * @param jobExecutionId id of the job execution the resolved tenants are cached for
+   * @param holdingsIds    ids of the holdings
+   * @return tenant ids by holdings id, holdings without tenant in mod-search are omitted
+   */
+  public Map<UUID, String> resolveTenants(UUID jobExecutionId, Collection<UUID> holdingsIds) {
+    var tenantsByHoldingsId = tenantsByJobExecutionId.get(jobExecutionId, id -> new ConcurrentHashMap<>());
+    var lookups = holdingsIds.stream()
+      .distinct()
+      .filter(holdingsId -> !tenantsByHoldingsId.containsKey(holdingsId))
+      .map(holdingsId -> CompletableFuture.runAsync(() -> tenantsByHoldingsId.put(holdingsId,
+        Optional.ofNullable(consortiumSearchClient.getHoldingsById(holdingsId.toString()).getTenantId())), consortiumSearchExecutor))
+      .toArray(CompletableFuture[]::new);
+    log.info("resolveTenants:: looking up tenants of {} out of {} holdings", lookups.length, holdingsIds.size());
+    try {
+      CompletableFuture.allOf(lookups).join();
+    } catch (CompletionException e) {
+      ExceptionUtils.rethrow(e.getCause());
+    }
+    var result = new HashMap<UUID, String>();
+    holdingsIds.forEach(holdingsId -> tenantsByHoldingsId.getOrDefault(holdingsId, Optional.empty())
+      .ifPresent(tenantId -> result.put(holdingsId, tenantId)));
+    return result;
+  }
+}
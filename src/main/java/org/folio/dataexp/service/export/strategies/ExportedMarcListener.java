@@ -1,36 +1,78 @@
 package org.folio.dataexp.service.export.strategies;
 
-import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
 import org.folio.dataexp.repository.JobExecutionEntityRepository;
 
+import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Counts the exported records of a job execution from all the export threads without locking. The progress is written
+ * to the job execution by a single reporting task that calls {@link #report()}, the export threads never wait for it.
+ */
+@Log4j2
 public class ExportedMarcListener {
 
-  private JobExecutionEntityRepository jobExecutionEntityRepository;
-  @Getter
-  private final AtomicInteger exportedCount = new AtomicInteger();
-  private int progressExportedUpdateStep;
-  private UUID jobExecutionId;
+  private static final int MAX_IDLE_REPORTS = 5;
 
-  public ExportedMarcListener(JobExecutionEntityRepository jobExecutionEntityRepository, int progressExportedUpdateStep, UUID jobExecutionId ) {
+  private final JobExecutionEntityRepository jobExecutionEntityRepository;
+  private final LongAdder exportedCount = new LongAdder();
+  private final int progressExportedUpdateStep;
+  private final UUID jobExecutionId;
+  private long reportedCount;
+  private int idleReports;
+  @Setter
+  private volatile ScheduledFuture<?> reporting;
+
+  public ExportedMarcListener(JobExecutionEntityRepository jobExecutionEntityRepository, int progressExportedUpdateStep, UUID jobExecutionId) {
     this.jobExecutionEntityRepository = jobExecutionEntityRepository;
     this.progressExportedUpdateStep = progressExportedUpdateStep;
     this.jobExecutionId = jobExecutionId;
   }
 
-  public synchronized void incrementExported() {
-    var exported = exportedCount.incrementAndGet();
-    if (exported % progressExportedUpdateStep == 0) {
-      var jobExecutionEntity = jobExecutionEntityRepository.getReferenceById(jobExecutionId);
-      var progress = jobExecutionEntity.getJobExecution().getProgress();
-      progress.setExported(exported);
-      jobExecutionEntityRepository.save(jobExecutionEntity);
-    }
+  public void incrementExported() {
+    exportedCount.increment();
   }
 
   public void removeExported(int exported) {
-    exportedCount.getAndAdd(-1 * exported);
+    exportedCount.add(-exported);
+  }
+
+  public int getExportedCount() {
+    return (int) exportedCount.sum();
+  }
+
+  /**
+   * Writes the exported count to the job execution when it has grown by the update step since the last write, or has
+   * changed at all during the last {@value #MAX_IDLE_REPORTS} calls. When it has not changed during those calls, only
+   * checks that the job execution is still in progress, so the reporting of a job execution that is never completed by
+   * the export, e.g. an expired one, stops as well. Must not be called concurrently.
+   *
+   * @return false if the job execution is not in progress anymore and there is nothing more to report
+   */
+  public boolean report() {
+    var exported = exportedCount.sum();
+    var delta = exported - reportedCount;
+    if (delta < progressExportedUpdateStep && ++idleReports < MAX_IDLE_REPORTS) {
+      return true;
+    }
+    idleReports = 0;
+    if (delta == 0) {
+      return jobExecutionEntityRepository.isInProgress(jobExecutionId);
+    }
+    var inProgress = jobExecutionEntityRepository.updateExported(jobExecutionId, (int) exported) > 0;
+    reportedCount = exported;
+    return inProgress;
+  }
+
+  public void stopReporting() {
+    var current = reporting;
+    if (Objects.nonNull(current)) {
+      current.cancel(false);
+      log.debug("stopReporting:: Stopped progress reporting for job execution {}", jobExecutionId);
+    }
   }
 }
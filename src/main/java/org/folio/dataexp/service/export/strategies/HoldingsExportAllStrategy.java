@@ -1,7 +1,6 @@
 package org.folio.dataexp.service.export.strategies;
 
 import lombok.extern.log4j.Log4j2;
-import org.folio.dataexp.client.ConsortiumSearchClient;
 import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.MappingProfile;
 import org.folio.dataexp.domain.entity.HoldingsRecordEntity;
@@ -20,10 +19,11 @@ import org.folio.dataexp.repository.MarcRecordEntityRepository;
 import org.folio.dataexp.service.ConsortiaService;
 import org.folio.dataexp.service.export.LocalStorageWriter;
 import org.folio.dataexp.service.export.strategies.handlers.RuleHandler;
+import org.folio.dataexp.service.export.strategies.pagination.KeysetPageReader;
+import org.folio.dataexp.service.export.strategies.pagination.PageReader;
 import org.folio.dataexp.service.transformationfields.ReferenceDataProvider;
 import org.folio.processor.RuleProcessor;
 import org.folio.spring.FolioModuleMetadata;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
@@ -33,6 +33,13 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.FOLIO_HOLDINGS_ALL_NON_DELETED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.FOLIO_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_HOLDINGS_ALL_NON_DELETED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_HOLDINGS_ALL_NON_DELETED_CUSTOM_PROFILE;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED_CUSTOM_PROFILE;
+
 @Log4j2
 @Component
 public class HoldingsExportAllStrategy extends HoldingsExportStrategy {
@@ -42,13 +49,13 @@ public class HoldingsExportAllStrategy extends HoldingsExportStrategy {
 
   public HoldingsExportAllStrategy(InstanceEntityRepository instanceEntityRepository, ItemEntityRepository itemEntityRepository,
                                    RuleFactory ruleFactory, RuleProcessor ruleProcessor, RuleHandler ruleHandler, ReferenceDataProvider referenceDataProvider,
-                                   ConsortiaService consortiaService, ConsortiumSearchClient consortiumSearchClient,
+                                   ConsortiaService consortiaService, ConsortiumHoldingsTenantResolver consortiumHoldingsTenantResolver,
                                    HoldingsRecordEntityTenantRepository holdingsRecordEntityTenantRepository, MarcInstanceRecordRepository marcInstanceRecordRepository,
                                    InstanceCentralTenantRepository instanceCentralTenantRepository, FolioModuleMetadata folioModuleMetadata,
                                    HoldingsRecordEntityRepository holdingsRecordEntityRepository, MarcRecordEntityRepository marcRecordEntityRepository,
                                    FolioHoldingsAllRepository folioHoldingsAllRepository, MarcHoldingsAllRepository marcHoldingsAllRepository, UserService userService) {
     super(instanceEntityRepository, itemEntityRepository, ruleFactory, ruleProcessor, ruleHandler, referenceDataProvider,
-      consortiaService, consortiumSearchClient, holdingsRecordEntityTenantRepository, marcInstanceRecordRepository,
+      consortiaService, consortiumHoldingsTenantResolver, holdingsRecordEntityTenantRepository, marcInstanceRecordRepository,
       instanceCentralTenantRepository, folioModuleMetadata, userService, holdingsRecordEntityRepository, marcRecordEntityRepository);
     this.folioHoldingsAllRepository = folioHoldingsAllRepository;
     this.marcHoldingsAllRepository = marcHoldingsAllRepository;
@@ -99,43 +106,31 @@ public class HoldingsExportAllStrategy extends HoldingsExportStrategy {
 
   private void processFolioSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile,
       ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var folioSlice = nextFolioSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-    entityManager.clear();
-    processFolioHoldings(exportFilesEntity, exportStatistic, mappingProfile, folioSlice.getContent(), localStorageWriter);
-    log.info("Slice size for holdings export all folio: {}", folioSlice.getContent().size());
-    while (folioSlice.hasNext()) {
-      folioSlice = nextFolioSlice(exportFilesEntity, exportRequest, folioSlice.nextPageable());
-      entityManager.clear();
-      processFolioHoldings(exportFilesEntity, exportStatistic, mappingProfile, folioSlice.getContent(), localStorageWriter);
-    }
+    processPages(folioHoldingsReader(exportFilesEntity, exportRequest), folioHoldings -> {
+      clearPersistenceContext();
+      processFolioHoldings(exportFilesEntity, exportStatistic, mappingProfile, folioHoldings, localStorageWriter);
+      log.info("Slice size for holdings export all folio: {}", folioHoldings.size());
+    });
   }
 
   private void processMarcSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile,
       ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
     if (Boolean.TRUE.equals(mappingProfile.getDefault())) {
-      var marcSlice = nextMarcSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-      entityManager.clear();
-      processMarcHoldings(exportFilesEntity, exportStatistic, mappingProfile, marcSlice.getContent(), localStorageWriter);
-      log.info("Slice size for holdings export all marc: {}", marcSlice.getContent().size());
-      while (marcSlice.hasNext()) {
-        marcSlice = nextMarcSlice(exportFilesEntity, exportRequest, marcSlice.nextPageable());
-        entityManager.clear();
-        processMarcHoldings(exportFilesEntity, exportStatistic, mappingProfile, marcSlice.getContent(), localStorageWriter);
-      }
+      processPages(marcRecordsReader(exportFilesEntity, exportRequest), marcRecords -> {
+        clearPersistenceContext();
+        processMarcHoldings(exportFilesEntity, exportStatistic, mappingProfile, marcRecords, localStorageWriter);
+        log.info("Slice size for holdings export all marc: {}", marcRecords.size());
+      });
     }
   }
 
   private void processMarcHoldingsSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic,
       MappingProfile mappingProfile, ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var marcHoldingsSlice = nextMarcHoldingsSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-    entityManager.clear();
-    processFolioHoldings(exportFilesEntity, exportStatistic, mappingProfile, marcHoldingsSlice.getContent(), localStorageWriter);
-    log.info("Slice size for holdings export all marc: {}", marcHoldingsSlice.getContent().size());
-    while (marcHoldingsSlice.hasNext()) {
-      marcHoldingsSlice = nextMarcHoldingsSlice(exportFilesEntity, exportRequest, marcHoldingsSlice.nextPageable());
-      entityManager.clear();
-      processFolioHoldings(exportFilesEntity, exportStatistic, mappingProfile, marcHoldingsSlice.getContent(), localStorageWriter);
-    }
+    processPages(marcHoldingsReader(exportFilesEntity, exportRequest), marcHoldings -> {
+      clearPersistenceContext();
+      processFolioHoldings(exportFilesEntity, exportStatistic, mappingProfile, marcHoldings, localStorageWriter);
+      log.info("Slice size for holdings export all marc: {}", marcHoldings.size());
+    });
   }
 
   private void processMarcHoldings(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile,
@@ -151,6 +146,36 @@ public class HoldingsExportAllStrategy extends HoldingsExportStrategy {
     createAndSaveGeneratedMarc(result, exportStatistic, localStorageWriter);
   }
 
+  private PageReader<HoldingsRecordEntity> folioHoldingsReader(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    if (cursorRead) {
+      var view = Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery()) ? FOLIO_HOLDINGS_ALL_NON_DELETED
+        : FOLIO_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED;
+      return exportAllCursorReaderFactory.holdings(view, exportFilesEntity.getFromId(), exportFilesEntity.getToId(), exportIdsBatch);
+    }
+    return new KeysetPageReader<>(pageable -> nextFolioSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> nextFolioPage(exportFilesEntity, exportRequest, lastId, limit), HoldingsRecordEntity::getId, exportIdsBatch);
+  }
+
+  private PageReader<MarcRecordEntity> marcRecordsReader(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    if (cursorRead) {
+      var view = Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery()) ? MARC_HOLDINGS_ALL_NON_DELETED
+        : MARC_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED;
+      return exportAllCursorReaderFactory.marcRecords(view, exportFilesEntity.getFromId(), exportFilesEntity.getToId(), exportIdsBatch);
+    }
+    return new KeysetPageReader<>(pageable -> nextMarcSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> nextMarcPage(exportFilesEntity, exportRequest, lastId, limit), MarcRecordEntity::getId, exportIdsBatch);
+  }
+
+  private PageReader<HoldingsRecordEntity> marcHoldingsReader(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    if (cursorRead) {
+      var view = Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery()) ? MARC_HOLDINGS_ALL_NON_DELETED_CUSTOM_PROFILE
+        : MARC_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED_CUSTOM_PROFILE;
+      return exportAllCursorReaderFactory.holdings(view, exportFilesEntity.getFromId(), exportFilesEntity.getToId(), exportIdsBatch);
+    }
+    return new KeysetPageReader<>(pageable -> nextMarcHoldingsSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> nextMarcHoldingsPage(exportFilesEntity, exportRequest, lastId, limit), HoldingsRecordEntity::getId, exportIdsBatch);
+  }
+
   private Slice<HoldingsRecordEntity> nextFolioSlice(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, Pageable pageble) {
     if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
       return folioHoldingsAllRepository.findFolioHoldingsAllNonDeleted(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
@@ -178,6 +203,33 @@ public class HoldingsExportAllStrategy extends HoldingsExportStrategy {
         pageble);
   }
 
+  private List<HoldingsRecordEntity> nextFolioPage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
+      return folioHoldingsAllRepository.findFolioHoldingsAllNonDeletedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+          lastId, limit);
+    }
+    return folioHoldingsAllRepository.findFolioHoldingsAllNonDeletedNonSuppressedAfter(exportFilesEntity.getFromId(),
+        exportFilesEntity.getToId(), lastId, limit);
+  }
+
+  private List<MarcRecordEntity> nextMarcPage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
+      return marcHoldingsAllRepository.findMarcHoldingsAllNonDeletedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+          lastId, limit);
+    }
+    return marcHoldingsAllRepository.findMarcHoldingsAllNonDeletedNonSuppressedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+        lastId, limit);
+  }
+
+  private List<HoldingsRecordEntity> nextMarcHoldingsPage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
+      return folioHoldingsAllRepository.findMarcHoldingsAllNonDeletedCustomHoldingsProfileAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+          lastId, limit);
+    }
+    return folioHoldingsAllRepository.findMarcHoldingsAllNonDeletedNonSuppressedCustomHoldingsProfileAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+        lastId, limit);
+  }
+
   private List<HoldingsRecordEntity> getFolioDeleted(ExportRequest exportRequest) {
     if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
       return folioHoldingsAllRepository.findFolioHoldingsAllDeleted();
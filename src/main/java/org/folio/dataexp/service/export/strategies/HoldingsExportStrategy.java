@@ -19,12 +19,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
-import org.folio.dataexp.client.ConsortiumSearchClient;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.MappingProfile;
 import org.folio.dataexp.domain.dto.RecordTypes;
 import org.folio.dataexp.domain.entity.HoldingsRecordEntity;
 import org.folio.dataexp.domain.entity.InstanceEntity;
+import org.folio.dataexp.domain.entity.ItemEntity;
 import org.folio.dataexp.domain.entity.MarcRecordEntity;
 import org.folio.dataexp.exception.TransformationRuleException;
 import org.folio.dataexp.repository.HoldingsRecordEntityTenantRepository;
@@ -41,7 +42,6 @@ import org.folio.processor.RuleProcessor;
 import org.folio.processor.referencedata.ReferenceDataWrapper;
 import org.folio.processor.rule.Rule;
 import org.folio.reader.EntityReader;
-import org.folio.reader.JPathSyntaxEntityReader;
 import org.folio.spring.FolioModuleMetadata;
 import org.folio.spring.scope.FolioExecutionContextSetter;
 import org.folio.writer.RecordWriter;
@@ -73,7 +73,7 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
   private final RuleHandler ruleHandler;
   private final ReferenceDataProvider referenceDataProvider;
   private final ConsortiaService consortiaService;
-  private final ConsortiumSearchClient consortiumSearchClient;
+  private final ConsortiumHoldingsTenantResolver consortiumHoldingsTenantResolver;
   private final HoldingsRecordEntityTenantRepository holdingsRecordEntityTenantRepository;
   private final MarcInstanceRecordRepository marcInstanceRecordRepository;
   private final InstanceCentralTenantRepository instanceCentralTenantRepository;
@@ -154,8 +154,11 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
 
   protected Map<UUID, JSONObject> getHoldingsWithInstanceAndItems(Set<UUID> holdingsIds, GeneratedMarcResult generatedMarcResult, MappingProfile mappingProfile,
                                                              List<HoldingsRecordEntity> holdings, Set<UUID> instancesIds) {
-    var instances = getInstances(instancesIds, holdings);
+    var instances = getInstances(instancesIds, holdings, generatedMarcResult.getJobExecutionId());
     entityManager.clear();
+    var instancesById = instances.stream().collect(Collectors.groupingBy(InstanceEntity::getId));
+    Map<UUID, List<ItemEntity>> itemsByHoldingId = mappingProfile.getRecordTypes().contains(RecordTypes.ITEM)
+      ? getItemsByHoldingId(holdings) : Map.of();
     Map<UUID, JSONObject> holdingsWithInstanceAndItems = new LinkedHashMap<>();
     var existHoldingsIds = new HashSet<UUID>();
     for (var holding : holdings) {
@@ -170,21 +173,19 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
       }
       var holdingJson = holdingJsonOpt.get();
       var holdingWithInstanceAndItems = new JSONObject();
-      for (var instance : instances) {
-        if (instance.getId().equals(holding.getInstanceId())) {
-          var instanceJsonOpt = getAsJsonObject(instance.getJsonb());
-          if (instanceJsonOpt.isEmpty()) {
-            log.error("getHoldingsWithInstanceAndItems:: Error converting to json instance by id {}", instance.getId());
-          } else {
-            var instanceJson = instanceJsonOpt.get();
-            holdingWithInstanceAndItems.appendField(INSTANCE_KEY, instanceJson);
-            holdingJson.put(INSTANCE_HRID_KEY, instanceJson.getAsString(HRID_KEY));
-            break;
-          }
+      for (var instance : instancesById.getOrDefault(holding.getInstanceId(), List.of())) {
+        var instanceJsonOpt = getAsJsonObject(instance.getJsonb());
+        if (instanceJsonOpt.isEmpty()) {
+          log.error("getHoldingsWithInstanceAndItems:: Error converting to json instance by id {}", instance.getId());
+        } else {
+          var instanceJson = instanceJsonOpt.get();
+          holdingWithInstanceAndItems.appendField(INSTANCE_KEY, instanceJson);
+          holdingJson.put(INSTANCE_HRID_KEY, instanceJson.getAsString(HRID_KEY));
+          break;
         }
       }
       if (mappingProfile.getRecordTypes().contains(RecordTypes.ITEM)) {
-        addItemsToHolding(holdingJson, holding.getId());
+        addItemsToHolding(holdingJson, itemsByHoldingId.getOrDefault(holding.getId(), List.of()));
       }
       var holdingJsonArray = new JSONArray();
       holdingJsonArray.add(holdingJson);
@@ -215,14 +216,14 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
     return holdingsRecordEntityRepository.findByIdIn(holdingsIds);
   }
 
-  private List<InstanceEntity> getInstances(Set<UUID> instanceIds, List<HoldingsRecordEntity> holdings) {
+  private List<InstanceEntity> getInstances(Set<UUID> instanceIds, List<HoldingsRecordEntity> holdings, UUID jobExecutionId) {
     var centralTenantId = consortiaService.getCentralTenantId(folioExecutionContext.getTenantId());
     if (nonNull(centralTenantId) && centralTenantId.equals(folioExecutionContext.getTenantId())) {
-      Map<UUID, String> instIdTenantMap = getInstanceIdsTenant(holdings, centralTenantId);
-      log.info("instIdTenantMap: {}", instIdTenantMap);
+      Map<String, Set<UUID>> instIdsPerTenant = getInstanceIdsPerTenant(holdings, centralTenantId, jobExecutionId);
+      log.info("instIdsPerTenant: {}", instIdsPerTenant);
       List<InstanceEntity> entities = new ArrayList<>();
-      instIdTenantMap.forEach((k, v) -> entities.addAll(instanceCentralTenantRepository.findInstancesByIdIn(v, Set.of(k))));
-      log.info("entities: {}", entities);
+      instIdsPerTenant.forEach((k, v) -> entities.addAll(instanceCentralTenantRepository.findInstancesByIdIn(k, v)));
+      log.info("entities: {}", entities.size());
       return entities;
     }
     return instanceEntityRepository.findByIdIn(instanceIds);
@@ -233,8 +234,9 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
     Map<String, Set<UUID>> idsMap = new HashMap<>();
     var availableTenants = consortiaService.getAffiliatedTenants(folioExecutionContext.getTenantId(), folioExecutionContext.getUserId().toString());
     log.info("Affiliated tenants for user {} from {} tenant: {}", folioExecutionContext.getUserId(), folioExecutionContext.getTenantId(), availableTenants);
+    var tenantsByHoldingsId = consortiumHoldingsTenantResolver.resolveTenants(jobExecutionId, ids);
     ids.forEach(id -> {
-      var curTenant = consortiumSearchClient.getHoldingsById(id.toString()).getTenantId();
+      var curTenant = tenantsByHoldingsId.get(id);
       log.info("ID: {}, tenant: {}, actualTenant: {}", id, curTenant, folioExecutionContext.getTenantId());
       if (nonNull(curTenant)) {
         if (availableTenants.contains(curTenant) || curTenant.equals(centralTenantId)) {
@@ -252,27 +254,28 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
     return idsMap;
   }
 
-  private Map<UUID, String> getHoldingIdsTenant(Set<UUID> ids, String centralTenantId) {
-    log.info("getHoldingIdsTenant ids: {}", ids);
+  private Map<UUID, String> getHoldingIdsTenant(Set<UUID> ids, String centralTenantId, UUID jobExecutionId) {
+    log.info("getHoldingIdsTenant ids: {}", ids.size());
     Map<UUID, String> idsMap = new HashMap<>();
     var availableTenants = consortiaService.getAffiliatedTenants(folioExecutionContext.getTenantId(), folioExecutionContext.getUserId().toString());
-    ids.forEach(id -> {
-      var curTenant = consortiumSearchClient.getHoldingsById(id.toString()).getTenantId();
-      if (nonNull(curTenant) && (availableTenants.contains(curTenant) || curTenant.equals(centralTenantId))) {
+    consortiumHoldingsTenantResolver.resolveTenants(jobExecutionId, ids).forEach((id, curTenant) -> {
+      if (availableTenants.contains(curTenant) || curTenant.equals(centralTenantId)) {
         idsMap.put(id, curTenant);
       }
     });
     return idsMap;
   }
 
-  private Map<UUID, String> getInstanceIdsTenant(List<HoldingsRecordEntity> holdings, String centralTenantId) {
-    log.info("getInstanceIdsTenant ids: {}", holdings);
-    Map<UUID, String> idsMap = new HashMap<>();
+  private Map<String, Set<UUID>> getInstanceIdsPerTenant(List<HoldingsRecordEntity> holdings, String centralTenantId, UUID jobExecutionId) {
+    log.info("getInstanceIdsPerTenant holdings: {}", holdings.size());
+    Map<String, Set<UUID>> idsMap = new HashMap<>();
     var availableTenants = consortiaService.getAffiliatedTenants(folioExecutionContext.getTenantId(), folioExecutionContext.getUserId().toString());
+    var tenantsByHoldingsId = consortiumHoldingsTenantResolver.resolveTenants(jobExecutionId,
+      holdings.stream().map(HoldingsRecordEntity::getId).toList());
     holdings.forEach(hold -> {
-      var curTenant = consortiumSearchClient.getHoldingsById(hold.getId().toString()).getTenantId();
+      var curTenant = tenantsByHoldingsId.get(hold.getId());
       if (nonNull(curTenant) && (availableTenants.contains(curTenant) || curTenant.equals(centralTenantId))) {
-        idsMap.put(hold.getInstanceId(), curTenant);
+        idsMap.computeIfAbsent(curTenant, k -> new HashSet<>()).add(hold.getInstanceId());
       }
     });
     return idsMap;
@@ -285,13 +288,17 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
     if (nonNull(centralTenantId) && centralTenantId.equals(folioExecutionContext.getTenantId())) {
       fillOutFromCentralTenant(holdingsWithInstanceAndItems, jobExecutionId, centralTenantId, marcRecords, result, rules);
     } else {
-      for (var jsonObject : holdingsWithInstanceAndItems.values()) {
-        try {
-          ReferenceDataWrapper referenceDataWrapper = referenceDataProvider.getReference(folioExecutionContext.getTenantId());
-          var marc = mapToMarc(jsonObject, rules, referenceDataWrapper);
-          marcRecords.add(marc);
-        } catch (MarcException e) {
-          handleMarcException(jsonObject, result, e, jobExecutionId);
+      ReferenceDataWrapper referenceDataWrapper = referenceDataProvider.getReference(folioExecutionContext.getTenantId());
+      var holdingsJsons = new ArrayList<>(holdingsWithInstanceAndItems.values());
+      var conversions = convertInParallel(holdingsJsons, jsonObject -> mapToMarc(jsonObject, rules, referenceDataWrapper));
+      for (int i = 0; i < holdingsJsons.size(); i++) {
+        var conversion = conversions.get(i);
+        if (!conversion.isFailed()) {
+          marcRecords.add(conversion.getMarc());
+        } else if (conversion.getError() instanceof MarcException e) {
+          handleMarcException(holdingsJsons.get(i), result, e, jobExecutionId);
+        } else {
+          ExceptionUtils.rethrow(conversion.getError());
         }
       }
     }
@@ -299,7 +306,7 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
 
   private void fillOutFromCentralTenant(Map<UUID, JSONObject> holdingsWithInstanceAndItems, UUID jobExecutionId, String centralTenantId, List<String> marcRecords,
                                         GeneratedMarcResult result, List<Rule> rules) {
-    var idsTenant = getHoldingIdsTenant(holdingsWithInstanceAndItems.keySet(), centralTenantId);
+    var idsTenant = getHoldingIdsTenant(holdingsWithInstanceAndItems.keySet(), centralTenantId, jobExecutionId);
     log.info("idsTenant: {}", idsTenant);
     for (Map.Entry<UUID, JSONObject> uuidJson : holdingsWithInstanceAndItems.entrySet()) {
       log.info("uuidJson: {}, {}", uuidJson, idsTenant.get(uuidJson.getKey()));
@@ -327,7 +334,7 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
 
   private String mapToMarc(JSONObject jsonObject, List<Rule> rules, ReferenceDataWrapper referenceDataWrapper) {
     rules = ruleHandler.preHandle(jsonObject, rules);
-    EntityReader entityReader = new JPathSyntaxEntityReader(jsonObject.toJSONString());
+    EntityReader entityReader = createEntityReader(jsonObject);
     RecordWriter recordWriter = new MarcRecordWriter();
     return ruleProcessor.process(entityReader, recordWriter, referenceDataWrapper, rules, (translationException -> {
       var holdingsArray = (JSONArray) jsonObject.get(HOLDINGS_KEY);
@@ -336,8 +343,18 @@ public class HoldingsExportStrategy extends AbstractExportStrategy {
     }));
   }
 
-  private void addItemsToHolding(JSONObject holdingJson, UUID holdingId) {
-    var items = itemEntityRepository.findByHoldingsRecordIdIs(holdingId);
+  private Map<UUID, List<ItemEntity>> getItemsByHoldingId(List<HoldingsRecordEntity> holdings) {
+    if (holdings.isEmpty()) {
+      return Map.of();
+    }
+    var holdingsIds = holdings.stream().map(HoldingsRecordEntity::getId).collect(Collectors.toSet());
+    var itemsByHoldingId = itemEntityRepository.findByHoldingsRecordIdIn(holdingsIds).stream()
+      .collect(Collectors.groupingBy(ItemEntity::getHoldingsRecordId));
+    entityManager.clear();
+    return itemsByHoldingId;
+  }
+
+  private void addItemsToHolding(JSONObject holdingJson, List<ItemEntity> items) {
     var itemJsonArray = new JSONArray();
     items.forEach(itemEntity -> {
       var itemJsonOpt = getAsJsonObject(itemEntity.getJsonb());
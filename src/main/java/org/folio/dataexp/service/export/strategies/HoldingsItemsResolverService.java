@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
+import org.apache.commons.collections4.ListUtils;
 import org.folio.dataexp.client.SearchConsortiumHoldings;
 import org.folio.dataexp.domain.dto.ConsortiumHolding;
 import org.folio.dataexp.domain.dto.MappingProfile;
@@ -22,6 +23,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -37,6 +39,8 @@ import static org.folio.dataexp.util.ErrorCode.ERROR_MESSAGE_NO_AFFILIATION;
 @Service
 @AllArgsConstructor
 public class HoldingsItemsResolverService {
+  private static final int ITEMS_QUERY_CHUNK_SIZE = 5000;
+
   private final HoldingsRecordEntityRepository holdingsRecordEntityRepository;
   private final HoldingsRecordEntityTenantRepository holdingsRecordEntityTenantRepository;
   private final ItemEntityTenantRepository itemEntityTenantRepository;
@@ -60,6 +64,32 @@ public class HoldingsItemsResolverService {
     }
   }
 
+  /**
+   * Batch version of {@link #retrieveHoldingsAndItemsByInstanceId}. For the local tenant the holdings of all the instances
+   * are loaded with one query, their items with one query per {@value #ITEMS_QUERY_CHUNK_SIZE} holdings,
+   * and both are attached to the instances in memory.
+   *
+   * @param instancesById json objects to update with holdings and items, by instance id
+   * @param hridsById     hrids of the instances, by instance id
+   */
+  public void retrieveHoldingsAndItemsByInstanceIds(Map<UUID, JSONObject> instancesById, Map<UUID, String> hridsById,
+                                                    MappingProfile mappingProfile, UUID jobExecutionId) {
+    if (instancesById.isEmpty() || !isNeedUpdateWithHoldingsOrItems(mappingProfile)) {
+      return;
+    }
+    if (consortiaService.isCurrentTenantCentralTenant(folioExecutionContext.getTenantId())) {
+      instancesById.forEach((instanceId, instance) -> retrieveHoldingsAndItemsByInstanceIdForCentralTenant(instance, instanceId,
+        hridsById.get(instanceId), mappingProfile, jobExecutionId));
+      return;
+    }
+    var holdingsEntities = holdingsRecordEntityRepository.findByInstanceIdIn(instancesById.keySet());
+    entityManager.clear();
+    var holdingsByInstanceId = holdingsEntities.stream().collect(Collectors.groupingBy(HoldingsRecordEntity::getInstanceId));
+    var itemsByHoldingId = getItemsByHoldingId(holdingsEntities, mappingProfile, folioExecutionContext.getTenantId());
+    instancesById.forEach((instanceId, instance) -> addHoldingsAndItems(instance, holdingsByInstanceId.getOrDefault(instanceId, List.of()),
+      itemsByHoldingId, hridsById.get(instanceId)));
+  }
+
   private void retrieveHoldingsAndItemsByInstanceIdForLocalTenant(JSONObject instance, UUID instanceId, String instanceHrid, MappingProfile mappingProfile) {
     var holdingsEntities = holdingsRecordEntityRepository.findByInstanceIdIs(instanceId);
     entityManager.clear();
@@ -96,14 +126,30 @@ public class HoldingsItemsResolverService {
     if (holdingsEntities.isEmpty()) {
       return;
     }
-    HashMap<UUID, List<ItemEntity>> itemsByHoldingId = new HashMap<>();
-    if (mappingProfile.getRecordTypes().contains(RecordTypes.ITEM)) {
-      var ids = holdingsEntities.stream().map(HoldingsRecordEntity::getId).collect(Collectors.toSet());
-      itemsByHoldingId  = itemEntityTenantRepository.findByHoldingsRecordIdIn(tenant, ids)
-        .stream().collect(Collectors.groupingBy(ItemEntity::getHoldingsRecordId,
-          HashMap::new, Collectors.mapping(itemEntity -> itemEntity, Collectors.toList())));
+    addHoldingsAndItems(jsonToUpdateWithHoldingsAndItems, holdingsEntities, getItemsByHoldingId(holdingsEntities, mappingProfile, tenant),
+      instanceHrid);
+  }
+
+  private Map<UUID, List<ItemEntity>> getItemsByHoldingId(List<HoldingsRecordEntity> holdingsEntities, MappingProfile mappingProfile,
+                                                          String tenant) {
+    Map<UUID, List<ItemEntity>> itemsByHoldingId = new HashMap<>();
+    if (holdingsEntities.isEmpty() || !mappingProfile.getRecordTypes().contains(RecordTypes.ITEM)) {
+      return itemsByHoldingId;
+    }
+    var ids = holdingsEntities.stream().map(HoldingsRecordEntity::getId).toList();
+    for (var idsChunk : ListUtils.partition(ids, ITEMS_QUERY_CHUNK_SIZE)) {
+      itemEntityTenantRepository.findByHoldingsRecordIdIn(tenant, new HashSet<>(idsChunk))
+        .forEach(itemEntity -> itemsByHoldingId.computeIfAbsent(itemEntity.getHoldingsRecordId(), id -> new ArrayList<>()).add(itemEntity));
       entityManager.clear();
     }
+    return itemsByHoldingId;
+  }
+
+  private void addHoldingsAndItems(JSONObject jsonToUpdateWithHoldingsAndItems, List<HoldingsRecordEntity> holdingsEntities,
+                                   Map<UUID, List<ItemEntity>> itemsByHoldingId, String instanceHrid) {
+    if (holdingsEntities.isEmpty()) {
+      return;
+    }
     var holdingsJsonArray = new JSONArray();
     for (var holdingsEntity : holdingsEntities) {
       var itemJsonArray = new JSONArray();
@@ -21,12 +21,13 @@ import org.folio.dataexp.repository.MarcRecordEntityRepository;
 import org.folio.dataexp.service.ConsortiaService;
 import org.folio.dataexp.service.export.LocalStorageWriter;
 import org.folio.dataexp.service.export.strategies.handlers.RuleHandler;
+import org.folio.dataexp.service.export.strategies.pagination.KeysetPageReader;
+import org.folio.dataexp.service.export.strategies.pagination.PageReader;
 import org.folio.dataexp.service.logs.ErrorLogService;
 import org.folio.dataexp.service.transformationfields.ReferenceDataProvider;
 import org.folio.dataexp.util.ErrorCode;
 import org.folio.processor.RuleProcessor;
 import org.folio.spring.FolioExecutionContext;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
@@ -40,6 +41,12 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.folio.dataexp.service.export.Constants.DELETED_KEY;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.FOLIO_INSTANCE_ALL_NON_DELETED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.FOLIO_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_INSTANCE_ALL_NON_DELETED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_INSTANCE_ALL_NON_DELETED_CUSTOM_PROFILE;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED;
+import static org.folio.dataexp.service.export.strategies.pagination.ExportAllCursorReaderFactory.MARC_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED_CUSTOM_PROFILE;
 
 @Log4j2
 @Component
@@ -158,40 +165,28 @@ public class InstancesExportAllStrategy extends InstancesExportStrategy {
 
   private void processFolioSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile,
       ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var folioSlice = nextFolioSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-    entityManager.clear();
-    processFolioInstances(exportFilesEntity, exportStatistic, mappingProfile, folioSlice.getContent(), localStorageWriter);
-    log.info("Slice size for instances export all folio: {}", folioSlice.getContent().size());
-    while (folioSlice.hasNext()) {
-      folioSlice = nextFolioSlice(exportFilesEntity, exportRequest, folioSlice.nextPageable());
-      entityManager.clear();
-      processFolioInstances(exportFilesEntity, exportStatistic, mappingProfile, folioSlice.getContent(), localStorageWriter);
-    }
+    processPages(folioInstancesReader(exportFilesEntity, exportRequest), folioInstances -> {
+      clearPersistenceContext();
+      processFolioInstances(exportFilesEntity, exportStatistic, mappingProfile, folioInstances, localStorageWriter);
+      log.info("Slice size for instances export all folio: {}", folioInstances.size());
+    });
   }
 
   private void processMarcSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic,
       MappingProfile mappingProfile, ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var marcSlice = nextMarcSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-    entityManager.clear();
-    processMarcInstances(exportFilesEntity, exportStatistic, mappingProfile, marcSlice.getContent(), localStorageWriter);
-    while (marcSlice.hasNext()) {
-      marcSlice = nextMarcSlice(exportFilesEntity, exportRequest, marcSlice.nextPageable());
-      entityManager.clear();
-      processMarcInstances(exportFilesEntity, exportStatistic, mappingProfile, marcSlice.getContent(), localStorageWriter);
-    }
+    processPages(marcRecordsReader(exportFilesEntity, exportRequest), marcRecords -> {
+      clearPersistenceContext();
+      processMarcInstances(exportFilesEntity, exportStatistic, mappingProfile, marcRecords, localStorageWriter);
+    });
   }
 
   private void processMarcInstanceSlices(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic,
       MappingProfile mappingProfile, ExportRequest exportRequest, LocalStorageWriter localStorageWriter) {
-    var marcInstanceSlice = nextMarcInstanceSlice(exportFilesEntity, exportRequest, PageRequest.of(0, exportIdsBatch));
-    entityManager.clear();
-    processFolioInstances(exportFilesEntity, exportStatistic, mappingProfile, marcInstanceSlice.getContent(), localStorageWriter);
-    log.info("Slice size for marc instances export all marc: {}", marcInstanceSlice.getContent().size());
-    while (marcInstanceSlice.hasNext()) {
-      marcInstanceSlice = nextMarcInstanceSlice(exportFilesEntity, exportRequest, marcInstanceSlice.nextPageable());
-      entityManager.clear();
-      processFolioInstances(exportFilesEntity, exportStatistic, mappingProfile, marcInstanceSlice.getContent(), localStorageWriter);
-    }
+    processPages(marcInstancesReader(exportFilesEntity, exportRequest), marcInstances -> {
+      clearPersistenceContext();
+      processFolioInstances(exportFilesEntity, exportStatistic, mappingProfile, marcInstances, localStorageWriter);
+      log.info("Slice size for marc instances export all marc: {}", marcInstances.size());
+    });
   }
 
   private void processMarcInstances(JobExecutionExportFilesEntity exportFilesEntity, ExportStrategyStatistic exportStatistic, MappingProfile mappingProfile,
@@ -208,6 +203,36 @@ public class InstancesExportAllStrategy extends InstancesExportStrategy {
     createAndSaveGeneratedMarc(result, exportStatistic, localStorageWriter);
   }
 
+  private PageReader<InstanceEntity> folioInstancesReader(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    if (cursorRead) {
+      var view = Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery()) ? FOLIO_INSTANCE_ALL_NON_DELETED
+        : FOLIO_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED;
+      return exportAllCursorReaderFactory.instances(view, exportFilesEntity.getFromId(), exportFilesEntity.getToId(), exportIdsBatch);
+    }
+    return new KeysetPageReader<>(pageable -> nextFolioSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> nextFolioPage(exportFilesEntity, exportRequest, lastId, limit), InstanceEntity::getId, exportIdsBatch);
+  }
+
+  private PageReader<MarcRecordEntity> marcRecordsReader(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    if (cursorRead) {
+      var view = Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery()) ? MARC_INSTANCE_ALL_NON_DELETED
+        : MARC_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED;
+      return exportAllCursorReaderFactory.marcRecords(view, exportFilesEntity.getFromId(), exportFilesEntity.getToId(), exportIdsBatch);
+    }
+    return new KeysetPageReader<>(pageable -> nextMarcSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> nextMarcPage(exportFilesEntity, exportRequest, lastId, limit), MarcRecordEntity::getId, exportIdsBatch);
+  }
+
+  private PageReader<InstanceEntity> marcInstancesReader(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
+    if (cursorRead) {
+      var view = Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery()) ? MARC_INSTANCE_ALL_NON_DELETED_CUSTOM_PROFILE
+        : MARC_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED_CUSTOM_PROFILE;
+      return exportAllCursorReaderFactory.instances(view, exportFilesEntity.getFromId(), exportFilesEntity.getToId(), exportIdsBatch);
+    }
+    return new KeysetPageReader<>(pageable -> nextMarcInstanceSlice(exportFilesEntity, exportRequest, pageable),
+        (lastId, limit) -> nextMarcInstancePage(exportFilesEntity, exportRequest, lastId, limit), InstanceEntity::getId, exportIdsBatch);
+  }
+
   private Slice<InstanceEntity> nextFolioSlice(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, Pageable pageble) {
     if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
       return folioInstanceAllRepository.findFolioInstanceAllNonDeleted(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
@@ -235,6 +260,33 @@ public class InstancesExportAllStrategy extends InstancesExportStrategy {
         pageble);
   }
 
+  private List<InstanceEntity> nextFolioPage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
+      return folioInstanceAllRepository.findFolioInstanceAllNonDeletedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+          lastId, limit);
+    }
+    return folioInstanceAllRepository.findFolioInstanceAllNonDeletedNonSuppressedAfter(exportFilesEntity.getFromId(),
+        exportFilesEntity.getToId(), lastId, limit);
+  }
+
+  private List<MarcRecordEntity> nextMarcPage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
+      return marcInstanceAllRepository.findMarcInstanceAllNonDeletedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+          lastId, limit);
+    }
+    return marcInstanceAllRepository.findMarcInstanceAllNonDeletedNonSuppressedAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+        lastId, limit);
+  }
+
+  private List<InstanceEntity> nextMarcInstancePage(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest, UUID lastId, int limit) {
+    if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
+      return folioInstanceAllRepository.findMarcInstanceAllNonDeletedCustomInstanceProfileAfter(exportFilesEntity.getFromId(), exportFilesEntity.getToId(),
+          lastId, limit);
+    }
+    return folioInstanceAllRepository.findMarcInstanceAllNonDeletedNonSuppressedForCustomInstanceProfileAfter(exportFilesEntity.getFromId(),
+        exportFilesEntity.getToId(), lastId, limit);
+  }
+
   private List<InstanceEntity> getFolioDeleted(ExportRequest exportRequest) {
     List<InstanceEntity> result;
     if (Boolean.TRUE.equals(exportRequest.getSuppressedFromDiscovery())) {
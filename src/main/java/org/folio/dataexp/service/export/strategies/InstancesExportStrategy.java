@@ -9,10 +9,13 @@ import static org.folio.dataexp.service.export.Constants.INSTANCE_KEY;
 import static org.folio.dataexp.service.export.Constants.TITLE_KEY;
 import static org.folio.dataexp.util.ErrorCode.ERROR_CONVERTING_TO_JSON_INSTANCE;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import net.minidev.json.JSONObject;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.MappingProfile;
 import org.folio.dataexp.domain.dto.RecordTypes;
@@ -34,17 +37,18 @@ import org.folio.processor.RuleProcessor;
 import org.folio.processor.referencedata.ReferenceDataWrapper;
 import org.folio.processor.rule.Rule;
 import org.folio.reader.EntityReader;
-import org.folio.reader.JPathSyntaxEntityReader;
 import org.folio.writer.RecordWriter;
 import org.folio.writer.impl.MarcRecordWriter;
 import org.marc4j.MarcException;
 import org.marc4j.marc.VariableField;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,6 +63,7 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
 
   protected static final String INSTANCE_MARC_TYPE = "MARC_BIB";
   protected static final String LONG_MARC_RECORD_MESSAGE = "Record is too long to be a valid MARC binary record";
+  private static final Duration DEFAULT_MAPPING_PROFILE_EXPIRATION = Duration.ofSeconds(60);
   private final ConsortiaService consortiaService;
   private final InstanceCentralTenantRepository instanceCentralTenantRepository;
   private final MarcInstanceRecordRepository marcInstanceRecordRepository;
@@ -69,6 +74,9 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
   private final MappingProfileEntityRepository mappingProfileEntityRepository;
   private final InstanceWithHridEntityRepository instanceWithHridEntityRepository;
   private final HoldingsItemsResolverService holdingsItemsResolver;
+  private final Cache<String, MappingProfile> defaultMappingProfilesByTenant = Caffeine.newBuilder()
+    .expireAfterWrite(DEFAULT_MAPPING_PROFILE_EXPIRATION)
+    .build();
 
   protected final MarcRecordEntityRepository marcRecordEntityRepository;
   protected final InstanceEntityRepository instanceEntityRepository;
@@ -112,11 +120,13 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
       errorLogService.saveGeneralError(e.getMessage(), jobExecutionId);
       return generatedMarcResult;
     }
-    for (var jsonObject :  instancesWithHoldingsAndItems) {
-      try {
-        var marc = mapToMarc(jsonObject, rules, referenceData);
-        marcRecords.add(marc);
-      } catch (MarcException e) {
+    var conversions = convertInParallel(instancesWithHoldingsAndItems, jsonObject -> mapToMarc(jsonObject, rules, referenceData));
+    for (int i = 0; i < instancesWithHoldingsAndItems.size(); i++) {
+      var jsonObject = instancesWithHoldingsAndItems.get(i);
+      var conversion = conversions.get(i);
+      if (!conversion.isFailed()) {
+        marcRecords.add(conversion.getMarc());
+      } else if (conversion.getError() instanceof MarcException e) {
         var instanceJson = (JSONObject)jsonObject.get(INSTANCE_KEY);
         log.debug("getGeneratedMarc instanceJson: {}", instanceJson);
         var uuid = instanceJson.getAsString(ID_KEY);
@@ -127,6 +137,8 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
           errorLogService.saveGeneralErrorWithMessageValues(ErrorCode.ERROR_DELETED_TOO_LONG_INSTANCE.getCode(), List.of(uuid), jobExecutionId);
           log.error(String.format(ErrorCode.ERROR_DELETED_TOO_LONG_INSTANCE.getDescription(), uuid));
         }
+      } else {
+        ExceptionUtils.rethrow(conversion.getError());
       }
     }
     generatedMarcResult.setMarcRecords(marcRecords);
@@ -183,7 +195,9 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
   private List<Rule> getRules(MappingProfile mappingProfile) throws TransformationRuleException {
     List<Rule> rules;
     if (mappingProfile.getRecordTypes().contains(RecordTypes.SRS)) {
-      var defaultMappingProfile = mappingProfileEntityRepository.getReferenceById(UUID.fromString(DEFAULT_INSTANCE_MAPPING_PROFILE_ID)).getMappingProfile();
+      // default mapping profile cannot be edited, so it is not re-read for every batch
+      var defaultMappingProfile = defaultMappingProfilesByTenant.get(folioExecutionContext.getTenantId(),
+        tenantId -> mappingProfileEntityRepository.getReferenceById(UUID.fromString(DEFAULT_INSTANCE_MAPPING_PROFILE_ID)).getMappingProfile());
       var copyDefaultMappingProfile = new MappingProfile();
       copyDefaultMappingProfile.setId(defaultMappingProfile.getId());
       copyDefaultMappingProfile.setDefault(defaultMappingProfile.getDefault());
@@ -214,19 +228,24 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
     var instanceHridEntities = instanceWithHridEntityRepository.findByIdIn(externalIds);
     entityManager.clear();
     ReferenceDataWrapper referenceData = getReferenceData();
+    var holdingsAndItemsByInstanceId = new LinkedHashMap<UUID, JSONObject>();
+    var hridsByInstanceId = new HashMap<UUID, String>();
     for (var instanceHridEntity : instanceHridEntities) {
-      var holdingsAndItems = new JSONObject();
-      holdingsItemsResolver.retrieveHoldingsAndItemsByInstanceId(holdingsAndItems, instanceHridEntity.getId(), instanceHridEntity.getHrid(), mappingProfile, jobExecutionId);
-      var marcFields = mapFields(holdingsAndItems, mappingProfile, referenceData);
-      marcFieldsByExternalId.put(instanceHridEntity.getId(), marcFields);
+      holdingsAndItemsByInstanceId.put(instanceHridEntity.getId(), new JSONObject());
+      hridsByInstanceId.put(instanceHridEntity.getId(), instanceHridEntity.getHrid());
+    }
+    holdingsItemsResolver.retrieveHoldingsAndItemsByInstanceIds(holdingsAndItemsByInstanceId, hridsByInstanceId, mappingProfile, jobExecutionId);
+    var rules = ruleFactory.getRules(mappingProfile);
+    for (var entry : holdingsAndItemsByInstanceId.entrySet()) {
+      var marcFields = mapFields(entry.getValue(), rules, referenceData);
+      marcFieldsByExternalId.put(entry.getKey(), marcFields);
     }
     return marcFieldsByExternalId;
   }
 
-  private MarcFields mapFields(JSONObject marcRecord, MappingProfile mappingProfile, ReferenceDataWrapper referenceData) throws TransformationRuleException {
-    var rules = ruleFactory.getRules(mappingProfile);
+  private MarcFields mapFields(JSONObject marcRecord, List<Rule> rules, ReferenceDataWrapper referenceData) {
     var finalRules = ruleHandler.preHandle(marcRecord, rules);
-    EntityReader entityReader = new JPathSyntaxEntityReader(marcRecord.toJSONString());
+    EntityReader entityReader = createEntityReader(marcRecord);
     RecordWriter recordWriter = new MarcRecordWriter();
     var marcHoldingsItemsFieldsResult  = new MarcFields();
     List<VariableField> mappedRecord = ruleProcessor
@@ -266,6 +285,8 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
       }
     }
     var existInstanceIds = new HashSet<UUID>();
+    var localInstancesById = new LinkedHashMap<UUID, JSONObject>();
+    var localInstanceHridsById = new HashMap<UUID, String>();
     for (var instance : copyInstances) {
       existInstanceIds.add(instance.getId());
       var instanceJsonOpt = getAsJsonObject(instance.getJsonb());
@@ -283,11 +304,14 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
       log.debug("getInstancesWithHoldingsAndItems instanceJson: {}", instanceJson);
 
       if (!instancesIdsFromCentral.contains(instance.getId())) {
-        holdingsItemsResolver.retrieveHoldingsAndItemsByInstanceId(instanceWithHoldingsAndItems, instance.getId(), instanceJson.getAsString(HRID_KEY), mappingProfile, generatedMarcResult.getJobExecutionId());
+        localInstancesById.put(instance.getId(), instanceWithHoldingsAndItems);
+        localInstanceHridsById.put(instance.getId(), instanceJson.getAsString(HRID_KEY));
       }
 
       instancesWithHoldingsAndItems.add(instanceWithHoldingsAndItems);
     }
+    holdingsItemsResolver.retrieveHoldingsAndItemsByInstanceIds(localInstancesById, localInstanceHridsById, mappingProfile,
+        generatedMarcResult.getJobExecutionId());
     instancesIds.removeAll(existInstanceIds);
     instancesIds.forEach(
       instanceId -> {
@@ -300,7 +324,7 @@ public class InstancesExportStrategy extends AbstractExportStrategy {
 
   protected String mapToMarc(JSONObject jsonObject, List<Rule> rules, ReferenceDataWrapper referenceDataWrapper) {
     rules = ruleHandler.preHandle(jsonObject, rules);
-    EntityReader entityReader = new JPathSyntaxEntityReader(jsonObject.toJSONString());
+    EntityReader entityReader = createEntityReader(jsonObject);
     RecordWriter recordWriter = new MarcRecordWriter();
     return ruleProcessor.process(entityReader, recordWriter, referenceDataWrapper, rules, (translationException -> {
       var instanceJson = (JSONObject)jsonObject.get(INSTANCE_KEY);
@@ -21,13 +21,22 @@ import java.util.List;
 @Component
 public class JsonToMarcConverter {
 
+  private final MarcJsonStreamEncoder marcJsonStreamEncoder = new MarcJsonStreamEncoder();
+
   public String convertJsonRecordToMarcRecord(String jsonRecord, List<VariableField> additionalFields, MappingProfile mappingProfile) throws IOException {
+    var suppressProcessor = new MarcSuppressProcessor(mappingProfile);
+    if (CollectionUtils.isEmpty(additionalFields) && !suppressProcessor.isSuppressionRequired()) {
+      var marc = marcJsonStreamEncoder.encode(jsonRecord);
+      if (marc != null) {
+        return marc;
+      }
+    }
     var byteArrayInputStream = new ByteArrayInputStream(jsonRecord.getBytes(StandardCharsets.UTF_8));
     var byteArrayOutputStream = new ByteArrayOutputStream();
     try (byteArrayInputStream; byteArrayOutputStream) {
       var marcJsonReader = new MarcJsonReader(byteArrayInputStream);
       var marcStreamWriter = new MarcStreamWriter(byteArrayOutputStream, StandardCharsets.UTF_8.name());
-      writeMarc(marcJsonReader, marcStreamWriter, additionalFields, mappingProfile);
+      writeMarc(marcJsonReader, marcStreamWriter, additionalFields, suppressProcessor);
       return byteArrayOutputStream.toString();
     } catch (IOException e) {
       log.error(e.getMessage());
@@ -35,8 +44,8 @@ public class JsonToMarcConverter {
     }
   }
 
-  private void writeMarc(MarcJsonReader marcJsonReader, MarcStreamWriter marcStreamWriter, List<VariableField> marcFields, MappingProfile mappingProfile) {
-    var suppressProcessor = new MarcSuppressProcessor(mappingProfile);
+  private void writeMarc(MarcJsonReader marcJsonReader, MarcStreamWriter marcStreamWriter, List<VariableField> marcFields,
+                         MarcSuppressProcessor suppressProcessor) {
     try {
       while (marcJsonReader.hasNext()) {
         var marc = marcJsonReader.next();
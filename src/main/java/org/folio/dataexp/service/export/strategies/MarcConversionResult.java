@@ -0,0 +1,34 @@
+package org.folio.dataexp.service.export.strategies;
+
+import lombok.Getter;
+
+/**
+ * Result of converting a single source record to MARC, either the marc itself or the error the conversion failed with.
+ */
+@Getter
+public class MarcConversionResult {
+  private final String marc;
+  private final Exception error;
+
+  private MarcConversionResult(String marc, Exception error) {
+    this.marc = marc;
+    this.error = error;
+  }
+
+  public static <T> MarcConversionResult convert(T source, MarcConversion<T> conversion) {
+    try {
+      return new MarcConversionResult(conversion.convert(source), null);
+    } catch (Exception e) {
+      return new MarcConversionResult(null, e);
+    }
+  }
+
+  public boolean isFailed() {
+    return error != null;
+  }
+
+  @FunctionalInterface
+  public interface MarcConversion<T> {
+    String convert(T source) throws Exception;
+  }
+}
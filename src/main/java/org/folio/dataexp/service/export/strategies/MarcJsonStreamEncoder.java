@@ -0,0 +1,342 @@
+package org.folio.dataexp.service.export.strategies;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes SRS MARC-JSON to ISO 2709 in a single pass of a streaming json parser, without building the marc4j record graph:
+ * the fields are written straight into thread-local buffers which are reused between the records.
+ * The output is the same as the one of {@link org.marc4j.MarcJsonReader} and {@link org.marc4j.MarcStreamWriter}.
+ * Records which marc4j would write differently or reject (invalid leader, control field with data field tag,
+ * repeated 001, oversized record, etc.) are not encoded, {@code null} is returned for them to fall back to marc4j.
+ */
+@Log4j2
+class MarcJsonStreamEncoder {
+
+  private static final int LEADER_LENGTH = 24;
+  private static final int DIRECTORY_ENTRY_LENGTH = 12;
+  private static final int MAX_FIELD_LENGTH = 9999;
+  private static final int MAX_RECORD_LENGTH = 99999;
+  private static final byte FIELD_TERMINATOR = 0x1E;
+  private static final byte RECORD_TERMINATOR = 0x1D;
+  private static final byte SUBFIELD_DELIMITER = 0x1F;
+  private static final String LEADER_KEY = "leader";
+  private static final String FIELDS_KEY = "fields";
+  private static final String IND1_KEY = "ind1";
+  private static final String IND2_KEY = "ind2";
+  private static final String SUBFIELDS_KEY = "subfields";
+  private static final String CONTROL_NUMBER_TAG = "001";
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private final ThreadLocal<EncodingBuffers> encodingBuffers = ThreadLocal.withInitial(EncodingBuffers::new);
+
+  /**
+   * Encodes the record.
+   *
+   * @param jsonRecord MARC-JSON record
+   * @return ISO 2709 record or {@code null} if the record should be converted by marc4j
+   */
+  String encode(String jsonRecord) throws IOException {
+    var buffers = encodingBuffers.get();
+    buffers.reset();
+    try (var parser = jsonFactory.createParser(jsonRecord)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      String leader = null;
+      var hasFields = false;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var key = parser.getCurrentName();
+        var token = parser.nextToken();
+        if (LEADER_KEY.equals(key) && token == JsonToken.VALUE_STRING && leader == null) {
+          leader = parser.getText();
+        } else if (FIELDS_KEY.equals(key) && token == JsonToken.START_ARRAY && !hasFields) {
+          if (!readFields(parser, buffers)) {
+            return null;
+          }
+          hasFields = true;
+        } else {
+          return null;
+        }
+      }
+      if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null || !hasFields || !isSupportedLeader(leader)) {
+        return null;
+      }
+      return buffers.assemble(leader);
+    } catch (JsonProcessingException e) {
+      log.debug("encode:: record is left to marc4j: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean readFields(JsonParser parser, EncodingBuffers buffers) throws IOException {
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      if (parser.nextToken() != JsonToken.FIELD_NAME) {
+        return false;
+      }
+      var tag = parser.getCurrentName();
+      if (!isAsciiTag(tag)) {
+        return false;
+      }
+      var token = parser.nextToken();
+      var written = false;
+      if (token == JsonToken.VALUE_STRING && isControlTag(tag)) {
+        written = writeControlField(parser, tag, buffers);
+      } else if (token == JsonToken.START_OBJECT && !isControlTag(tag)) {
+        written = writeDataField(parser, tag, buffers);
+      }
+      if (!written || parser.nextToken() != JsonToken.END_OBJECT || buffers.dataSize() > MAX_RECORD_LENGTH) {
+        return false;
+      }
+    }
+    return parser.currentToken() == JsonToken.END_ARRAY;
+  }
+
+  private boolean writeControlField(JsonParser parser, String tag, EncodingBuffers buffers) throws IOException {
+    // marc4j keeps a single 001 as the first control field, so any other order is left to it
+    if (CONTROL_NUMBER_TAG.equals(tag) && buffers.controlFields.count > 0) {
+      return false;
+    }
+    var data = buffers.controlFields.data;
+    var start = data.size;
+    data.writeUtf8(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    data.write(FIELD_TERMINATOR);
+    return buffers.controlFields.addEntry(tag, data.size - start);
+  }
+
+  private boolean writeDataField(JsonParser parser, String tag, EncodingBuffers buffers) throws IOException {
+    var data = buffers.dataFields.data;
+    var start = data.size;
+    // indicators may follow the subfields in json, so they are reserved and set once read
+    data.write((byte) 0);
+    data.write((byte) 0);
+    var ind1 = -1;
+    var ind2 = -1;
+    var hasSubfields = false;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var key = parser.getCurrentName();
+      var token = parser.nextToken();
+      if (IND1_KEY.equals(key) && ind1 < 0) {
+        ind1 = readIndicator(parser, token);
+      } else if (IND2_KEY.equals(key) && ind2 < 0) {
+        ind2 = readIndicator(parser, token);
+      } else if (SUBFIELDS_KEY.equals(key) && token == JsonToken.START_ARRAY && !hasSubfields) {
+        if (!writeSubfields(parser, data)) {
+          return false;
+        }
+        hasSubfields = true;
+      } else {
+        return false;
+      }
+    }
+    if (ind1 < 0 || ind2 < 0 || !hasSubfields) {
+      return false;
+    }
+    data.bytes[start] = (byte) ind1;
+    data.bytes[start + 1] = (byte) ind2;
+    data.write(FIELD_TERMINATOR);
+    return buffers.dataFields.addEntry(tag, data.size - start);
+  }
+
+  private int readIndicator(JsonParser parser, JsonToken token) throws IOException {
+    if (token != JsonToken.VALUE_STRING || parser.getTextLength() != 1) {
+      return -1;
+    }
+    var indicator = parser.getTextCharacters()[parser.getTextOffset()];
+    return indicator < 0x80 ? indicator : -1;
+  }
+
+  private boolean writeSubfields(JsonParser parser, ByteArray data) throws IOException {
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      if (parser.nextToken() != JsonToken.FIELD_NAME) {
+        return false;
+      }
+      var code = parser.getCurrentName();
+      if (code.length() != 1 || code.charAt(0) >= 0x80 || parser.nextToken() != JsonToken.VALUE_STRING) {
+        return false;
+      }
+      data.write(SUBFIELD_DELIMITER);
+      data.write((byte) code.charAt(0));
+      data.writeUtf8(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+      if (parser.nextToken() != JsonToken.END_OBJECT) {
+        return false;
+      }
+    }
+    return parser.currentToken() == JsonToken.END_ARRAY;
+  }
+
+  private static boolean isAsciiTag(String tag) {
+    return tag.length() == 3 && tag.chars().allMatch(c -> c > 0x20 && c < 0x7F);
+  }
+
+  private static boolean isControlTag(String tag) {
+    return tag.charAt(0) == '0' && tag.charAt(1) == '0' && Character.isDigit(tag.charAt(2));
+  }
+
+  private static boolean isSupportedLeader(String leader) {
+    if (leader == null || leader.length() != LEADER_LENGTH || !leader.chars().allMatch(c -> c >= 0x20 && c < 0x7F)) {
+      return false;
+    }
+    // record length and base address are recalculated, indicator count and subfield code length are written as digits
+    return isDigits(leader, 0, 5) && isDigits(leader, 10, 12) && isDigits(leader, 12, 17) && leader.charAt(9) == 'a';
+  }
+
+  private static boolean isDigits(String value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!Character.isDigit(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class EncodingBuffers {
+    private final Fields controlFields = new Fields();
+    private final Fields dataFields = new Fields();
+    private final ByteArray record = new ByteArray();
+
+    private void reset() {
+      controlFields.reset();
+      dataFields.reset();
+      record.size = 0;
+    }
+
+    private int dataSize() {
+      return controlFields.data.size + dataFields.data.size;
+    }
+
+    private String assemble(String leader) {
+      var baseAddress = LEADER_LENGTH + (controlFields.count + dataFields.count) * DIRECTORY_ENTRY_LENGTH + 1;
+      var recordLength = baseAddress + dataSize() + 1;
+      if (recordLength > MAX_RECORD_LENGTH) {
+        return null;
+      }
+      record.writeNumber(recordLength, 5);
+      record.writeAscii(leader, 5, 12);
+      record.writeNumber(baseAddress, 5);
+      record.writeAscii(leader, 17, LEADER_LENGTH);
+      var offset = controlFields.writeDirectory(record, 0);
+      dataFields.writeDirectory(record, offset);
+      record.write(FIELD_TERMINATOR);
+      record.write(controlFields.data);
+      record.write(dataFields.data);
+      record.write(RECORD_TERMINATOR);
+      return new String(record.bytes, 0, record.size, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static final class Fields {
+    private final ByteArray data = new ByteArray();
+    private byte[] tags = new byte[64 * 3];
+    private int[] lengths = new int[64];
+    private int count;
+
+    private void reset() {
+      data.size = 0;
+      count = 0;
+    }
+
+    private boolean addEntry(String tag, int length) {
+      if (length > MAX_FIELD_LENGTH) {
+        return false;
+      }
+      if (count == lengths.length) {
+        lengths = Arrays.copyOf(lengths, count * 2);
+        tags = Arrays.copyOf(tags, count * 2 * 3);
+      }
+      for (int i = 0; i < 3; i++) {
+        tags[count * 3 + i] = (byte) tag.charAt(i);
+      }
+      lengths[count++] = length;
+      return true;
+    }
+
+    private int writeDirectory(ByteArray directory, int offset) {
+      for (int i = 0; i < count; i++) {
+        directory.write(tags, i * 3, 3);
+        directory.writeNumber(lengths[i], 4);
+        directory.writeNumber(offset, 5);
+        offset += lengths[i];
+      }
+      return offset;
+    }
+  }
+
+  private static final class ByteArray {
+    private byte[] bytes = new byte[8192];
+    private int size;
+
+    private void write(byte value) {
+      ensureCapacity(1);
+      bytes[size++] = value;
+    }
+
+    private void write(byte[] source, int offset, int length) {
+      ensureCapacity(length);
+      System.arraycopy(source, offset, bytes, size, length);
+      size += length;
+    }
+
+    private void write(ByteArray source) {
+      write(source.bytes, 0, source.size);
+    }
+
+    private void writeAscii(String value, int from, int to) {
+      ensureCapacity(to - from);
+      for (int i = from; i < to; i++) {
+        bytes[size++] = (byte) value.charAt(i);
+      }
+    }
+
+    private void writeNumber(int value, int digits) {
+      ensureCapacity(digits);
+      for (int i = digits - 1; i >= 0; i--) {
+        bytes[size + i] = (byte) ('0' + value % 10);
+        value /= 10;
+      }
+      size += digits;
+    }
+
+    /**
+     * Writes the characters as UTF-8, unpaired surrogates are replaced with '?' as {@link String#getBytes} does.
+     */
+    private void writeUtf8(char[] chars, int offset, int length) {
+      ensureCapacity(length * 3);
+      var end = offset + length;
+      for (int i = offset; i < end; i++) {
+        char c = chars[i];
+        if (c < 0x80) {
+          bytes[size++] = (byte) c;
+        } else if (c < 0x800) {
+          bytes[size++] = (byte) (0xC0 | (c >> 6));
+          bytes[size++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+          int codePoint = Character.toCodePoint(c, chars[++i]);
+          bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+          bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+          bytes[size++] = '?';
+        } else {
+          bytes[size++] = (byte) (0xE0 | (c >> 12));
+          bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+          bytes[size++] = (byte) (0x80 | (c & 0x3F));
+        }
+      }
+    }
+
+    private void ensureCapacity(int length) {
+      if (size + length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+      }
+    }
+  }
+}
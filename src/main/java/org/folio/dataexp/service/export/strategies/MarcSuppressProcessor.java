@@ -44,6 +44,10 @@ public class MarcSuppressProcessor {
     return rec;
   }
 
+  public boolean isSuppressionRequired() {
+    return suppress999ff || isNotEmpty(fieldsToSuppress);
+  }
+
   private boolean shouldSuppress999ff(DataField dataField) {
     return "999".equals(dataField.getTag()) && 'f' == dataField.getIndicator1() && 'f' == dataField.getIndicator2();
   }
@@ -8,6 +8,8 @@ import static org.apache.commons.lang3.ObjectUtils.isNotEmpty;
 import static org.folio.dataexp.service.export.Constants.DEFAULT_INSTANCE_MAPPING_PROFILE_ID;
 import static org.folio.dataexp.util.Constants.COMMA;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableMap;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
@@ -30,6 +32,7 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -44,6 +47,7 @@ public class RuleFactory {
   private static final String DEFAULT_BUILDER_KEY = "default.builder";
   private static final String TRANSFORMATION_BUILDER_KEY = "transformation.builder";
   private static final String INSTANCE_ELECTRONIC_ACCESS_ID = "instance.electronic.access";
+  private static final int RULES_CACHE_MAX_SIZE = 100;
 
   private static final Map<String, RuleBuilder> ruleBuilders = ImmutableMap.<String, RuleBuilder>builder()
     .put(INSTANCE_ELECTRONIC_ACCESS_ID, new CombinedRuleBuilder(3, INSTANCE_ELECTRONIC_ACCESS_ID))
@@ -53,6 +57,9 @@ public class RuleFactory {
 
   private final List<Rule> defaultRulesFromConfigFile;
   private final List<Rule> defaultHoldingsRulesFromConfigFile;
+  private final Cache<RulesCacheKey, List<Rule>> rulesCache = Caffeine.newBuilder()
+    .maximumSize(RULES_CACHE_MAX_SIZE)
+    .build();
 
   @Autowired
   private ErrorLogService errorLogService;
@@ -63,7 +70,33 @@ public class RuleFactory {
     this.defaultHoldingsRulesFromConfigFile = defaultHoldingsRulesFromConfigFile;
   }
 
+  /**
+   * Returns the rules of the mapping profile. The built rules are cached by the content of the mapping profile
+   * and shared between the export threads, so the returned list is immutable.
+   *
+   * @param mappingProfile mapping profile
+   * @return immutable list of rules
+   */
   public List<Rule> getRules(MappingProfile mappingProfile) throws TransformationRuleException {
+    var key = new RulesCacheKey(mappingProfile);
+    var rules = rulesCache.getIfPresent(key);
+    if (rules == null) {
+      rules = List.copyOf(createRules(mappingProfile));
+      rulesCache.put(key, rules);
+    }
+    return rules;
+  }
+
+  /**
+   * Evicts the cached rules of the mapping profile, to be called once the mapping profile is updated or deleted.
+   *
+   * @param mappingProfileId id of the mapping profile
+   */
+  public void invalidateRules(UUID mappingProfileId) {
+    rulesCache.asMap().keySet().removeIf(key -> Objects.equals(key.mappingProfileId, mappingProfileId));
+  }
+
+  private List<Rule> createRules(MappingProfile mappingProfile) throws TransformationRuleException {
     var rules = buildRules(mappingProfile);
     if (shouldSuppress999ff(mappingProfile)) {
       log.info("Suppressing 999ff");
@@ -213,4 +246,37 @@ public class RuleFactory {
     return create(mappingProfile, combinedDefaultRules, false);
   }
 
+  private static final class RulesCacheKey {
+    private final UUID mappingProfileId;
+    private final List<RecordTypes> recordTypes;
+    private final List<Transformations> transformations;
+    private final String fieldsSuppression;
+    private final Boolean suppress999ff;
+
+    private RulesCacheKey(MappingProfile mappingProfile) {
+      this.mappingProfileId = mappingProfile.getId();
+      this.recordTypes = mappingProfile.getRecordTypes() == null ? null : new ArrayList<>(mappingProfile.getRecordTypes());
+      this.transformations = mappingProfile.getTransformations() == null ? null : new ArrayList<>(mappingProfile.getTransformations());
+      this.fieldsSuppression = mappingProfile.getFieldsSuppression();
+      this.suppress999ff = mappingProfile.getSuppress999ff();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RulesCacheKey that)) {
+        return false;
+      }
+      return Objects.equals(mappingProfileId, that.mappingProfileId) && Objects.equals(recordTypes, that.recordTypes)
+        && Objects.equals(transformations, that.transformations) && Objects.equals(fieldsSuppression, that.fieldsSuppression)
+        && Objects.equals(suppress999ff, that.suppress999ff);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mappingProfileId, recordTypes, transformations, fieldsSuppression, suppress999ff);
+    }
+  }
 }
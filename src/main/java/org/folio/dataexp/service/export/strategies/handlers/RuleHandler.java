@@ -1,5 +1,7 @@
 package org.folio.dataexp.service.export.strategies.handlers;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import org.folio.processor.rule.DataSource;
@@ -7,7 +9,6 @@ import org.folio.processor.rule.Rule;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,12 +18,22 @@ import java.util.List;
 @Component
 public class RuleHandler {
   private static final String HOLDINGS_KEY = "holdings";
+  private static final long MAX_EXPANDED_RULES_PER_RULE_LIST = 100_000;
+
+  /**
+   * Expanded rules by number of holdings, memoized per original rules list. The original lists are compared by identity
+   * and held weakly, so the memoized rules are dropped together with the rules they were expanded from.
+   */
+  private final Cache<List<Rule>, Cache<Integer, List<Rule>>> expandedRulesByRules = Caffeine.newBuilder()
+    .weakKeys()
+    .build();
 
   /**
    * The method adds new rules to the incoming original rules.
    * This method turns rules for items from the starred version "$.holdings[*]..."
    * to the indexed version "$.holdings[0]..." , "$.holdings[1]...", ...
-   * and adds data source with sub-field '3' for each of newly created indexed rules
+   * and adds data source with sub-field '3' for each of newly created indexed rules.
+   * The final rules are immutable and shared by all records having the same number of holdings.
    *
    * @param instance      json object contains instances, holdings and items
    * @param originalRules original mapping rules
@@ -30,9 +41,17 @@ public class RuleHandler {
    */
   public List<Rule> preHandle(JSONObject instance, List<Rule> originalRules) {
     if (!instance.containsKey(HOLDINGS_KEY)) {
-      return Collections.synchronizedList(originalRules);
+      return originalRules;
     }
     int numberOfHoldings = ((JSONArray)instance.get(HOLDINGS_KEY)).size();
+    return expandedRulesByRules.get(originalRules, rules -> Caffeine.newBuilder()
+        .maximumWeight(MAX_EXPANDED_RULES_PER_RULE_LIST)
+        .weigher((Integer holdingsCount, List<Rule> expandedRules) -> expandedRules.size())
+        .build())
+      .get(numberOfHoldings, holdingsCount -> expandRules(originalRules, holdingsCount));
+  }
+
+  private List<Rule> expandRules(List<Rule> originalRules, int numberOfHoldings) {
     List<Rule> starredRules = new ArrayList<>();
     List<Rule> indexedRules = new ArrayList<>();
     for (Rule originRule : originalRules) {
@@ -46,7 +65,7 @@ public class RuleHandler {
       }
     }
     starredRules.addAll(indexedRules);
-    return Collections.synchronizedList(starredRules);
+    return List.copyOf(starredRules);
   }
 
   /**
@@ -0,0 +1,97 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import lombok.extern.log4j.Log4j2;
+import org.folio.dataexp.exception.export.DataExportException;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page reader over one forward-only server-side cursor: the query is executed once per slice and the rows are fetched
+ * {@code pageSize} at a time, so there is neither OFFSET nor repeated query planning between the pages.
+ * The cursor is opened on the first read, in the thread and tenant context of the reader, and is held until close.
+ *
+ * @param <T> type of the records
+ */
+@Log4j2
+public class CursorPageReader<T> implements PageReader<T> {
+
+  private final DataSource dataSource;
+  private final String sql;
+  private final Object[] params;
+  private final RowMapper<T> rowMapper;
+  private final int pageSize;
+  private Connection connection;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+  private boolean exhausted;
+  private int rowNum;
+
+  public CursorPageReader(DataSource dataSource, String sql, RowMapper<T> rowMapper, int pageSize, Object... params) {
+    this.dataSource = dataSource;
+    this.sql = sql;
+    this.rowMapper = rowMapper;
+    this.pageSize = pageSize;
+    this.params = params;
+  }
+
+  @Override
+  public List<T> readNext() {
+    if (exhausted) {
+      return null;
+    }
+    try {
+      if (resultSet == null) {
+        open();
+      }
+      var page = new ArrayList<T>(pageSize);
+      while (page.size() < pageSize && resultSet.next()) {
+        page.add(rowMapper.mapRow(resultSet, rowNum++));
+      }
+      if (page.size() < pageSize) {
+        exhausted = true;
+        if (page.isEmpty() && rowNum > 0) {
+          return null;
+        }
+      }
+      return page;
+    } catch (SQLException e) {
+      exhausted = true;
+      log.error("readNext:: error reading cursor: {}", e.getMessage());
+      throw new DataExportException(e.getMessage());
+    }
+  }
+
+  @Override
+  public void close() {
+    if (connection == null) {
+      return;
+    }
+    try (var conn = connection; var stmt = statement; var rs = resultSet) {
+      conn.rollback();
+      conn.setAutoCommit(true);
+    } catch (SQLException e) {
+      log.warn("close:: error closing cursor: {}", e.getMessage());
+    } finally {
+      connection = null;
+    }
+  }
+
+  private void open() throws SQLException {
+    connection = dataSource.getConnection();
+    // PostgreSQL JDBC driver uses a server-side cursor only for non-autocommit forward-only statements with fetch size
+    connection.setAutoCommit(false);
+    statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    statement.setFetchSize(pageSize);
+    for (int i = 0; i < params.length; i++) {
+      statement.setObject(i + 1, params[i]);
+    }
+    resultSet = statement.executeQuery();
+  }
+}
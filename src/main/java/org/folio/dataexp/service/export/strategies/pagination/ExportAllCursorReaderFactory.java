@@ -0,0 +1,92 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import lombok.RequiredArgsConstructor;
+import org.folio.dataexp.domain.entity.HoldingsRecordEntity;
+import org.folio.dataexp.domain.entity.InstanceEntity;
+import org.folio.dataexp.domain.entity.MarcRecordEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Creates {@link CursorPageReader}s over the export-all views for a slice, as an alternative to the paged repository queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportAllCursorReaderFactory {
+
+  public static final String FOLIO_INSTANCE_ALL_NON_DELETED = "v_folio_instance_all_non_deleted";
+  public static final String FOLIO_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED = "v_folio_instance_all_non_deleted_non_suppressed";
+  public static final String MARC_INSTANCE_ALL_NON_DELETED_CUSTOM_PROFILE = "v_marc_instance_all_non_deleted_custom_profile";
+  public static final String MARC_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED_CUSTOM_PROFILE =
+    "v_marc_instance_all_non_deleted_non_suppressed_custom_instance_profile";
+  public static final String MARC_INSTANCE_ALL_NON_DELETED = "v_marc_instance_all_non_deleted";
+  public static final String MARC_INSTANCE_ALL_NON_DELETED_NON_SUPPRESSED = "v_marc_instance_all_non_deleted_non_suppressed";
+  public static final String FOLIO_HOLDINGS_ALL_NON_DELETED = "v_folio_holdings_all_non_deleted";
+  public static final String FOLIO_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED = "v_folio_holdings_all_non_deleted_non_suppressed";
+  public static final String MARC_HOLDINGS_ALL_NON_DELETED_CUSTOM_PROFILE = "v_marc_holdings_all_non_deleted_custom_profile";
+  public static final String MARC_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED_CUSTOM_PROFILE =
+    "v_marc_holdings_all_non_deleted_non_suppressed_custom_profile";
+  public static final String MARC_HOLDINGS_ALL_NON_DELETED = "v_marc_holdings_all_non_deleted";
+  public static final String MARC_HOLDINGS_ALL_NON_DELETED_NON_SUPPRESSED = "v_marc_holdings_all_non_deleted_non_suppressed";
+
+  private static final String SELECT_BY_ID_RANGE = "SELECT * FROM %s WHERE id BETWEEN ? AND ? ORDER BY id ASC";
+  private static final String SELECT_BY_EXTERNAL_ID_RANGE = "SELECT * FROM %s WHERE external_id BETWEEN ? AND ? ORDER BY id ASC";
+
+  private static final RowMapper<InstanceEntity> INSTANCE_ROW_MAPPER = (rs, rowNum) -> InstanceEntity.builder()
+    .id(rs.getObject("id", UUID.class))
+    .jsonb(rs.getString("jsonb"))
+    .build();
+
+  private static final RowMapper<HoldingsRecordEntity> HOLDINGS_ROW_MAPPER = (rs, rowNum) -> HoldingsRecordEntity.builder()
+    .id(rs.getObject("id", UUID.class))
+    .jsonb(rs.getString("jsonb"))
+    .instanceId(rs.getObject("instance_id", UUID.class))
+    .build();
+
+  private static final RowMapper<MarcRecordEntity> MARC_RECORD_ROW_MAPPER = (rs, rowNum) -> MarcRecordEntity.builder()
+    .id(rs.getObject("id", UUID.class))
+    .externalId(rs.getObject("external_id", UUID.class))
+    .content(rs.getString("content"))
+    .recordType(rs.getString("record_type"))
+    .state(rs.getString("state"))
+    .leaderRecordStatus(getCharacter(rs, "leader_record_status"))
+    .suppressDiscovery(rs.getObject("suppress_discovery", Boolean.class))
+    .generation(rs.getObject("generation", Integer.class))
+    .build();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Reads instances of the given view having id within the slice.
+   */
+  public PageReader<InstanceEntity> instances(String view, UUID fromId, UUID toId, int pageSize) {
+    return new CursorPageReader<>(jdbcTemplate.getDataSource(), String.format(SELECT_BY_ID_RANGE, view), INSTANCE_ROW_MAPPER,
+      pageSize, fromId, toId);
+  }
+
+  /**
+   * Reads holdings of the given view having id within the slice.
+   */
+  public PageReader<HoldingsRecordEntity> holdings(String view, UUID fromId, UUID toId, int pageSize) {
+    return new CursorPageReader<>(jdbcTemplate.getDataSource(), String.format(SELECT_BY_ID_RANGE, view), HOLDINGS_ROW_MAPPER,
+      pageSize, fromId, toId);
+  }
+
+  /**
+   * Reads marc records of the given view having external id within the slice.
+   */
+  public PageReader<MarcRecordEntity> marcRecords(String view, UUID fromId, UUID toId, int pageSize) {
+    return new CursorPageReader<>(jdbcTemplate.getDataSource(), String.format(SELECT_BY_EXTERNAL_ID_RANGE, view),
+      MARC_RECORD_ROW_MAPPER, pageSize, fromId, toId);
+  }
+
+  private static Character getCharacter(ResultSet rs, String column) throws SQLException {
+    var value = rs.getString(column);
+    return value == null || value.isEmpty() ? null : value.charAt(0);
+  }
+}
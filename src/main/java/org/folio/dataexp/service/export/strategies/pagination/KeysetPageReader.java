@@ -0,0 +1,66 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Page reader with keyset (seek) pagination: the first page is read from the beginning of the slice,
+ * every next page starts right after the last id of the previous one ({@code WHERE id > :lastId ORDER BY id LIMIT :limit}),
+ * so the database does not have to skip the rows of all preceding pages as with OFFSET.
+ * The first page is always returned, even if it is empty.
+ *
+ * @param <T> type of the records
+ */
+public class KeysetPageReader<T> implements PageReader<T> {
+
+  private final Function<Pageable, Slice<T>> firstPage;
+  private final BiFunction<UUID, Integer, List<T>> nextPage;
+  private final Function<T, UUID> idExtractor;
+  private final int pageSize;
+  private boolean started;
+  private boolean hasNext;
+  private UUID lastId;
+
+  /**
+   * @param firstPage   reads the first page of the slice
+   * @param nextPage    reads the page of the given size following the given last id, ordered by id
+   * @param idExtractor id of a record the pages are ordered by
+   * @param pageSize    size of a page
+   */
+  public KeysetPageReader(Function<Pageable, Slice<T>> firstPage, BiFunction<UUID, Integer, List<T>> nextPage,
+                          Function<T, UUID> idExtractor, int pageSize) {
+    this.firstPage = firstPage;
+    this.nextPage = nextPage;
+    this.idExtractor = idExtractor;
+    this.pageSize = pageSize;
+  }
+
+  @Override
+  public List<T> readNext() {
+    List<T> content;
+    if (!started) {
+      started = true;
+      var slice = firstPage.apply(PageRequest.of(0, pageSize));
+      content = slice.getContent();
+      hasNext = slice.hasNext();
+    } else if (hasNext) {
+      content = nextPage.apply(lastId, pageSize);
+      hasNext = content.size() == pageSize;
+      if (content.isEmpty()) {
+        return null;
+      }
+    } else {
+      return null;
+    }
+    if (!content.isEmpty()) {
+      lastId = idExtractor.apply(content.get(content.size() - 1));
+    }
+    return content;
+  }
+}
@@ -0,0 +1,22 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import java.util.List;
+
+/**
+ * Reads the records of a slice page by page.
+ *
+ * @param <T> type of the records
+ */
+public interface PageReader<T> extends AutoCloseable {
+
+  /**
+   * Reads the next page of records.
+   *
+   * @return next page, or null when there are no more pages
+   */
+  List<T> readNext();
+
+  @Override
+  default void close() {
+  }
+}
@@ -0,0 +1,99 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.folio.dataexp.exception.export.DataExportException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page reader that reads pages of the delegate ahead on a separate thread, so the next pages are fetched
+ * from the database while the current one is converted. At most {@code depth} pages are held in the queue.
+ *
+ * @param <T> type of the records
+ */
+@Log4j2
+public class PrefetchingPageReader<T> implements PageReader<T> {
+
+  private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+  private final PageReader<T> delegate;
+  private final BlockingQueue<FetchedPage<T>> pages;
+  private volatile boolean closed;
+  private boolean exhausted;
+
+  public PrefetchingPageReader(PageReader<T> delegate, int depth, Executor executor) {
+    this.delegate = delegate;
+    this.pages = new ArrayBlockingQueue<>(depth);
+    executor.execute(this::readAhead);
+  }
+
+  @Override
+  public List<T> readNext() {
+    if (exhausted) {
+      return null;
+    }
+    FetchedPage<T> fetchedPage;
+    try {
+      fetchedPage = pages.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DataExportException("Interrupted while waiting for the next page: " + e.getMessage());
+    }
+    if (fetchedPage.error != null) {
+      exhausted = true;
+      return ExceptionUtils.rethrow(fetchedPage.error);
+    }
+    if (fetchedPage.content == null) {
+      exhausted = true;
+    }
+    return fetchedPage.content;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    pages.clear();
+  }
+
+  private void readAhead() {
+    try {
+      List<T> content;
+      do {
+        content = delegate.readNext();
+      } while (put(new FetchedPage<>(content, null)) && content != null);
+    } catch (Throwable e) {
+      log.error("readAhead:: error reading next page: {}", e.getMessage());
+      put(new FetchedPage<>(null, e));
+    } finally {
+      delegate.close();
+    }
+  }
+
+  private boolean put(FetchedPage<T> fetchedPage) {
+    try {
+      while (!closed) {
+        if (pages.offer(fetchedPage, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  private static final class FetchedPage<T> {
+    private final List<T> content;
+    private final Throwable error;
+
+    private FetchedPage(List<T> content, Throwable error) {
+      this.content = content;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package org.folio.dataexp.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Reads the uploaded file of ids line by line as bytes, lines are terminated the same way as for
+ * {@link java.io.BufferedReader#readLine()}. The canonical form of a UUID, optionally quoted, is decoded straight from
+ * the bytes of the line, any other form falls back to {@link UUID#fromString(String)}.
+ */
+public class IdsFileReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int UUID_LENGTH = 36;
+  private static final byte[] HEX_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(HEX_VALUES, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      HEX_VALUES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HEX_VALUES['a' + i] = (byte) (10 + i);
+      HEX_VALUES['A' + i] = (byte) (10 + i);
+    }
+  }
+
+  private final InputStream inputStream;
+  private byte[] buffer = new byte[BUFFER_SIZE];
+  private int position;
+  private int limit;
+  private int lineStart;
+  private int lineEnd;
+  private boolean skipLineFeed;
+
+  public IdsFileReader(InputStream inputStream) {
+    this.inputStream = inputStream;
+  }
+
+  /**
+   * Moves to the next line, the line stays available until the next call.
+   *
+   * @return false if there are no more lines
+   */
+  public boolean nextLine() throws IOException {
+    if (skipLineFeed) {
+      skipLineFeed = false;
+      if (position == limit && !fill()) {
+        return false;
+      }
+      if (buffer[position] == '\n') {
+        position++;
+      }
+    }
+    var offset = 0;
+    while (true) {
+      if (position + offset == limit) {
+        if (!fill()) {
+          if (offset == 0) {
+            return false;
+          }
+          lineStart = position;
+          lineEnd = limit;
+          position = limit;
+          return true;
+        }
+        continue;
+      }
+      var b = buffer[position + offset];
+      if (b == '\n' || b == '\r') {
+        lineStart = position;
+        lineEnd = position + offset;
+        position = lineEnd + 1;
+        skipLineFeed = b == '\r';
+        return true;
+      }
+      offset++;
+    }
+  }
+
+  /**
+   * @return the current line with the quotes removed
+   */
+  public String getLine() {
+    return new String(buffer, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8).replace("\"", "");
+  }
+
+  /**
+   * @return UUID of the current line
+   * @throws IllegalArgumentException if the line is not a UUID
+   */
+  public UUID getUuid() {
+    var start = lineStart;
+    var end = lineEnd;
+    if (end - start == UUID_LENGTH + 2 && buffer[start] == '"' && buffer[end - 1] == '"') {
+      start++;
+      end--;
+    }
+    if (end - start == UUID_LENGTH) {
+      var uuid = decodeCanonical(start);
+      if (uuid != null) {
+        return uuid;
+      }
+    }
+    return UUID.fromString(getLine());
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  private UUID decodeCanonical(int start) {
+    long mostSigBits = 0;
+    long leastSigBits = 0;
+    var digits = 0;
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      var b = buffer[start + i];
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (b != '-') {
+          return null;
+        }
+        continue;
+      }
+      var value = b >= 0 ? HEX_VALUES[b] : -1;
+      if (value < 0) {
+        return null;
+      }
+      if (digits++ < 16) {
+        mostSigBits = mostSigBits << 4 | value;
+      } else {
+        leastSigBits = leastSigBits << 4 | value;
+      }
+    }
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private boolean fill() throws IOException {
+    if (position > 0) {
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      position = 0;
+    }
+    if (limit == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    var read = inputStream.read(buffer, limit, buffer.length - limit);
+    if (read == -1) {
+      return false;
+    }
+    limit += read;
+    return true;
+  }
+}
@@ -0,0 +1,99 @@
+package org.folio.dataexp.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the ids of a mod-search ids job from the response stream in chunks, so the whole result is never held in
+ * memory. The expected body is the one of {@link org.folio.dataexp.domain.dto.ResourceIds}, unknown fields are skipped.
+ */
+public class ResourceIdsReader implements Closeable {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String IDS = "ids";
+  private static final String ID = "id";
+  private static final String TOTAL_RECORDS = "totalRecords";
+
+  private final JsonParser parser;
+  private Integer totalRecords;
+  private boolean inIds;
+  private boolean finished;
+
+  public ResourceIdsReader(InputStream inputStream) throws IOException {
+    parser = JSON_FACTORY.createParser(inputStream);
+    var token = parser.nextToken();
+    if (token == null) {
+      finished = true;
+    } else if (token != JsonToken.START_OBJECT) {
+      throw new IOException("Unexpected resource ids response, object expected but found " + token);
+    }
+  }
+
+  /**
+   * @param size maximum number of ids to read
+   * @return next ids, empty if all the ids are read
+   */
+  public List<UUID> nextChunk(int size) throws IOException {
+    var chunk = new ArrayList<UUID>(size);
+    while (chunk.size() < size && !finished) {
+      var token = parser.nextToken();
+      if (inIds) {
+        if (token == JsonToken.START_OBJECT) {
+          var id = readId();
+          if (id != null) {
+            chunk.add(id);
+          }
+        } else {
+          inIds = false;
+        }
+      } else if (token == JsonToken.FIELD_NAME) {
+        var name = parser.currentName();
+        token = parser.nextToken();
+        if (IDS.equals(name) && token == JsonToken.START_ARRAY) {
+          inIds = true;
+        } else if (TOTAL_RECORDS.equals(name) && token == JsonToken.VALUE_NUMBER_INT) {
+          totalRecords = parser.getIntValue();
+        } else {
+          parser.skipChildren();
+        }
+      } else {
+        finished = true;
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * @return total number of the records, null if it is not read yet
+   */
+  public Integer getTotalRecords() {
+    return totalRecords;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  private UUID readId() throws IOException {
+    UUID id = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      var token = parser.nextToken();
+      if (ID.equals(name) && token == JsonToken.VALUE_STRING) {
+        id = UUID.fromString(parser.getText());
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return id;
+  }
+}
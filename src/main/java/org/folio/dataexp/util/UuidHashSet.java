@@ -0,0 +1,173 @@
+package org.folio.dataexp.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open addressing set of UUIDs stored as two longs per slot, without boxing, about 16 bytes per slot. The table grows
+ * up to the given memory limit, after that the set is full: the new UUIDs are not stored anymore, while the stored
+ * ones are still found. The limit may be shared by several sets, each table is charged to the shared used memory when
+ * allocated and released from it when replaced or on {@link #close()}.
+ */
+public class UuidHashSet implements AutoCloseable {
+
+  private static final double LOAD_FACTOR = 0.75;
+  private static final int MIN_SLOTS = 16;
+  private static final int MAX_SLOTS = 1 << 29;
+  private static final int SLOT_BYTES = 2 * Long.BYTES;
+
+  private final int maxSlots;
+  private final long maxMemoryBytes;
+  private final AtomicLong usedMemory;
+  private long[] table;
+  private int mask;
+  private int size;
+  private boolean containsZero;
+  private boolean full;
+  private boolean closed;
+
+  /**
+   * @param expectedSize   expected number of UUIDs, used to size the table up front
+   * @param maxMemoryBytes maximum size of the table in bytes
+   */
+  public UuidHashSet(int expectedSize, long maxMemoryBytes) {
+    this(expectedSize, maxMemoryBytes, new AtomicLong());
+  }
+
+  /**
+   * @param expectedSize   expected number of UUIDs, used to size the table up front
+   * @param maxMemoryBytes maximum size of the tables of all the sets sharing the used memory in bytes
+   * @param usedMemory     memory held by the tables of all the sets sharing the limit
+   */
+  public UuidHashSet(int expectedSize, long maxMemoryBytes, AtomicLong usedMemory) {
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.usedMemory = usedMemory;
+    maxSlots = (int) Math.max(MIN_SLOTS, Math.min(MAX_SLOTS, Long.highestOneBit(Math.max(1, maxMemoryBytes / SLOT_BYTES))));
+    var slots = MIN_SLOTS;
+    while (slots < maxSlots && slots * LOAD_FACTOR < expectedSize) {
+      slots <<= 1;
+    }
+    while (slots > MIN_SLOTS && !reserve(tableBytes(slots))) {
+      slots >>= 1;
+    }
+    if (slots == MIN_SLOTS) {
+      usedMemory.addAndGet(tableBytes(slots));
+    }
+    allocate(slots);
+  }
+
+  /**
+   * @return false if the UUID is already in the set, true otherwise, even if the set is full and the UUID is not stored
+   */
+  public boolean add(UUID uuid) {
+    var mostSigBits = uuid.getMostSignificantBits();
+    var leastSigBits = uuid.getLeastSignificantBits();
+    if (mostSigBits == 0 && leastSigBits == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    var slot = find(mostSigBits, leastSigBits);
+    if (table[slot << 1] == mostSigBits && table[(slot << 1) + 1] == leastSigBits) {
+      return false;
+    }
+    if (size + 1 > (table.length >> 1) * LOAD_FACTOR) {
+      if (table.length >> 1 >= maxSlots || !reserve(tableBytes(table.length))) {
+        full = true;
+        return true;
+      }
+      rehash(table.length);
+      slot = find(mostSigBits, leastSigBits);
+    }
+    table[slot << 1] = mostSigBits;
+    table[(slot << 1) + 1] = leastSigBits;
+    size++;
+    return true;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if a UUID was not stored because of the memory limit, or because the shared memory was spent
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * @return size of the table in bytes
+   */
+  public long getMemoryBytes() {
+    return (long) table.length * Long.BYTES;
+  }
+
+  /**
+   * Releases the table from the shared used memory, the set must not be used after.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      usedMemory.addAndGet(-getMemoryBytes());
+    }
+  }
+
+  private boolean reserve(long bytes) {
+    var used = usedMemory.get();
+    while (used + bytes <= maxMemoryBytes) {
+      if (usedMemory.compareAndSet(used, used + bytes)) {
+        return true;
+      }
+      used = usedMemory.get();
+    }
+    return false;
+  }
+
+  private static long tableBytes(int slots) {
+    return (long) slots * SLOT_BYTES;
+  }
+
+  private int find(long mostSigBits, long leastSigBits) {
+    var slot = hash(mostSigBits, leastSigBits) & mask;
+    while (true) {
+      var index = slot << 1;
+      var storedMost = table[index];
+      var storedLeast = table[index + 1];
+      if ((storedMost == 0 && storedLeast == 0) || (storedMost == mostSigBits && storedLeast == leastSigBits)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private void rehash(int slots) {
+    var oldTable = table;
+    allocate(slots);
+    for (int i = 0; i < oldTable.length; i += 2) {
+      if (oldTable[i] != 0 || oldTable[i + 1] != 0) {
+        var slot = find(oldTable[i], oldTable[i + 1]);
+        table[slot << 1] = oldTable[i];
+        table[(slot << 1) + 1] = oldTable[i + 1];
+      }
+    }
+    usedMemory.addAndGet(-(long) oldTable.length * Long.BYTES);
+  }
+
+  private void allocate(int slots) {
+    table = new long[slots << 1];
+    mask = slots - 1;
+  }
+
+  private static int hash(long mostSigBits, long leastSigBits) {
+    var h = mostSigBits * 0x9E3779B97F4A7C15L ^ leastSigBits;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
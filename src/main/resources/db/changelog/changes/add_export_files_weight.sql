@@ -0,0 +1,2 @@
+ALTER TABLE job_execution_export_files ADD COLUMN IF NOT EXISTS estimated_weight bigint;
+ALTER TABLE job_execution_export_files ADD COLUMN IF NOT EXISTS duration_ms bigint;
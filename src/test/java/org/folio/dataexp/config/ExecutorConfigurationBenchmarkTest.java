@@ -0,0 +1,70 @@
+package org.folio.dataexp.config;
+
+import lombok.SneakyThrows;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the platform and the virtual thread executors on blocking calls, such as the JDBC, HTTP and S3 calls of
+ * the export. Run with {@code mvn test -Dtest=ExecutorConfigurationBenchmarkTest -Dbenchmark=true} on JDK 21+.
+ */
+@Log4j2
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutorConfigurationBenchmarkTest {
+
+  private static final int TASKS = 4_000;
+  private static final long BLOCKING_CALL_MILLIS = 20;
+  private static final int POOL_SIZE = 16;
+  private static final int VIRTUAL_CONCURRENCY_LIMIT = 256;
+
+  @Test
+  void compareExecutorsOnBlockingCalls() {
+    var platformExecutor = new ThreadPoolTaskExecutor();
+    platformExecutor.setCorePoolSize(POOL_SIZE);
+    platformExecutor.setMaxPoolSize(POOL_SIZE);
+    platformExecutor.setThreadNamePrefix("benchmark-platform-");
+    platformExecutor.initialize();
+    try {
+      run("platform threads, pool " + POOL_SIZE, platformExecutor);
+    } finally {
+      platformExecutor.shutdown();
+    }
+    run("virtual threads, limit " + POOL_SIZE, ExecutorConfiguration.virtualThreadExecutor("benchmark-virtual-", POOL_SIZE, false));
+    run("virtual threads, limit " + VIRTUAL_CONCURRENCY_LIMIT,
+      ExecutorConfiguration.virtualThreadExecutor("benchmark-virtual-", VIRTUAL_CONCURRENCY_LIMIT, false));
+  }
+
+  @SneakyThrows
+  private void run(String mode, TaskExecutor executor) {
+    var threads = ManagementFactory.getThreadMXBean();
+    threads.resetPeakThreadCount();
+    var done = new CountDownLatch(TASKS);
+    var start = System.nanoTime();
+    for (int i = 0; i < TASKS; i++) {
+      executor.execute(() -> {
+        try {
+          Thread.sleep(BLOCKING_CALL_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    assertTrue(done.await(5, TimeUnit.MINUTES));
+    log.info("{}: {} blocking calls of {} ms in {} ms, peak platform threads {}", mode, TASKS, BLOCKING_CALL_MILLIS,
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads.getPeakThreadCount());
+  }
+}
@@ -28,6 +28,16 @@ class FolioInstanceAllRepositoryTest extends AllRepositoryTest {
     }
   }
 
+  @Test
+  void findFolioInstanceAllNonDeletedAfterTest() {
+    try (var context =  new FolioExecutionContextSetter(folioExecutionContext)) {
+      var list = instanceAllRepository.findFolioInstanceAllNonDeletedAfter(MIN_UUID, MAX_UUID, MIN_UUID, exportIdsBatch);
+      assertThat(list).hasSize(2);
+      var next = instanceAllRepository.findFolioInstanceAllNonDeletedAfter(MIN_UUID, MAX_UUID, list.get(0).getId(), exportIdsBatch);
+      assertThat(next).hasSize(1);
+    }
+  }
+
   @Test
   void findFolioInstanceAllDeletedTest() {
     try (var context =  new FolioExecutionContextSetter(folioExecutionContext)) {
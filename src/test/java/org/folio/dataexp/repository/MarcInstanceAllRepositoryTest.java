@@ -28,6 +28,16 @@ class MarcInstanceAllRepositoryTest extends AllRepositoryTest {
     }
   }
 
+  @Test
+  void findMarcInstanceAllNonDeletedAfterTest() {
+    try (var context =  new FolioExecutionContextSetter(folioExecutionContext)) {
+      var list = marcInstanceAllRepository.findMarcInstanceAllNonDeletedAfter(MIN_UUID, MAX_UUID, MIN_UUID, exportIdsBatch);
+      assertThat(list).hasSize(5);
+      var next = marcInstanceAllRepository.findMarcInstanceAllNonDeletedAfter(MIN_UUID, MAX_UUID, list.get(2).getId(), exportIdsBatch);
+      assertThat(next).hasSize(2);
+    }
+  }
+
   @Test
   void findMarcInstanceAllDeletedTest() {
     try (var context =  new FolioExecutionContextSetter(folioExecutionContext)) {
@@ -0,0 +1,138 @@
+package org.folio.dataexp.service;
+
+import lombok.SneakyThrows;
+import org.folio.dataexp.BaseDataExportInitializer;
+import org.folio.dataexp.client.UserClient;
+import org.folio.dataexp.domain.dto.ExportRequest;
+import org.folio.dataexp.domain.dto.FileDefinition;
+import org.folio.dataexp.domain.dto.JobExecution;
+import org.folio.dataexp.domain.dto.JobProfile;
+import org.folio.dataexp.domain.dto.User;
+import org.folio.dataexp.domain.entity.FileDefinitionEntity;
+import org.folio.dataexp.domain.entity.JobExecutionExportFilesEntity;
+import org.folio.dataexp.domain.entity.JobExecutionExportFilesStatus;
+import org.folio.dataexp.domain.entity.JobProfileEntity;
+import org.folio.dataexp.repository.ErrorLogEntityCqlRepository;
+import org.folio.dataexp.repository.FileDefinitionEntityRepository;
+import org.folio.dataexp.repository.JobExecutionExportFilesEntityRepository;
+import org.folio.dataexp.repository.JobProfileEntityRepository;
+import org.folio.dataexp.service.export.ExportStrategyFactory;
+import org.folio.dataexp.service.export.S3ExportsUploader;
+import org.folio.dataexp.service.export.strategies.ExportStrategy;
+import org.folio.dataexp.service.export.strategies.ExportStrategyStatistic;
+import org.folio.dataexp.service.export.strategies.ExportedMarcListener;
+import org.folio.dataexp.service.logs.ErrorLogService;
+import org.folio.dataexp.service.validators.DataExportRequestValidator;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataExportServiceOutputFormatTest extends BaseDataExportInitializer {
+
+  @MockBean
+  private FileDefinitionEntityRepository fileDefinitionEntityRepository;
+  @MockBean
+  private JobProfileEntityRepository jobProfileEntityRepository;
+  @MockBean
+  private JobExecutionExportFilesEntityRepository jobExecutionExportFilesEntityRepository;
+  @MockBean
+  private ErrorLogEntityCqlRepository errorLogEntityCqlRepository;
+  @MockBean
+  private InputFileProcessor inputFileProcessor;
+  @MockBean
+  private SlicerProcessor slicerProcessor;
+  @MockBean
+  private UserClient userClient;
+  @MockBean
+  private DataExportRequestValidator dataExportRequestValidator;
+  @MockBean
+  private JobExecutionService jobExecutionService;
+  @MockBean
+  private ExportStrategyFactory exportStrategyFactory;
+  @MockBean
+  private S3ExportsUploader s3ExportsUploader;
+  @MockBean
+  private ErrorLogService errorLogService;
+  @MockBean
+  private StorageCleanUpService storageCleanUpService;
+
+  @Autowired
+  private DataExportService dataExportService;
+
+  @Test
+  @SneakyThrows
+  void postDataExportShouldUploadWithRequestedOutputFormat() {
+    var user = new User();
+    user.setId(UUID.randomUUID().toString());
+    var personal = new User.Personal();
+    personal.setFirstName("firstName");
+    personal.setLastName("lastName");
+    user.setPersonal(personal);
+
+    var exportRequest = new ExportRequest();
+    exportRequest.setRecordType(ExportRequest.RecordTypeEnum.INSTANCE);
+    exportRequest.setIdType(ExportRequest.IdTypeEnum.INSTANCE);
+    exportRequest.setJobProfileId(UUID.randomUUID());
+    exportRequest.setFileDefinitionId(UUID.randomUUID());
+    exportRequest.setOutputFormat(ExportRequest.OutputFormatEnum.MRC_GZIP);
+
+    var jobExecutionId = UUID.randomUUID();
+    var fileDefinition = new FileDefinition().id(exportRequest.getFileDefinitionId())
+      .jobExecutionId(jobExecutionId).fileName("instance");
+    var fileDefinitionEntity = FileDefinitionEntity.builder()
+      .fileDefinition(fileDefinition).id(fileDefinition.getId()).build();
+
+    var jobProfile = new JobProfile().id(exportRequest.getJobProfileId())
+      .name("jobProfileName").mappingProfileId(UUID.randomUUID());
+    var jobProfileEntity = JobProfileEntity.builder()
+      .jobProfile(jobProfile).id(jobProfile.getId()).build();
+
+    var jobExecution = new JobExecution().id(jobExecutionId);
+    var exportEntity = JobExecutionExportFilesEntity.builder()
+      .id(UUID.randomUUID())
+      .jobExecutionId(jobExecutionId)
+      .fileLocation("mod-data-export/download/" + jobExecutionId + "/instance.mrc")
+      .status(JobExecutionExportFilesStatus.SCHEDULED).build();
+    var exportStrategy = mock(ExportStrategy.class);
+
+    when(fileDefinitionEntityRepository.getReferenceById(isA(UUID.class))).thenReturn(fileDefinitionEntity);
+    when(fileDefinitionEntityRepository.getFileDefinitionByJobExecutionId(jobExecutionId.toString())).thenReturn(List.of(fileDefinitionEntity));
+    when(jobProfileEntityRepository.getReferenceById(isA(UUID.class))).thenReturn(jobProfileEntity);
+    when(jobExecutionService.getById(jobExecutionId)).thenReturn(jobExecution);
+    when(jobExecutionService.getNextHrid()).thenReturn(200);
+    when(userClient.getUserById(isA(String.class))).thenReturn(user);
+    when(jobExecutionExportFilesEntityRepository.findByJobExecutionId(jobExecutionId)).thenReturn(List.of(exportEntity));
+    when(jobExecutionExportFilesEntityRepository.getReferenceById(exportEntity.getId())).thenReturn(exportEntity);
+    when(exportStrategyFactory.getExportStrategy(isA(ExportRequest.class))).thenReturn(exportStrategy);
+    when(exportStrategy.saveMarcToLocalStorage(eq(exportEntity), isA(ExportRequest.class), isA(ExportedMarcListener.class)))
+      .thenAnswer(invocation -> new ExportStrategyStatistic(invocation.getArgument(2)));
+    doAnswer(invocation -> {
+      exportEntity.setStatus(JobExecutionExportFilesStatus.COMPLETED);
+      return null;
+    }).when(exportStrategy).setStatusBaseExportStatistic(eq(exportEntity), isA(ExportStrategyStatistic.class));
+    when(s3ExportsUploader.upload(eq(jobExecution), anyList(), eq("instance"), eq(ExportRequest.OutputFormatEnum.MRC_GZIP)))
+      .thenReturn("mod-data-export/download/" + jobExecutionId + "/instance-200.mrc.gz");
+
+    try (var context = new FolioExecutionContextSetter(folioExecutionContext)) {
+      dataExportService.postDataExport(exportRequest);
+    }
+
+    await().atMost(5, SECONDS).untilAsserted(() ->
+      verify(s3ExportsUploader).upload(eq(jobExecution), eq(List.of(exportEntity)), eq("instance"),
+        eq(ExportRequest.OutputFormatEnum.MRC_GZIP)));
+  }
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.folio.dataexp.util.ErrorCode.ERROR_DUPLICATED_IDS;
+import static org.folio.dataexp.util.ResourceIdsResponseUtil.getResourceIdsResponse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -128,7 +129,7 @@ class InputFileProcessorTest extends BaseDataExportInitializer {
       .withStatus(IdsJob.Status.COMPLETED));
     var resourceIds = new ResourceIds().withIds(List.of(
       new ResourceIds.Id().withId(UUID.fromString("011e1aea-222d-4d1d-957d-0abcdd0e9acd")))).withTotalRecords(1);
-    when(searchClient.getResourceIds(any(String.class))).thenReturn(resourceIds);
+    when(searchClient.getResourceIds(any(String.class))).thenReturn(getResourceIdsResponse(resourceIds));
 
     try (var context = new FolioExecutionContextSetter(folioExecutionContext)) {
       var jobExecution = JobExecution.builder().id(fileDefinition.getJobExecutionId()).build();
@@ -10,6 +10,7 @@ import org.folio.dataexp.domain.dto.User;
 import org.folio.dataexp.domain.entity.MappingProfileEntity;
 import org.folio.dataexp.repository.MappingProfileEntityCqlRepository;
 import org.folio.dataexp.repository.MappingProfileEntityRepository;
+import org.folio.dataexp.service.export.strategies.RuleFactory;
 import org.folio.dataexp.service.validators.MappingProfileValidator;
 import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.data.OffsetRequest;
@@ -40,6 +41,8 @@ class MappingProfileServiceTest {
   private MappingProfileValidator mappingProfileValidator;
   @Mock
   private UserClient userClient;
+  @Mock
+  private RuleFactory ruleFactory;
 
   @InjectMocks
   private MappingProfileService mappingProfileService;
@@ -57,6 +60,7 @@ class MappingProfileServiceTest {
     mappingProfileService.deleteMappingProfileById(mappingProfile.getId());
 
     verify(mappingProfileEntityRepository).deleteById(isA(UUID.class));
+    verify(ruleFactory).invalidateRules(mappingProfile.getId());
   }
 
   @Test
@@ -140,5 +144,6 @@ class MappingProfileServiceTest {
 
     verify(mappingProfileEntityRepository).save(isA(MappingProfileEntity.class));
     verify(mappingProfileValidator).validate(isA(MappingProfile.class));
+    verify(ruleFactory).invalidateRules(mappingProfile.getId());
   }
 }
@@ -18,6 +18,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,6 +40,8 @@ class MarcDeletedIdsServiceTest {
   private FileDefinitionsService fileDefinitionsService;
   @Captor
   private ArgumentCaptor<MarcRecordIdentifiersPayload> payloadArgumentCaptor;
+  @Captor
+  private ArgumentCaptor<FileDefinition> fileDefinitionArgumentCaptor;
   @InjectMocks
   private MarcDeletedIdsService marcDeletedIdsService;
 
@@ -125,6 +128,24 @@ class MarcDeletedIdsServiceTest {
     assertThat(payload.getFieldsSearchExpression()).isEqualTo("005.date in '" + previousDay + "-" + previousDay + "'");
   }
 
+  @Test
+  void shouldSetSizeOfFileInKilobytes() {
+    var marcIds = new ArrayList<String>();
+    for (int i = 0; i < 100; i++) {
+      marcIds.add(UUID.randomUUID().toString());
+    }
+    when(sourceStorageClient.getMarcRecordsIdentifiers(isA(MarcRecordIdentifiersPayload.class)))
+      .thenReturn(new MarcRecordsIdentifiersResponse().withRecords(marcIds).withTotalCount(marcIds.size()));
+    var fileDefinition = new FileDefinition().id(UUID.randomUUID());
+    when(fileDefinitionsService.postFileDefinition(isA(FileDefinition.class))).thenReturn(fileDefinition);
+    when(fileDefinitionsService.uploadFile(isA(UUID.class), isA(Resource.class))).thenReturn(fileDefinition);
+
+    marcDeletedIdsService.getFileDefinitionForMarcDeletedIds(null, null);
+    verify(fileDefinitionsService).postFileDefinition(fileDefinitionArgumentCaptor.capture());
+
+    assertThat(fileDefinitionArgumentCaptor.getValue().getSize()).isEqualTo(4);
+  }
+
   @Test
   @SneakyThrows
   void shouldThrowExportDeletedDateRangeException_ifDateFromIsAfterDateTo() {
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.verify;
@@ -39,4 +40,18 @@ class SingleFileProcessorAsyncTest {
 
     verify(exportExecutor).exportAsynch(eq(exportEntity), isA(ExportRequest.class), eq(commonFails));
   }
+
+  @Test
+  void executeExportShouldKeepOutputFormatTest() {
+    var exportEntity = JobExecutionExportFilesEntity.builder()
+      .id(UUID.randomUUID())
+      .fileLocation("mod-data-export/download/download.mrc").build();
+    var commonFails = new CommonExportStatistic();
+    var exportRequest = new ExportRequest().outputFormat(ExportRequest.OutputFormatEnum.MRC_GZIP);
+
+    singleFileProcessorAsync.executeExport(exportEntity, exportRequest, commonFails);
+
+    verify(exportExecutor).exportAsynch(eq(exportEntity),
+      argThat(request -> request.getOutputFormat() == ExportRequest.OutputFormatEnum.MRC_GZIP), eq(commonFails));
+  }
 }
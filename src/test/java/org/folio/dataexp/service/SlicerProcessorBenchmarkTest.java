@@ -0,0 +1,80 @@
+package org.folio.dataexp.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.folio.dataexp.BaseDataExportInitializer;
+import org.folio.dataexp.domain.dto.ExportRequest;
+import org.folio.dataexp.domain.dto.FileDefinition;
+import org.folio.dataexp.domain.dto.JobExecution;
+import org.folio.dataexp.domain.dto.JobExecutionProgress;
+import org.folio.dataexp.domain.entity.JobExecutionEntity;
+import org.folio.dataexp.repository.JobExecutionEntityRepository;
+import org.folio.dataexp.repository.JobExecutionExportFilesEntityRepository;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the slicing modes on a synthetic instance table of {@code benchmark.rows} rows, 20 million by default.
+ * Run with {@code mvn test -Dtest=SlicerProcessorBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=...]}.
+ */
+@Log4j2
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SlicerProcessorBenchmarkTest extends BaseDataExportInitializer {
+
+  private static final String INSTANCE_TABLE = "diku_mod_inventory_storage.instance";
+  private static final String BENCHMARK_JSONB = "{\"benchmark\": true}";
+  private static final String SLICE_SIZES = "SELECT min(size), max(size) FROM (SELECT (SELECT count(*) FROM " + INSTANCE_TABLE
+    + " i WHERE i.id BETWEEN f.from_id AND f.to_id) size FROM job_execution_export_files f WHERE f.job_execution_id = ?) s";
+
+  @Autowired
+  private SlicerProcessor slicerProcessor;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private JobExecutionEntityRepository jobExecutionEntityRepository;
+  @Autowired
+  private JobExecutionExportFilesEntityRepository jobExecutionExportFilesEntityRepository;
+
+  @Test
+  void compareSlicingModesOnAllInstances() {
+    var rows = Integer.getInteger("benchmark.rows", 20_000_000);
+    var fileDefinition = new FileDefinition();
+    fileDefinition.setId(UUID.randomUUID());
+    fileDefinition.fileName("instances_all.csv");
+    var jobExecution = JobExecution.builder().id(UUID.randomUUID()).build();
+    jobExecution.setProgress(new JobExecutionProgress());
+    fileDefinition.setJobExecutionId(jobExecution.getId());
+    var exportRequest = new ExportRequest().idType(ExportRequest.IdTypeEnum.INSTANCE).all(true);
+
+    try (var context = new FolioExecutionContextSetter(folioExecutionContext)) {
+      jobExecutionEntityRepository.save(JobExecutionEntity.fromJobExecution(jobExecution));
+      var start = System.currentTimeMillis();
+      jdbcTemplate.update("INSERT INTO " + INSTANCE_TABLE + " (id, jsonb) SELECT gen_random_uuid(), ?::jsonb "
+        + "FROM generate_series(1, ?)", BENCHMARK_JSONB, rows);
+      jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS instance_benchmark_id_idx ON " + INSTANCE_TABLE + " (id)");
+      jdbcTemplate.execute("ANALYZE " + INSTANCE_TABLE);
+      log.info("Generated {} instances in {} ms", rows, System.currentTimeMillis() - start);
+      try {
+        for (var mode : SlicerProcessor.SlicingMode.values()) {
+          start = System.currentTimeMillis();
+          slicerProcessor.sliceInstancesIds(fileDefinition, SlicerProcessor.DEFAULT_SLICE_SIZE, exportRequest, mode);
+          var duration = System.currentTimeMillis() - start;
+          var slices = jobExecutionExportFilesEntityRepository.countByJobExecutionId(jobExecution.getId());
+          var sizes = jdbcTemplate.queryForList(SLICE_SIZES, jobExecution.getId()).get(0);
+          log.info("{}: {} slices of {} to {} ids in {} ms", mode, slices, sizes.get("min"), sizes.get("max"), duration);
+          jobExecutionExportFilesEntityRepository.deleteAll();
+        }
+      } finally {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS diku_mod_inventory_storage.instance_benchmark_id_idx");
+        jdbcTemplate.update("DELETE FROM " + INSTANCE_TABLE + " WHERE jsonb = ?::jsonb", BENCHMARK_JSONB);
+      }
+      assertEquals(0, jobExecutionExportFilesEntityRepository.countByJobExecutionId(jobExecution.getId()));
+    }
+  }
+}
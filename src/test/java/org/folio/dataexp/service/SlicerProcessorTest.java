@@ -24,10 +24,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.io.PathResource;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
+import static org.folio.dataexp.util.ResourceIdsResponseUtil.getResourceIdsResponse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -76,7 +79,7 @@ class SlicerProcessorTest extends BaseDataExportInitializer {
     var resourceIds = new ResourceIds().withIds(List.of(
       new ResourceIds.Id().withId(UUID.fromString("011e1aea-222d-4d1d-957d-0abcdd0e9acd")),
       new ResourceIds.Id().withId(UUID.fromString("011e1aea-111d-4d1d-957d-0abcdd0e9acd")))).withTotalRecords(2);
-    when(searchClient.getResourceIds(any(String.class))).thenReturn(resourceIds);
+    when(searchClient.getResourceIds(any(String.class))).thenReturn(getResourceIdsResponse(resourceIds));
 
     try (var context = new FolioExecutionContextSetter(folioExecutionContext)) {
       var jobExecutionEntity = JobExecutionEntity.fromJobExecution(jobExecution);
@@ -138,4 +141,84 @@ class SlicerProcessorTest extends BaseDataExportInitializer {
         .getContent().size());
      }
   }
+
+  @Test
+  @SneakyThrows
+  void sliceAllInstancesWithIndexWalkSampledAndWeightedModesTest() {
+    var fileDefinition = new FileDefinition();
+    fileDefinition.setId(UUID.randomUUID());
+    fileDefinition.fileName("instances_all.csv");
+    var jobExecution = JobExecution.builder().id(UUID.randomUUID()).build();
+    jobExecution.setProgress(new JobExecutionProgress());
+    fileDefinition.setJobExecutionId(jobExecution.getId());
+    var exportRequest = new ExportRequest().idType(ExportRequest.IdTypeEnum.INSTANCE).all(true);
+
+    try (var context = new FolioExecutionContextSetter(folioExecutionContext)) {
+      jobExecutionEntityRepository.save(JobExecutionEntity.fromJobExecution(jobExecution));
+
+      slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, SlicerProcessor.SlicingMode.EXACT);
+      var exactSlices = getSliceRanges();
+      jobExecutionExportFilesEntityRepository.deleteAll();
+
+      slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, SlicerProcessor.SlicingMode.INDEX_WALK);
+      assertEquals(exactSlices, getSliceRanges());
+      jobExecutionExportFilesEntityRepository.deleteAll();
+
+      slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, SlicerProcessor.SlicingMode.SAMPLED);
+      var sampledSlices = getSliceRanges();
+      assertEquals(exactSlices.get(0).get(0), sampledSlices.get(0).get(0));
+      assertEquals(exactSlices.get(exactSlices.size() - 1).get(1), sampledSlices.get(sampledSlices.size() - 1).get(1));
+      jobExecutionExportFilesEntityRepository.deleteAll();
+
+      slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, SlicerProcessor.SlicingMode.WEIGHTED);
+      var weightedSlices = getSliceRanges();
+      assertEquals(exactSlices.get(0).get(0), weightedSlices.get(0).get(0));
+      assertEquals(exactSlices.get(exactSlices.size() - 1).get(1), weightedSlices.get(weightedSlices.size() - 1).get(1));
+      assertTrue(jobExecutionExportFilesEntityRepository.findAll().stream()
+        .allMatch(exportFile -> exportFile.getEstimatedWeight() != null && exportFile.getEstimatedWeight() > 0));
+      jobExecutionExportFilesEntityRepository.deleteAll();
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void sliceAllAuthoritiesByExternalIdsInAllModesTest() {
+    var fileDefinition = new FileDefinition();
+    fileDefinition.setId(UUID.randomUUID());
+    fileDefinition.fileName("authorities_all.csv");
+    var jobExecution = JobExecution.builder().id(UUID.randomUUID()).build();
+    jobExecution.setProgress(new JobExecutionProgress());
+    fileDefinition.setJobExecutionId(jobExecution.getId());
+    var exportRequest = new ExportRequest().idType(ExportRequest.IdTypeEnum.AUTHORITY).all(true);
+    var expectedSlices = List.of(
+      List.of(UUID.fromString("28090b0f-9da3-40f1-ab17-33d6a1e3abae"), UUID.fromString("34090b0f-9da3-40f1-ab17-33d6a1e3abae")),
+      List.of(UUID.fromString("45090b0f-9da3-40f1-ab17-33d6a1e3abae"), UUID.fromString("4a090b0f-9da3-40f1-ab17-33d6a1e3abae")));
+
+    try (var context = new FolioExecutionContextSetter(folioExecutionContext)) {
+      jobExecutionEntityRepository.save(JobExecutionEntity.fromJobExecution(jobExecution));
+
+      slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, SlicerProcessor.SlicingMode.EXACT);
+      assertEquals(expectedSlices, getSliceRanges());
+      jobExecutionExportFilesEntityRepository.deleteAll();
+
+      slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, SlicerProcessor.SlicingMode.INDEX_WALK);
+      assertEquals(expectedSlices, getSliceRanges());
+      jobExecutionExportFilesEntityRepository.deleteAll();
+
+      for (var mode : List.of(SlicerProcessor.SlicingMode.SAMPLED, SlicerProcessor.SlicingMode.WEIGHTED)) {
+        slicerProcessor.sliceInstancesIds(fileDefinition, 2, exportRequest, mode);
+        var slices = getSliceRanges();
+        assertEquals(expectedSlices.get(0).get(0), slices.get(0).get(0));
+        assertEquals(expectedSlices.get(1).get(1), slices.get(slices.size() - 1).get(1));
+        jobExecutionExportFilesEntityRepository.deleteAll();
+      }
+    }
+  }
+
+  private List<List<UUID>> getSliceRanges() {
+    return jobExecutionExportFilesEntityRepository.findAll().stream()
+      .map(exportFile -> List.of(exportFile.getFromId(), exportFile.getToId()))
+      .sorted(Comparator.comparing(range -> range.get(0).toString()))
+      .toList();
+  }
 }
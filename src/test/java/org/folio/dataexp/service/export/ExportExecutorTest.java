@@ -29,7 +29,9 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -95,7 +97,7 @@ class ExportExecutorTest {
 
     assertEquals(JobExecutionExportFilesStatus.ACTIVE, exportEntity.getStatus());
     assertEquals(JobExecution.StatusEnum.COMPLETED, jobExecution.getStatus());
-    verify(s3ExportsUploader).upload(jobExecution, List.of(completedExportEntity), "file_name");
+    verify(s3ExportsUploader).upload(jobExecution, List.of(completedExportEntity), "file_name", ExportRequest.OutputFormatEnum.MRC);
     verify(storageCleanUpService).cleanExportIdEntities(jobExecution.getId());
   }
 
@@ -140,7 +142,43 @@ class ExportExecutorTest {
     assertEquals(JobExecutionExportFilesStatus.ACTIVE, exportEntity.getStatus());
     assertEquals(JobExecution.StatusEnum.COMPLETED_WITH_ERRORS, jobExecution.getStatus());
     verify(errorLogService).saveCommonExportFailsErrors(commonExportStatistic, 2, jobExecutionId);
-    verify(s3ExportsUploader).upload(jobExecution, List.of(completedExportEntity), "file_name");
+    verify(s3ExportsUploader).upload(jobExecution, List.of(completedExportEntity), "file_name", ExportRequest.OutputFormatEnum.MRC);
     verify(storageCleanUpService).cleanExportIdEntities(jobExecution.getId());
   }
+
+  @Test
+  void exportShouldNotCompleteJobExecutionIfExportsRemainTest() {
+    var jobExecutionId = UUID.randomUUID();
+    var jobExecution = new JobExecution();
+    jobExecution.setProgress(new JobExecutionProgress());
+    jobExecution.setId(jobExecutionId);
+    jobExecution.setStatus(JobExecution.StatusEnum.IN_PROGRESS);
+
+    var exportEntity = JobExecutionExportFilesEntity.builder()
+      .id(UUID.randomUUID())
+      .jobExecutionId(jobExecutionId)
+      .fileLocation(String.format("mod-data-export/download/%s/download.mrc", jobExecutionId)).build();
+
+    var exportedMarcListener = new ExportedMarcListener(null, 1000, null);
+    for (int i = 0; i < 7; i++) {
+      exportedMarcListener.incrementExported();
+    }
+    jobExecution.getProgress().setExported(3);
+    var commonExportStatistic = new CommonExportStatistic();
+    commonExportStatistic.setExportedMarcListener(exportedMarcListener);
+    commonExportStatistic.setRemainingExports(2);
+
+    when(jobExecutionService.getById(jobExecutionId)).thenReturn(jobExecution);
+    when(jobExecutionExportFilesEntityRepository.getReferenceById(exportEntity.getId())).thenReturn(exportEntity);
+    when(exportStrategyFactory.getExportStrategy(new ExportRequest().idType(ExportRequest.IdTypeEnum.INSTANCE))).thenReturn(instancesExportStrategy);
+    when(instancesExportStrategy.saveMarcToLocalStorage(isA(JobExecutionExportFilesEntity.class), isA(ExportRequest.class), isA(ExportedMarcListener.class))).thenReturn(new ExportStrategyStatistic(new ExportedMarcListener(null, 1000, null)));
+
+    exportExecutor.export(exportEntity, new ExportRequest(), commonExportStatistic);
+
+    assertEquals(JobExecution.StatusEnum.IN_PROGRESS, jobExecution.getStatus());
+    assertEquals(7, jobExecution.getProgress().getExported());
+    verify(jobExecutionService).save(jobExecution);
+    verify(jobExecutionExportFilesEntityRepository, never()).findByJobExecutionId(jobExecutionId);
+    verifyNoInteractions(s3ExportsUploader, storageCleanUpService);
+  }
 }
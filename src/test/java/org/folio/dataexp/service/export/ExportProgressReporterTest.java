@@ -0,0 +1,59 @@
+package org.folio.dataexp.service.export;
+
+import org.folio.dataexp.repository.JobExecutionEntityRepository;
+import org.folio.dataexp.service.export.strategies.ExportedMarcListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportProgressReporterTest {
+
+  private static final UUID JOB_EXECUTION_ID = UUID.randomUUID();
+
+  @Mock
+  private JobExecutionEntityRepository jobExecutionEntityRepository;
+  @Mock
+  private ScheduledFuture<?> reporting;
+  @InjectMocks
+  private ExportProgressReporter exportProgressReporter;
+
+  @Test
+  void shouldKeepReportingAfterFailedWrite() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 1, JOB_EXECUTION_ID);
+    listener.setReporting(reporting);
+    when(jobExecutionEntityRepository.updateExported(JOB_EXECUTION_ID, 1))
+      .thenThrow(new QueryTimeoutException("Lock timeout"))
+      .thenReturn(1);
+
+    listener.incrementExported();
+    exportProgressReporter.report(listener, JOB_EXECUTION_ID);
+    exportProgressReporter.report(listener, JOB_EXECUTION_ID);
+
+    verify(jobExecutionEntityRepository, times(2)).updateExported(JOB_EXECUTION_ID, 1);
+    verify(reporting, never()).cancel(false);
+  }
+
+  @Test
+  void shouldStopReportingIfJobExecutionIsNotInProgress() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 1, JOB_EXECUTION_ID);
+    listener.setReporting(reporting);
+    when(jobExecutionEntityRepository.updateExported(JOB_EXECUTION_ID, 1)).thenReturn(0);
+
+    listener.incrementExported();
+    exportProgressReporter.report(listener, JOB_EXECUTION_ID);
+
+    verify(reporting).cancel(false);
+  }
+}
@@ -7,11 +7,13 @@ import org.folio.dataexp.util.S3FilePathUtils;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
 
 import static org.folio.dataexp.service.export.Constants.OUTPUT_BUFFER_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -52,4 +54,31 @@ class LocalStorageWriterTest {
 
     FileUtils.deleteDirectory(new File(temDirLocation));
   }
+
+  @Test
+  @SneakyThrows
+  void writeAndAppendBytesTest() {
+    var jobExecutionId = UUID.randomUUID();
+    var temDirLocation  = S3FilePathUtils.getTempDirForJobExecutionId(StringUtils.EMPTY, jobExecutionId);
+    Files.createDirectories(Path.of(temDirLocation));
+    var fileLocation = temDirLocation + "marc.mrc";
+    var encoded = "00024 Café".getBytes(StandardCharsets.UTF_8);
+
+    var writer =  new LocalStorageWriter(fileLocation, 16);
+    for (int i = 0; i < 100; i++) {
+      writer.write("Ünïcödé record " + i + "\u001D");
+    }
+    writer.append(encoded, 0, encoded.length);
+    writer.close();
+
+    var expected = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      expected.append("Ünïcödé record ").append(i).append("\u001D");
+    }
+    expected.append("00024 Café");
+    assertEquals(expected.toString(), Files.readString(Path.of(fileLocation), StandardCharsets.UTF_8));
+    assertEquals(new File(fileLocation).length(), writer.getBytesWritten());
+
+    FileUtils.deleteDirectory(new File(temDirLocation));
+  }
 }
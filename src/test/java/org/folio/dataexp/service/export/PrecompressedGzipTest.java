@@ -0,0 +1,49 @@
+package org.folio.dataexp.service.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrecompressedGzipTest {
+
+  @TempDir
+  private Path tempDir;
+
+  @Test
+  @SneakyThrows
+  void shouldConcatenateDeflatedSlicesIntoGzipMembers() {
+    var expected = new StringBuilder();
+    var members = new ArrayList<PrecompressedGzip.Member>();
+    for (int i = 0; i < 3; i++) {
+      var records = new StringBuilder();
+      for (int j = 0; j < 10_000; j++) {
+        records.append("Ünïcödé record ").append(i).append('-').append(j).append('\u001D');
+      }
+      expected.append(records);
+      var slice = tempDir.resolve("slice" + i + DeflatedSlice.SUFFIX);
+      var writer = new LocalStorageWriter(slice.toString(), 1024, true);
+      writer.write(records.toString());
+      writer.close();
+      members.add(new PrecompressedGzip.Member(DeflatedSlice.fromFile(slice.toFile()), () -> Files.newInputStream(slice)));
+    }
+
+    var gzip = new PrecompressedGzip(members);
+    var gzipPath = tempDir.resolve("marc.mrc.gz");
+    try (var inputStream = gzip.openStream()) {
+      Files.copy(inputStream, gzipPath);
+    }
+
+    assertEquals(Files.size(gzipPath), gzip.length());
+    try (var inputStream = new GZIPInputStream(Files.newInputStream(gzipPath))) {
+      assertEquals(expected.toString(), new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package org.folio.dataexp.service.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrecompressedZipTest {
+
+  @TempDir
+  private Path tempDir;
+
+  @Test
+  @SneakyThrows
+  void shouldAssembleZipFromDeflatedSlices() {
+    var records = List.of(records("Ünïcödé record", 20_000), records("record", 1), records("another record", 50_000));
+    var entries = new ArrayList<PrecompressedZip.Entry>();
+    for (int i = 0; i < records.size(); i++) {
+      var slice = tempDir.resolve("slice" + i + DeflatedSlice.SUFFIX);
+      var writer = new LocalStorageWriter(slice.toString(), 1024, true);
+      writer.write(records.get(i));
+      writer.close();
+      var deflatedSlice = DeflatedSlice.fromFile(slice.toFile());
+      assertEquals(records.get(i).getBytes(StandardCharsets.UTF_8).length, deflatedSlice.getSize());
+      entries.add(new PrecompressedZip.Entry("marc-" + (i + 1) + ".mrc", deflatedSlice, () -> Files.newInputStream(slice)));
+    }
+
+    var zip = new PrecompressedZip(entries, LocalDateTime.now());
+    var zipPath = tempDir.resolve("marc.zip");
+    try (var inputStream = zip.openStream()) {
+      Files.copy(inputStream, zipPath);
+    }
+
+    assertEquals(Files.size(zipPath), zip.length());
+    try (var zipFile = new ZipFile(zipPath.toFile())) {
+      assertEquals(records.size(), zipFile.size());
+      for (int i = 0; i < records.size(); i++) {
+        var entry = zipFile.getEntry("marc-" + (i + 1) + ".mrc");
+        try (var inputStream = zipFile.getInputStream(entry)) {
+          assertEquals(records.get(i), new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+      }
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldInflateDeflatedSlice() {
+    var slice = tempDir.resolve("slice" + DeflatedSlice.SUFFIX);
+    var writer = new LocalStorageWriter(slice.toString(), 16, true);
+    writer.write(records("record", 1000));
+    writer.close();
+
+    try (var inputStream = DeflatedSlice.fromFile(slice.toFile()).inflated(Files.newInputStream(slice))) {
+      assertEquals(records("record", 1000), new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  private String records(String record, int count) {
+    var records = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      records.append(record).append(' ').append(i).append('\u001D');
+    }
+    return records.toString();
+  }
+}
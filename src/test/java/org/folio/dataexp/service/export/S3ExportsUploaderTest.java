@@ -2,6 +2,7 @@ package org.folio.dataexp.service.export;
 
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
+import org.folio.dataexp.domain.dto.ExportRequest;
 import org.folio.dataexp.domain.dto.JobExecution;
 import org.folio.dataexp.domain.entity.JobExecutionExportFilesEntity;
 import org.folio.dataexp.exception.export.S3ExportsUploadException;
@@ -13,12 +14,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
 
 import static org.folio.dataexp.service.export.Constants.OUTPUT_BUFFER_SIZE;
 import static org.folio.dataexp.service.export.S3ExportsUploader.EMPTY_FILE_FOR_EXPORT_ERROR_MESSAGE;
@@ -27,7 +33,11 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class S3ExportsUploaderTest {
@@ -35,6 +45,8 @@ class S3ExportsUploaderTest {
   private static final String EXPORT_TEMP_STORAGE = "temp";
   @Mock
   private FolioS3Client s3Client;
+  @Mock
+  private S3StreamingStorage s3StreamingStorage;
 
   @InjectMocks
   private S3ExportsUploader s3ExportsUploader;
@@ -266,4 +278,186 @@ class S3ExportsUploaderTest {
     var temDir = new File(temDirLocation);
     assertFalse(temDir.exists());
   }
+
+  @Test
+  @SneakyThrows
+  void uploadSingleStreamedExportTest() {
+    var jobExecution = new JobExecution();
+    jobExecution.setId(UUID.randomUUID());
+    jobExecution.setHrId(200);
+    var fileLocation1 = String.format("mod-data-export/download/%s/%s", jobExecution.getId(), "marc_export_sliced_1.mrc");
+    var fileLocation2 = String.format("mod-data-export/download/%s/%s", jobExecution.getId(), "marc_export_sliced_2.mrc");
+    var export1 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation1).build();
+    var export2 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation2).build();
+    when(s3StreamingStorage.isEnabled()).thenReturn(true);
+    when(s3StreamingStorage.getSize(fileLocation1 + DeflatedSlice.SUFFIX)).thenReturn(-1L);
+    when(s3StreamingStorage.getSize(fileLocation2 + DeflatedSlice.SUFFIX)).thenReturn(-1L);
+    when(s3StreamingStorage.getSize(fileLocation1)).thenReturn(4L);
+    when(s3StreamingStorage.getSize(fileLocation2)).thenReturn(-1L);
+
+    var expectedS3Path = "mod-data-export/download/" + jobExecution.getId() + "/marc_export-200.mrc";
+    var s3Path = s3ExportsUploader.upload(jobExecution, List.of(export1, export2), "marc_export");
+    assertEquals(expectedS3Path, s3Path);
+
+    verify(s3StreamingStorage).move(fileLocation1, expectedS3Path, 4L);
+    verifyNoInteractions(s3Client);
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadMultipleStreamedExportsTest() {
+    var jobExecution = new JobExecution();
+    jobExecution.setId(UUID.randomUUID());
+    jobExecution.setHrId(200);
+    var fileLocation1 = String.format("mod-data-export/download/%s/%s", jobExecution.getId(), "marc_export_sliced_1.mrc");
+    var fileLocation2 = String.format("mod-data-export/download/%s/%s", jobExecution.getId(), "marc_export_sliced_2.mrc");
+    var export1 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation1).build();
+    var export2 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation2).build();
+    var expectedS3Path = "mod-data-export/download/" + jobExecution.getId() + "/marc_export-200.zip";
+    when(s3StreamingStorage.isEnabled()).thenReturn(true);
+    when(s3StreamingStorage.getSize(fileLocation1 + DeflatedSlice.SUFFIX)).thenReturn(-1L);
+    when(s3StreamingStorage.getSize(fileLocation2 + DeflatedSlice.SUFFIX)).thenReturn(-1L);
+    when(s3StreamingStorage.getSize(fileLocation1)).thenReturn(4L);
+    when(s3StreamingStorage.getSize(fileLocation2)).thenReturn(4L);
+    when(s3StreamingStorage.openUpload(expectedS3Path)).thenReturn(mock(S3MultipartOutputStream.class));
+    when(s3StreamingStorage.read(fileLocation1)).thenReturn(new ByteArrayInputStream("marc".getBytes()));
+    when(s3StreamingStorage.read(fileLocation2)).thenReturn(new ByteArrayInputStream("marc".getBytes()));
+
+    var s3Path = s3ExportsUploader.upload(jobExecution, List.of(export1, export2), "marc_export");
+    assertEquals(expectedS3Path, s3Path);
+
+    verify(s3StreamingStorage).remove(fileLocation1);
+    verify(s3StreamingStorage).remove(fileLocation2);
+    verifyNoInteractions(s3Client);
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadStreamedExportsIfEmptyTest() {
+    var jobExecution = new JobExecution();
+    jobExecution.setId(UUID.randomUUID());
+    jobExecution.setHrId(200);
+    var fileLocation = String.format("mod-data-export/download/%s/%s", jobExecution.getId(), "marc_export.mrc");
+    var export = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation).build();
+    when(s3StreamingStorage.isEnabled()).thenReturn(true);
+    when(s3StreamingStorage.getSize(fileLocation + DeflatedSlice.SUFFIX)).thenReturn(-1L);
+    when(s3StreamingStorage.getSize(fileLocation)).thenReturn(-1L);
+
+    S3ExportsUploadException s3Exception = assertThrows(S3ExportsUploadException.class, () -> s3ExportsUploader.upload(jobExecution, List.of(export), "marc_export"));
+    assertEquals(EMPTY_FILE_FOR_EXPORT_ERROR_MESSAGE, s3Exception.getMessage());
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadSingleDeflatedExportTest() {
+    var initialFileName = "marc_export";
+    var jobExecution = new JobExecution();
+    jobExecution.setId(UUID.randomUUID());
+    jobExecution.setHrId(200);
+    var temDirLocation  = S3FilePathUtils.getTempDirForJobExecutionId(StringUtils.EMPTY, jobExecution.getId());
+    Files.createDirectories(Path.of(temDirLocation));
+
+    var fileLocation1 = temDirLocation + "marc_export_sliced_1.mrc";
+    var writer =  new LocalStorageWriter(fileLocation1 + DeflatedSlice.SUFFIX, OUTPUT_BUFFER_SIZE, true);
+    writer.write("marc");
+    writer.close();
+    var fileLocation2 = temDirLocation + "marc_export_sliced_2.mrc";
+    writer =  new LocalStorageWriter(fileLocation2 + DeflatedSlice.SUFFIX, OUTPUT_BUFFER_SIZE, true);
+    writer.close();
+
+    var export1 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation1).build();
+    var export2 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation2).build();
+    var uploaded = new ByteArrayOutputStream();
+    doAnswer(invocation -> {
+      invocation.<InputStream>getArgument(1).transferTo(uploaded);
+      return null;
+    }).when(s3Client).write(isA(String.class), isA(InputStream.class), isA(Long.class));
+
+    var expectedS3Path = temDirLocation + "marc_export-200.mrc";
+    var s3Path = s3ExportsUploader.upload(jobExecution, List.of(export1, export2), initialFileName);
+    assertEquals(expectedS3Path, s3Path);
+
+    verify(s3Client).write(eq(expectedS3Path), isA(InputStream.class), eq(4L));
+    assertEquals("marc", uploaded.toString(StandardCharsets.UTF_8));
+    assertFalse(new File(temDirLocation).exists());
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadMultipleDeflatedExportsTest() {
+    var initialFileName = "marc_export";
+    var jobExecution = new JobExecution();
+    jobExecution.setId(UUID.randomUUID());
+    jobExecution.setHrId(200);
+    var temDirLocation  = S3FilePathUtils.getTempDirForJobExecutionId(StringUtils.EMPTY, jobExecution.getId());
+    Files.createDirectories(Path.of(temDirLocation));
+
+    var fileLocation1 = temDirLocation + "marc_export_sliced_1.mrc";
+    var writer =  new LocalStorageWriter(fileLocation1 + DeflatedSlice.SUFFIX, OUTPUT_BUFFER_SIZE, true);
+    writer.write("marc1");
+    writer.close();
+    var fileLocation2 = temDirLocation + "marc_export_sliced_2.mrc";
+    writer =  new LocalStorageWriter(fileLocation2 + DeflatedSlice.SUFFIX, OUTPUT_BUFFER_SIZE, true);
+    writer.write("marc2");
+    writer.close();
+
+    var export1 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation1).build();
+    var export2 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation2).build();
+    var uploaded = new ByteArrayOutputStream();
+    doAnswer(invocation -> {
+      invocation.<InputStream>getArgument(1).transferTo(uploaded);
+      return null;
+    }).when(s3Client).write(isA(String.class), isA(InputStream.class), isA(Long.class));
+
+    var expectedS3Path = temDirLocation + "marc_export-200.zip";
+    var s3Path = s3ExportsUploader.upload(jobExecution, List.of(export1, export2), initialFileName);
+    assertEquals(expectedS3Path, s3Path);
+
+    verify(s3Client).write(eq(expectedS3Path), isA(InputStream.class), eq((long) uploaded.size()));
+    try (var zipInputStream = new ZipInputStream(new ByteArrayInputStream(uploaded.toByteArray()))) {
+      assertEquals("marc_export-200-1.mrc", zipInputStream.getNextEntry().getName());
+      assertEquals("marc1", new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+      assertEquals("marc_export-200-2.mrc", zipInputStream.getNextEntry().getName());
+      assertEquals("marc2", new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertFalse(new File(temDirLocation).exists());
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadGzipExportsTest() {
+    var initialFileName = "marc_export";
+    var jobExecution = new JobExecution();
+    jobExecution.setId(UUID.randomUUID());
+    jobExecution.setHrId(200);
+    var temDirLocation  = S3FilePathUtils.getTempDirForJobExecutionId(StringUtils.EMPTY, jobExecution.getId());
+    Files.createDirectories(Path.of(temDirLocation));
+
+    var fileLocation1 = temDirLocation + "marc_export_sliced_1.mrc";
+    var writer =  new LocalStorageWriter(fileLocation1 + DeflatedSlice.SUFFIX, OUTPUT_BUFFER_SIZE, true);
+    writer.write("marc1");
+    writer.close();
+    var fileLocation2 = temDirLocation + "marc_export_sliced_2.mrc";
+    writer =  new LocalStorageWriter(fileLocation2 + DeflatedSlice.SUFFIX, OUTPUT_BUFFER_SIZE, true);
+    writer.write("marc2");
+    writer.close();
+
+    var export1 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation1).build();
+    var export2 = JobExecutionExportFilesEntity.builder().fileLocation(fileLocation2).build();
+    var uploaded = new ByteArrayOutputStream();
+    doAnswer(invocation -> {
+      invocation.<InputStream>getArgument(1).transferTo(uploaded);
+      return null;
+    }).when(s3Client).write(isA(String.class), isA(InputStream.class), isA(Long.class));
+
+    var expectedS3Path = temDirLocation + "marc_export-200.mrc.gz";
+    var s3Path = s3ExportsUploader.upload(jobExecution, List.of(export1, export2), initialFileName, ExportRequest.OutputFormatEnum.MRC_GZIP);
+    assertEquals(expectedS3Path, s3Path);
+
+    verify(s3Client).write(eq(expectedS3Path), isA(InputStream.class), eq((long) uploaded.size()));
+    try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(uploaded.toByteArray()))) {
+      assertEquals("marc1marc2", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertFalse(new File(temDirLocation).exists());
+  }
 }
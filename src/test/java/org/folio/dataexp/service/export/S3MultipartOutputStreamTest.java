@@ -0,0 +1,103 @@
+package org.folio.dataexp.service.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class S3MultipartOutputStreamTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "mod-data-export/download/job/marc.mrc";
+
+  @Mock
+  private S3Client s3Client;
+
+  @Test
+  @SneakyThrows
+  void shouldPutSmallFileWithSingleRequest() {
+    var data = "marc".getBytes(StandardCharsets.UTF_8);
+
+    try (var outputStream = new S3MultipartOutputStream(s3Client, BUCKET, KEY, 8, Runnable::run, 2)) {
+      outputStream.write(data);
+    }
+
+    var body = ArgumentCaptor.forClass(RequestBody.class);
+    verify(s3Client).putObject(any(Consumer.class), body.capture());
+    verify(s3Client, never()).createMultipartUpload(any(Consumer.class));
+    assertArrayEquals(data, readBody(body.getValue()));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldNotUploadEmptyFile() {
+    new S3MultipartOutputStream(s3Client, BUCKET, KEY, 8, Runnable::run, 2).close();
+
+    verifyNoInteractions(s3Client);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldUploadLargeFileByParts() {
+    when(s3Client.createMultipartUpload(any(Consumer.class))).thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload").build());
+    when(s3Client.uploadPart(any(Consumer.class), any(RequestBody.class))).thenReturn(UploadPartResponse.builder().eTag("etag").build());
+    var data = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    try (var outputStream = new S3MultipartOutputStream(s3Client, BUCKET, KEY, 8, Runnable::run, 2)) {
+      outputStream.write(data, 0, 5);
+      outputStream.write(data, 5, data.length - 5);
+    }
+
+    var bodies = ArgumentCaptor.forClass(RequestBody.class);
+    verify(s3Client, times(3)).uploadPart(any(Consumer.class), bodies.capture());
+    verify(s3Client).completeMultipartUpload(any(Consumer.class));
+    var uploaded = new ByteArrayOutputStream();
+    for (var body : bodies.getAllValues()) {
+      uploaded.write(readBody(body));
+    }
+    assertArrayEquals(data, uploaded.toByteArray());
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldAbortUploadIfPartFailed() {
+    when(s3Client.createMultipartUpload(any(Consumer.class))).thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload").build());
+    when(s3Client.uploadPart(any(Consumer.class), any(RequestBody.class))).thenThrow(S3Exception.builder().message("error").build());
+    var outputStream = new S3MultipartOutputStream(s3Client, BUCKET, KEY, 8, Runnable::run, 2);
+
+    outputStream.write(new byte[12]);
+
+    assertThrows(IOException.class, outputStream::close);
+    verify(s3Client).abortMultipartUpload(any(Consumer.class));
+    verify(s3Client, never()).completeMultipartUpload(any(Consumer.class));
+  }
+
+  @SneakyThrows
+  private byte[] readBody(RequestBody body) {
+    try (var inputStream = body.contentStreamProvider().newStream()) {
+      return inputStream.readAllBytes();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package org.folio.dataexp.service.export;
+
+import org.folio.dataexp.domain.dto.ExportRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.folio.dataexp.service.export.SliceScheduler.Lane.ALL;
+import static org.folio.dataexp.service.export.SliceScheduler.Lane.IDS_FILE;
+import static org.folio.dataexp.service.export.SliceScheduler.Lane.QUICK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SliceSchedulerTest {
+
+  private final List<Runnable> pending = new ArrayList<>();
+  private final List<String> executed = new ArrayList<>();
+  private SliceScheduler sliceScheduler;
+
+  @BeforeEach
+  void setUp() {
+    sliceScheduler = new SliceScheduler();
+    sliceScheduler.setSingleExportFileTaskExecutor(pending::add);
+    sliceScheduler.setMaxPoolSize(1);
+    sliceScheduler.setTenantMaxPoolSize(0);
+    sliceScheduler.setTenantPoolSizes("");
+    ReflectionTestUtils.setField(sliceScheduler, "taskDecorator", (TaskDecorator) runnable -> runnable);
+  }
+
+  @Test
+  void shouldRunSlicesOfHigherPriorityLanesFirst() {
+    submit("tenant_a", ALL, "all-1");
+    submit("tenant_a", ALL, "all-2");
+    submit("tenant_a", IDS_FILE, "ids-1");
+    submit("tenant_b", QUICK, "quick-1");
+
+    runPending();
+
+    assertEquals(List.of("all-1", "quick-1", "ids-1", "all-2"), executed);
+  }
+
+  @Test
+  void shouldGiveTenantsTurnsInsideLane() {
+    submit("tenant_a", ALL, "a-1");
+    submit("tenant_a", ALL, "a-2");
+    submit("tenant_a", ALL, "a-3");
+    submit("tenant_b", ALL, "b-1");
+
+    runPending();
+
+    assertEquals(List.of("a-1", "b-1", "a-2", "a-3"), executed);
+  }
+
+  @Test
+  void shouldNotRunMoreSlicesOfTenantThanItsCap() {
+    sliceScheduler.setMaxPoolSize(2);
+    sliceScheduler.setTenantPoolSizes("tenant_a:1, tenant_c:3");
+
+    submit("tenant_a", ALL, "a-1");
+    submit("tenant_a", ALL, "a-2");
+    submit("tenant_b", ALL, "b-1");
+
+    assertEquals(2, sliceScheduler.getRunning());
+    assertEquals(1, sliceScheduler.getQueued(ALL));
+
+    runPending();
+
+    assertEquals(List.of("a-1", "b-1", "a-2"), executed);
+    assertEquals(0, sliceScheduler.getRunning());
+    assertEquals(0, sliceScheduler.getQueued(ALL));
+  }
+
+  @Test
+  void shouldRequeueSlicesRejectedByExecutor() {
+    sliceScheduler.setMaxPoolSize(2);
+    var rejecting = new AtomicBoolean(true);
+    sliceScheduler.setSingleExportFileTaskExecutor(task -> {
+      if (rejecting.get()) {
+        throw new TaskRejectedException("Executor is saturated");
+      }
+      pending.add(task);
+    });
+
+    submit("tenant_a", ALL, "a-1");
+    submit("tenant_a", ALL, "a-2");
+
+    assertEquals(0, sliceScheduler.getRunning());
+    assertEquals(2, sliceScheduler.getQueued(ALL));
+
+    rejecting.set(false);
+    submit("tenant_a", ALL, "a-3");
+
+    assertEquals(2, sliceScheduler.getRunning());
+    assertEquals(1, sliceScheduler.getQueued(ALL));
+
+    runPending();
+
+    assertEquals(List.of("a-1", "a-2", "a-3"), executed);
+    assertEquals(0, sliceScheduler.getRunning());
+    assertEquals(0, sliceScheduler.getQueued(ALL));
+  }
+
+  @Test
+  void shouldResolveLaneOfExportRequest() {
+    assertEquals(QUICK, SliceScheduler.Lane.of(new ExportRequest().quick(true)));
+    assertEquals(ALL, SliceScheduler.Lane.of(new ExportRequest().all(true)));
+    assertEquals(IDS_FILE, SliceScheduler.Lane.of(new ExportRequest()));
+  }
+
+  private void submit(String tenantId, SliceScheduler.Lane lane, String slice) {
+    sliceScheduler.submit(tenantId, lane, () -> executed.add(slice));
+  }
+
+  private void runPending() {
+    while (!pending.isEmpty()) {
+      pending.remove(0).run();
+    }
+  }
+}
@@ -35,22 +35,30 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -125,10 +133,11 @@ class AbstractExportStrategyTest {
     when(jobExecutionService.getById(exportIdEntity.getJobExecutionId())).thenReturn(jobExecution);
     when(jobProfileEntityRepository.getReferenceById(jobProfileEntity.getId())).thenReturn(jobProfileEntity);
     when(mappingProfileEntityRepository.getReferenceById(jobProfileEntity.getMappingProfileId())).thenReturn(mappingProfileEntity);
-    when(jobExecutionEntityRepository.getReferenceById(isA(UUID.class))).thenReturn(jobExecutionEntity);
 
-    var exportStatistic = exportStrategy.saveMarcToLocalStorage(exportFilesEntity, new ExportRequest(), new ExportedMarcListener(jobExecutionEntityRepository, 1, jobExecutionEntity.getId()));
+    var exportedMarcListener = new ExportedMarcListener(jobExecutionEntityRepository, 1, jobExecutionEntity.getId());
+    var exportStatistic = exportStrategy.saveMarcToLocalStorage(exportFilesEntity, new ExportRequest(), exportedMarcListener);
     assertEquals(2, exportStatistic.getExported());
+    assertEquals(2, exportedMarcListener.getExportedCount());
     assertEquals(1, exportStatistic.getDuplicatedSrs());
     assertEquals(0, exportStatistic.getFailed());
 
@@ -139,7 +148,7 @@ class AbstractExportStrategyTest {
       .saveGeneralErrorWithMessageValues(eq(ErrorCode.ERROR_NON_EXISTING_INSTANCE.getCode()), eq(List.of(marcRecordEntity.getId().toString())), eq(jobExecution.getId()));
     verify(errorLogService, times(1))
       .saveGeneralErrorWithMessageValues(eq(ErrorCode.ERROR_DUPLICATE_SRS_RECORD.getCode()), isA(List.class), eq(jobExecution.getId()));
-    verify(jobExecutionEntityRepository, times(2)).save(isA(JobExecutionEntity.class));
+    verifyNoInteractions(jobExecutionEntityRepository);
     verify(localStorageWriter, times(2)).write(isA(String.class));
   }
 
@@ -244,6 +253,74 @@ class AbstractExportStrategyTest {
     assertEquals("123", jsonObject.getAsString("id"));
   }
 
+  @Test
+  void convertInParallelShouldReturnResultsInOrderOfSourcesTest() {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      exportStrategy.setConversionPoolSize(4);
+      ReflectionTestUtils.setField(exportStrategy, "marcConversionExecutor", executor);
+      var sources = IntStream.range(0, 230).boxed().toList();
+      var threads = ConcurrentHashMap.<String>newKeySet();
+
+      var conversions = exportStrategy.convertInParallel(sources, source -> {
+        threads.add(Thread.currentThread().getName());
+        if (source == 117) {
+          throw new IllegalStateException("conversion error");
+        }
+        return "marc-" + source;
+      });
+
+      assertEquals(sources.size(), conversions.size());
+      assertTrue(threads.size() > 1);
+      for (int i = 0; i < sources.size(); i++) {
+        if (i == 117) {
+          assertTrue(conversions.get(i).isFailed());
+          assertEquals("conversion error", conversions.get(i).getError().getMessage());
+        } else {
+          assertFalse(conversions.get(i).isFailed());
+          assertEquals("marc-" + i, conversions.get(i).getMarc());
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void saveMarcToLocalStorageWhenConvertedInParallelTest() {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      exportStrategy.setConversionPoolSize(4);
+      ReflectionTestUtils.setField(exportStrategy, "marcConversionExecutor", executor);
+      var jobExecutionId = UUID.randomUUID();
+      var json = """
+        {
+            "leader": "00476cy  a22001574  4500"
+        }""";
+      var invalidJson = """
+        {
+          invalid
+        }""";
+      var marcRecords = new ArrayList<MarcRecordEntity>();
+      for (int i = 0; i < 120; i++) {
+        marcRecords.add(new MarcRecordEntity(UUID.randomUUID(), UUID.randomUUID(), i == 73 ? invalidJson : json, "type", "ACTUAL", 'c', false, 0, false));
+      }
+      var statistic = new ExportStrategyStatistic(new ExportedMarcListener(null, 1000, null));
+
+      exportStrategy.createAndSaveMarcFromJsonRecord(new HashSet<>(), statistic, new MappingProfile(), jobExecutionId, new HashSet<>(),
+        marcRecords, localStorageWriter);
+
+      assertEquals(119, statistic.getExported());
+      assertEquals(1, statistic.getFailed());
+      verify(localStorageWriter, times(119)).write(isA(String.class));
+      verify(errorLogService).saveGeneralError(
+        String.format(ErrorCode.ERROR_CONVERTING_JSON_TO_MARC.getDescription(), marcRecords.get(73).getExternalId()), jobExecutionId);
+      verifyNoMoreInteractions(errorLogService);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   class TestExportStrategy extends AbstractExportStrategy {
 
     TestExportStrategy(int exportBatch) {
@@ -280,7 +357,7 @@ class AbstractExportStrategyTest {
     }
 
     @Override
-    protected LocalStorageWriter createLocalStorageWrite(JobExecutionExportFilesEntity exportFilesEntity) {
+    protected LocalStorageWriter createLocalStorageWrite(JobExecutionExportFilesEntity exportFilesEntity, ExportRequest exportRequest) {
       return localStorageWriter;
     }
   }
@@ -0,0 +1,90 @@
+package org.folio.dataexp.service.export.strategies;
+
+import org.folio.dataexp.client.ConsortiumSearchClient;
+import org.folio.dataexp.domain.dto.Holdings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConsortiumHoldingsTenantResolverTest {
+
+  @Mock
+  private ConsortiumSearchClient consortiumSearchClient;
+
+  private ExecutorService executor;
+  private ConsortiumHoldingsTenantResolver resolver;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+    resolver = new ConsortiumHoldingsTenantResolver(consortiumSearchClient, executor);
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldResolveTenantsOfBatchAndCacheThemPerJob() {
+    var jobExecutionId = UUID.randomUUID();
+    var holdingsIdA = UUID.randomUUID();
+    var holdingsIdB = UUID.randomUUID();
+    var holdingsIdNotFound = UUID.randomUUID();
+    when(consortiumSearchClient.getHoldingsById(holdingsIdA.toString())).thenReturn(holdings("memberA"));
+    when(consortiumSearchClient.getHoldingsById(holdingsIdB.toString())).thenReturn(holdings("memberB"));
+    when(consortiumSearchClient.getHoldingsById(holdingsIdNotFound.toString())).thenReturn(holdings(null));
+
+    var tenants = resolver.resolveTenants(jobExecutionId, List.of(holdingsIdA, holdingsIdB, holdingsIdNotFound));
+    var cachedTenants = resolver.resolveTenants(jobExecutionId, List.of(holdingsIdA, holdingsIdNotFound));
+
+    assertEquals(Map.of(holdingsIdA, "memberA", holdingsIdB, "memberB"), tenants);
+    assertEquals(Map.of(holdingsIdA, "memberA"), cachedTenants);
+    verify(consortiumSearchClient, times(1)).getHoldingsById(holdingsIdA.toString());
+    verify(consortiumSearchClient, times(1)).getHoldingsById(holdingsIdNotFound.toString());
+  }
+
+  @Test
+  void shouldNotShareCachedTenantsBetweenJobs() {
+    var holdingsId = UUID.randomUUID();
+    when(consortiumSearchClient.getHoldingsById(holdingsId.toString())).thenReturn(holdings("memberA"));
+
+    resolver.resolveTenants(UUID.randomUUID(), List.of(holdingsId));
+    resolver.resolveTenants(UUID.randomUUID(), List.of(holdingsId));
+
+    verify(consortiumSearchClient, times(2)).getHoldingsById(holdingsId.toString());
+  }
+
+  @Test
+  void shouldRethrowErrorOfLookup() {
+    var holdingsId = UUID.randomUUID();
+    when(consortiumSearchClient.getHoldingsById(holdingsId.toString())).thenThrow(new IllegalStateException("search is not available"));
+    var holdingsIds = List.of(holdingsId);
+    var jobExecutionId = UUID.randomUUID();
+
+    var exception = assertThrows(IllegalStateException.class, () -> resolver.resolveTenants(jobExecutionId, holdingsIds));
+    assertEquals("search is not available", exception.getMessage());
+  }
+
+  private Holdings holdings(String tenantId) {
+    var holdings = new Holdings();
+    holdings.setTenantId(tenantId);
+    return holdings;
+  }
+}
@@ -0,0 +1,109 @@
+package org.folio.dataexp.service.export.strategies;
+
+import lombok.SneakyThrows;
+import org.folio.dataexp.repository.JobExecutionEntityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportedMarcListenerTest {
+
+  private static final UUID JOB_EXECUTION_ID = UUID.randomUUID();
+
+  @Mock
+  private JobExecutionEntityRepository jobExecutionEntityRepository;
+
+  @Test
+  @SneakyThrows
+  void shouldCountExportedFromManyThreads() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 1, JOB_EXECUTION_ID);
+    var executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i++) {
+      executor.execute(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          listener.incrementExported();
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    listener.removeExported(5_000);
+
+    assertEquals(35_000, listener.getExportedCount());
+    verifyNoInteractions(jobExecutionEntityRepository);
+  }
+
+  @Test
+  void shouldReportWhenStepIsReached() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 3, JOB_EXECUTION_ID);
+    when(jobExecutionEntityRepository.updateExported(JOB_EXECUTION_ID, 3)).thenReturn(1);
+
+    listener.incrementExported();
+    listener.incrementExported();
+    assertTrue(listener.report());
+    listener.incrementExported();
+    assertTrue(listener.report());
+    assertTrue(listener.report());
+
+    verify(jobExecutionEntityRepository).updateExported(JOB_EXECUTION_ID, 3);
+    verifyNoMoreInteractions(jobExecutionEntityRepository);
+  }
+
+  @Test
+  void shouldReportBelowStepAfterIdleReports() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 1000, JOB_EXECUTION_ID);
+    when(jobExecutionEntityRepository.updateExported(JOB_EXECUTION_ID, 1)).thenReturn(1);
+
+    listener.incrementExported();
+    for (int i = 0; i < 5; i++) {
+      assertTrue(listener.report());
+    }
+
+    verify(jobExecutionEntityRepository).updateExported(JOB_EXECUTION_ID, 1);
+  }
+
+  @Test
+  void shouldStopReportingIfJobExecutionIsNotInProgress() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 1, JOB_EXECUTION_ID);
+    var reporting = mock(ScheduledFuture.class);
+    listener.setReporting(reporting);
+    when(jobExecutionEntityRepository.updateExported(JOB_EXECUTION_ID, 1)).thenReturn(0);
+
+    listener.incrementExported();
+    assertFalse(listener.report());
+    listener.stopReporting();
+
+    verify(reporting).cancel(false);
+  }
+
+  @Test
+  void shouldCheckStatusOfIdleJobExecutionAfterIdleReports() {
+    var listener = new ExportedMarcListener(jobExecutionEntityRepository, 1000, JOB_EXECUTION_ID);
+    when(jobExecutionEntityRepository.isInProgress(JOB_EXECUTION_ID)).thenReturn(true, false);
+
+    for (int i = 0; i < 9; i++) {
+      assertTrue(listener.report());
+    }
+    assertFalse(listener.report());
+
+    verify(jobExecutionEntityRepository, times(2)).isInProgress(JOB_EXECUTION_ID);
+    verifyNoMoreInteractions(jobExecutionEntityRepository);
+  }
+}
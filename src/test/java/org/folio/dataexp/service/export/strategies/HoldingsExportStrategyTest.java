@@ -36,24 +36,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.dataexp.service.export.Constants.HOLDINGS_KEY;
+import static org.folio.dataexp.service.export.Constants.ID_KEY;
 import static org.folio.dataexp.service.export.Constants.INSTANCE_HRID_KEY;
 import static org.folio.dataexp.service.export.Constants.ITEMS_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
@@ -104,6 +111,8 @@ class HoldingsExportStrategyTest {
     holdingsExportStrategy.folioExecutionContext = folioExecutionContext;
     holdingsExportStrategy.entityManager = entityManager;
     holdingsExportStrategy.errorLogService = errorLogService;
+    ReflectionTestUtils.setField(holdingsExportStrategy, "consortiumHoldingsTenantResolver",
+      new ConsortiumHoldingsTenantResolver(consortiumSearchClient, Runnable::run));
   }
 
   @Test
@@ -167,6 +176,65 @@ class HoldingsExportStrategyTest {
     assertEquals(1, generatedMarcResult.getFailedIds().size());
   }
 
+  @Test
+  void getGeneratedMarcWhenConvertedInParallelTest() throws TransformationRuleException {
+    var holdingsIds = IntStream.range(0, 120).mapToObj(i -> UUID.randomUUID()).toList();
+    var failedHoldingsId = holdingsIds.get(77);
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      holdingsExportStrategy.setConversionPoolSize(4);
+      ReflectionTestUtils.setField(holdingsExportStrategy, "marcConversionExecutor", executor);
+      doAnswer(invocation -> {
+        if (failedHoldingsId.toString().equals(getHoldingsId(invocation.getArgument(0)))) {
+          throw new MarcException("marc error");
+        }
+        return invocation.getArgument(1);
+      }).when(ruleHandler).preHandle(isA(JSONObject.class), anyList());
+      when(ruleProcessor.process(isA(EntityReader.class), isA(RecordWriter.class), any(), anyList(), any())).thenReturn("marc");
+      var jobExecutionId = UUID.randomUUID();
+
+      var result = holdingsExportStrategy.getGeneratedMarc(new MappingProfile(), getHoldingsJsons(holdingsIds), jobExecutionId,
+        new GeneratedMarcResult(jobExecutionId));
+
+      assertEquals(119, result.getMarcRecords().size());
+      assertEquals(List.of(failedHoldingsId), result.getFailedIds());
+      verify(errorLogService).saveGeneralErrorWithMessageValues(isA(String.class),
+        eq(List.of("marc error for holding " + failedHoldingsId)), eq(jobExecutionId));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void getGeneratedMarcShouldRethrowNotMarcExceptionWhenConvertedInParallelTest() throws TransformationRuleException {
+    var holdingsIds = IntStream.range(0, 120).mapToObj(i -> UUID.randomUUID()).toList();
+    var failedHoldingsId = holdingsIds.get(77);
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      holdingsExportStrategy.setConversionPoolSize(4);
+      ReflectionTestUtils.setField(holdingsExportStrategy, "marcConversionExecutor", executor);
+      doAnswer(invocation -> {
+        if (failedHoldingsId.toString().equals(getHoldingsId(invocation.getArgument(0)))) {
+          throw new IllegalStateException("conversion error");
+        }
+        return invocation.getArgument(1);
+      }).when(ruleHandler).preHandle(isA(JSONObject.class), anyList());
+      when(ruleProcessor.process(isA(EntityReader.class), isA(RecordWriter.class), any(), anyList(), any())).thenReturn("marc");
+      var jobExecutionId = UUID.randomUUID();
+      var holdingsJsons = getHoldingsJsons(holdingsIds);
+      var result = new GeneratedMarcResult(jobExecutionId);
+      var mappingProfile = new MappingProfile();
+
+      var exception = assertThrows(IllegalStateException.class,
+        () -> holdingsExportStrategy.getGeneratedMarc(mappingProfile, holdingsJsons, jobExecutionId, result));
+
+      assertEquals("conversion error", exception.getMessage());
+      assertTrue(result.getFailedIds().isEmpty());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   void getHoldingsWithInstanceAndItemsTest() {
     var holding = "{'id' : '0eaa7eef-9633-4c7e-af09-796315ebc576'}";
@@ -178,13 +246,13 @@ class HoldingsExportStrategyTest {
     var instanceEntity = InstanceEntity.builder().jsonb(instance).id(instanceId).build();
     var mappingProfile = new MappingProfile();
     mappingProfile.setRecordTypes(List.of(RecordTypes.ITEM));
-    var itemEntity = ItemEntity.builder().id(UUID.randomUUID()).jsonb(item).build();
+    var itemEntity = ItemEntity.builder().id(UUID.randomUUID()).holdingsRecordId(holdingId).jsonb(item).build();
 
     var generatedMarcResult = new GeneratedMarcResult(UUID.randomUUID());
 
     when(holdingsRecordEntityRepository.findByIdIn(anySet())).thenReturn(List.of(holdingRecordEntity));
     when(instanceEntityRepository.findByIdIn(anySet())).thenReturn(List.of(instanceEntity));
-    when(itemEntityRepository.findByHoldingsRecordIdIs(holdingId)).thenReturn(List.of(itemEntity));
+    when(itemEntityRepository.findByHoldingsRecordIdIn(Set.of(holdingId))).thenReturn(List.of(itemEntity));
     doNothing().when(holdingsExportStrategy.entityManager).clear();
 
     var holdingsWithInstanceAndItems = holdingsExportStrategy.getHoldingsWithInstanceAndItems(new HashSet<>(Set.of(holdingId)), generatedMarcResult, mappingProfile, UUID.randomUUID());
@@ -295,4 +363,22 @@ class HoldingsExportStrategyTest {
       new ExportStrategyStatistic(null));
     assertThat(res.getMarcRecords()).hasSize(1);
   }
+
+  private Map<UUID, JSONObject> getHoldingsJsons(List<UUID> holdingsIds) {
+    var holdingsJsons = new LinkedHashMap<UUID, JSONObject>();
+    for (var holdingsId : holdingsIds) {
+      var holdings = new JSONObject();
+      holdings.put(ID_KEY, holdingsId.toString());
+      var holdingsArray = new JSONArray();
+      holdingsArray.add(holdings);
+      var jsonObject = new JSONObject();
+      jsonObject.put(HOLDINGS_KEY, holdingsArray);
+      holdingsJsons.put(holdingsId, jsonObject);
+    }
+    return holdingsJsons;
+  }
+
+  private String getHoldingsId(JSONObject jsonObject) {
+    return ((JSONObject) ((JSONArray) jsonObject.get(HOLDINGS_KEY)).get(0)).getAsString(ID_KEY);
+  }
 }
@@ -35,10 +35,12 @@ import static org.folio.dataexp.service.export.Constants.ID_KEY;
 import static org.folio.dataexp.service.export.Constants.INSTANCE_HRID_KEY;
 import static org.folio.dataexp.service.export.Constants.ITEMS_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -96,6 +98,47 @@ class HoldingsItemsResolverServiceTest {
     assertEquals(1, itemJsonArray.size());
   }
 
+  @Test
+  void retrieveHoldingsAndItemsByInstanceIdsForLocalTenantTest() {
+    var holdingId = UUID.fromString("0eaa7eef-9633-4c7e-af09-796315ebc576");
+    var otherHoldingId = UUID.fromString("0eaa7eef-9633-4c7e-af09-796315ebc577");
+    var instanceId = UUID.fromString("1eaa1eef-1633-4c7e-af09-796315ebc576");
+    var otherInstanceId = UUID.fromString("1eaa1eef-1633-4c7e-af09-796315ebc577");
+    var instanceWithoutHoldingsId = UUID.fromString("1eaa1eef-1633-4c7e-af09-796315ebc578");
+    var holdingRecordEntity = HoldingsRecordEntity.builder().jsonb("{'id' : '0eaa7eef-9633-4c7e-af09-796315ebc576'}")
+      .id(holdingId).instanceId(instanceId).build();
+    var otherHoldingRecordEntity = HoldingsRecordEntity.builder().jsonb("{'id' : '0eaa7eef-9633-4c7e-af09-796315ebc577'}")
+      .id(otherHoldingId).instanceId(otherInstanceId).build();
+    var itemEntity = ItemEntity.builder().id(UUID.randomUUID()).holdingsRecordId(otherHoldingId).jsonb("{'barcode' : 'itemBarcode'}").build();
+    var mappingProfile = new MappingProfile();
+    mappingProfile.setRecordTypes(List.of(RecordTypes.INSTANCE, RecordTypes.HOLDINGS, RecordTypes.ITEM));
+
+    when(folioExecutionContext.getTenantId()).thenReturn("localTenant");
+    when(holdingsRecordEntityRepository.findByInstanceIdIn(Set.of(instanceId, otherInstanceId, instanceWithoutHoldingsId)))
+      .thenReturn(List.of(holdingRecordEntity, otherHoldingRecordEntity));
+    when(itemEntityTenantRepository.findByHoldingsRecordIdIn("localTenant", Set.of(holdingId, otherHoldingId))).thenReturn(List.of(itemEntity));
+
+    var instances = new HashMap<UUID, JSONObject>();
+    instances.put(instanceId, new JSONObject());
+    instances.put(otherInstanceId, new JSONObject());
+    instances.put(instanceWithoutHoldingsId, new JSONObject());
+    var hrids = new HashMap<UUID, String>();
+    hrids.put(instanceId, "instHrid");
+    hrids.put(otherInstanceId, "otherInstHrid");
+    hrids.put(instanceWithoutHoldingsId, "noHoldingsHrid");
+
+    holdingsItemsResolverService.retrieveHoldingsAndItemsByInstanceIds(instances, hrids, mappingProfile, UUID.randomUUID());
+
+    var holdingJson = (JSONObject)((JSONArray)instances.get(instanceId).get(HOLDINGS_KEY)).get(0);
+    assertEquals("instHrid", holdingJson.getAsString(INSTANCE_HRID_KEY));
+    assertEquals(0, ((JSONArray)holdingJson.get(ITEMS_KEY)).size());
+    var otherHoldingJson = (JSONObject)((JSONArray)instances.get(otherInstanceId).get(HOLDINGS_KEY)).get(0);
+    assertEquals("otherInstHrid", otherHoldingJson.getAsString(INSTANCE_HRID_KEY));
+    assertEquals(1, ((JSONArray)otherHoldingJson.get(ITEMS_KEY)).size());
+    assertFalse(instances.get(instanceWithoutHoldingsId).containsKey(HOLDINGS_KEY));
+    verify(holdingsRecordEntityRepository, never()).findByInstanceIdIs(isA(UUID.class));
+  }
+
   @Test
   void retrieveHoldingsAndItemsByInstanceIdForCentralTenantTest() {
     var jobExecutionId = UUID.randomUUID();
@@ -2,12 +2,9 @@ package org.folio.dataexp.service.export.strategies;
 
 import net.minidev.json.JSONObject;
 import org.apache.maven.shared.utils.StringUtils;
-import org.folio.dataexp.domain.dto.JobExecution;
-import org.folio.dataexp.domain.dto.JobExecutionProgress;
 import org.folio.dataexp.domain.dto.MappingProfile;
 import org.folio.dataexp.domain.entity.AuditInstanceEntity;
 import org.folio.dataexp.domain.entity.InstanceEntity;
-import org.folio.dataexp.domain.entity.JobExecutionEntity;
 import org.folio.dataexp.domain.entity.MarcRecordEntity;
 import org.folio.dataexp.repository.AuditInstanceEntityRepository;
 import org.folio.dataexp.repository.InstanceEntityRepository;
@@ -155,7 +152,6 @@ class InstancesExportAllStrategyTest {
     var externalIds = Collections.asSet(instanceId);
 
     when(instanceEntityRepository.findByIdIn(anySet())).thenReturn(List.of());
-    when(jobExecutionEntityRepository.getReferenceById(jobExecutionId)).thenReturn(new JobExecutionEntity().withJobExecution(new JobExecution().progress(new JobExecutionProgress())));
     when(auditInstanceEntityRepository.findByIdIn(anySet())).thenReturn(List.of(auditInstanceEntity));
 
     instancesExportAllStrategy.createAndSaveMarcFromJsonRecord(externalIds, statistic, new MappingProfile(), jobExecutionId, Set.of(instanceId), List.of(marcRecord, marcRecordDuplicate), localStorageWriter);
@@ -54,8 +54,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doNothing;
@@ -196,6 +198,7 @@ class InstancesExportStrategyTest {
     var instanceEntity = InstanceEntity.builder().jsonb(instance).id(UUID.randomUUID()).build();
 
     when(mappingProfileEntityRepository.getReferenceById(isA(UUID.class))).thenReturn(defaultMappingProfileEntity);
+    when(folioExecutionContext.getTenantId()).thenReturn("tenant");
     when(instanceEntityRepository.findByIdIn(anySet())).thenReturn(List.of(instanceEntity));
     when(mappingProfileEntityRepository.getReferenceById(defaultMappingProfile.getId())).thenReturn(defaultMappingProfileEntity);
     doNothing().when(instancesExportStrategy.entityManager).clear();
@@ -233,6 +236,7 @@ class InstancesExportStrategyTest {
     var instanceEntity = InstanceEntity.builder().jsonb(instance).id(UUID.randomUUID()).build();
 
     when(mappingProfileEntityRepository.getReferenceById(isA(UUID.class))).thenReturn(defaultMappingProfileEntity);
+    when(folioExecutionContext.getTenantId()).thenReturn("tenant");
     when(instanceEntityRepository.findByIdIn(anySet())).thenReturn(List.of(instanceEntity));
     when(mappingProfileEntityRepository.getReferenceById(defaultMappingProfile.getId())).thenReturn(defaultMappingProfileEntity);
     doThrow(new MarcException()).when(ruleProcessor).process(isA(EntityReader.class), isA(RecordWriter.class), any(), anyList(), any());
@@ -271,7 +275,8 @@ class InstancesExportStrategyTest {
     var instancesWithHoldingsAndItems = instancesExportStrategy.getInstancesWithHoldingsAndItems(new HashSet<>(Set.of(instanceId, notExistId)),
         generatedMarcResult, mappingProfile);
 
-    verify(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceId(isA(JSONObject.class), eq(instanceId), isA(String.class), isA(MappingProfile.class), isA(UUID.class));
+    verify(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceIds(argThat(instances -> instances.keySet().equals(Set.of(instanceId))),
+      anyMap(), isA(MappingProfile.class), isA(UUID.class));
 
     assertEquals(1, instancesWithHoldingsAndItems.size());
 
@@ -304,7 +309,8 @@ class InstancesExportStrategyTest {
 
     var instancesWithHoldingsAndItems = instancesExportStrategy.getInstancesWithHoldingsAndItems(new HashSet<>(Set.of(instanceId, notExistId)), generatedMarcResult, mappingProfile);
 
-    verify(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceId(isA(JSONObject.class), eq(instanceId), isA(String.class), isA(MappingProfile.class), isA(UUID.class));
+    verify(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceIds(argThat(instances -> instances.keySet().equals(Set.of(instanceId))),
+      anyMap(), isA(MappingProfile.class), isA(UUID.class));
     assertEquals(2, instancesWithHoldingsAndItems.size());
 
     var jsonObject = instancesWithHoldingsAndItems.get(0);
@@ -353,12 +359,12 @@ class InstancesExportStrategyTest {
 
     when(instanceWithHridEntityRepository.findByIdIn(anySet())).thenReturn(List.of(instanceHridEntity));
     when(holdingsItemsResolverService.isNeedUpdateWithHoldingsOrItems(isA(MappingProfile.class))).thenReturn(true);
-    doNothing().when(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceId(isA(JSONObject.class), eq(instanceId), isA(String.class), isA(MappingProfile.class), isA(UUID.class));
     when(ruleProcessor.processFields(any(), any(), any(), anyList(), any())).thenReturn(List.of(variableField));
 
     var marcFieldsByExternalId= instancesExportStrategy.getAdditionalMarcFieldsByExternalId(List.of(marcRecord), mappingProfile, UUID.randomUUID());
 
-    verify(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceId(isA(JSONObject.class), eq(instanceId), isA(String.class), isA(MappingProfile.class), isA(UUID.class));
+    verify(holdingsItemsResolverService).retrieveHoldingsAndItemsByInstanceIds(argThat(instances -> instances.keySet().equals(Set.of(instanceId))),
+      anyMap(), isA(MappingProfile.class), isA(UUID.class));
     assertNotNull(marcFieldsByExternalId);
 
     var actualMarcField = marcFieldsByExternalId.get(instanceId);
@@ -0,0 +1,114 @@
+package org.folio.dataexp.service.export.strategies;
+
+import lombok.SneakyThrows;
+import org.folio.dataexp.domain.dto.MappingProfile;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.marc4j.MarcJsonReader;
+import org.marc4j.MarcStreamWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MarcJsonStreamEncoderTest {
+
+  private final MarcJsonStreamEncoder encoder = new MarcJsonStreamEncoder();
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    """
+      {"fields": [{"001": "ho00000000009"}], "leader": "00476cy  a22001574  4500"}""",
+    """
+      {
+        "leader": "01428nam a22003733c 4500",
+        "fields": [
+          {"001": "in00041"},
+          {"005": "20171004205343.0"},
+          {"008": "890224c19429999mnuuu l       0    2eng  "},
+          {"035": {"ind1": " ", "ind2": " ", "subfields": [{"a": "(OCoLC)10724092"}]}},
+          {"245": {"subfields": [{"a": "Café \\u00e9t\\u00e9 😀 "}, {"c": "Ünïcödé"}], "ind2": "0", "ind1": "1"}},
+          {"999": {"ind1": "f", "ind2": "f", "subfields": [{"s": "bc5caa84-e85c-4c98-9956-50ccdaad7115"}]}}
+        ]
+      }""",
+    """
+      {
+        "leader": "00000cz  a2200000n  4500",
+        "fields": [
+          {"100": {"ind1": "1", "ind2": " ", "subfields": [{"a": "Author"}]}},
+          {"001": "auth001"},
+          {"008": ""}
+        ]
+      }"""
+  })
+  @SneakyThrows
+  void shouldEncodeSameAsMarc4j(String json) {
+    assertEquals(convertWithMarc4j(json), encoder.encode(json));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    // control field with data field tag
+    """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"001": "in00041"}, {"035": "1567726"}]}""",
+    // 001 which is not the first control field
+    """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"005": "20171004205343.0"}, {"001": "in00041"}]}""",
+    // leader of invalid length
+    """
+      {"leader": "01428nam a2200", "fields": [{"001": "in00041"}]}""",
+    // leader with non-numeric base address
+    """
+      {"leader": "01428nam a22ab3733c 4500", "fields": [{"001": "in00041"}]}""",
+    // indicator of two characters
+    """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"245": {"ind1": "10", "ind2": " ", "subfields": [{"a": "title"}]}}]}""",
+    // not a json
+    """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"001": """
+  })
+  @SneakyThrows
+  void shouldLeaveRecordToMarc4jIfNotSupported(String json) {
+    assertNull(encoder.encode(json));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {9000, 100_000})
+  @SneakyThrows
+  void shouldLeaveOversizedRecordToMarc4j(int length) {
+    var json = """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"500": {"ind1": " ", "ind2": " ", "subfields": [{"a": "%s"}]}}]}"""
+      .formatted("a".repeat(length));
+    var expected = length > 9999 ? null : convertWithMarc4j(json);
+    assertEquals(expected, encoder.encode(json));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"001": "in00041"}, {"035": "1567726"}]}""",
+    """
+      {"leader": "01428nam a22003733c 4500", "fields": [{"001": "in00041"}, {"035": {"ind1": " ", "ind2": " ", "subfields": [{"a": "1"}]}}]}"""
+  })
+  @SneakyThrows
+  void shouldConvertSupportedAndNotSupportedRecords(String json) {
+    var converter = new JsonToMarcConverter();
+
+    assertEquals(convertWithMarc4j(json), converter.convertJsonRecordToMarcRecord(json, List.of(), new MappingProfile()));
+  }
+
+  @SneakyThrows
+  private String convertWithMarc4j(String json) {
+    var outputStream = new ByteArrayOutputStream();
+    var reader = new MarcJsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    var writer = new MarcStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+    while (reader.hasNext()) {
+      writer.write(reader.next());
+    }
+    return outputStream.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -51,6 +51,8 @@ import static org.folio.dataexp.service.export.strategies.translation.builder.Lo
 import static org.folio.dataexp.service.export.strategies.translation.builder.LocationTranslationBuilder.LIBRARIES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RuleFactoryTest extends BaseDataExportInitializer {
@@ -893,4 +895,47 @@ class RuleFactoryTest extends BaseDataExportInitializer {
 
     assertTrue(rules.stream().noneMatch(rule -> "999".equals(rule.getField())));
   }
+
+  @Test
+  @SneakyThrows
+  void shouldReturnCachedRules_whenMappingProfileContentIsSame() {
+    var mappingProfileId = UUID.randomUUID();
+    var mappingProfile = MappingProfile.builder()
+      .id(mappingProfileId)
+      .recordTypes(Collections.singletonList(RecordTypes.INSTANCE))
+      .fieldsSuppression("008")
+      .build();
+    var sameMappingProfile = MappingProfile.builder()
+      .id(mappingProfileId)
+      .recordTypes(Collections.singletonList(RecordTypes.INSTANCE))
+      .fieldsSuppression("008")
+      .build();
+    var changedMappingProfile = MappingProfile.builder()
+      .id(mappingProfileId)
+      .recordTypes(Collections.singletonList(RecordTypes.INSTANCE))
+      .fieldsSuppression("020")
+      .build();
+
+    var rules = ruleFactory.getRules(mappingProfile);
+
+    assertSame(rules, ruleFactory.getRules(sameMappingProfile));
+    assertNotSame(rules, ruleFactory.getRules(changedMappingProfile));
+    assertTrue(ruleFactory.getRules(changedMappingProfile).stream().anyMatch(rule -> "008".equals(rule.getField())));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldRebuildRules_whenRulesAreInvalidated() {
+    var mappingProfile = MappingProfile.builder()
+      .id(UUID.randomUUID())
+      .recordTypes(Collections.singletonList(RecordTypes.INSTANCE))
+      .build();
+
+    var rules = ruleFactory.getRules(mappingProfile);
+    ruleFactory.invalidateRules(mappingProfile.getId());
+
+    var rebuiltRules = ruleFactory.getRules(mappingProfile);
+    assertNotSame(rules, rebuiltRules);
+    assertEquals(rules, rebuiltRules);
+  }
 }
@@ -11,6 +11,8 @@ import java.util.List;
 import static org.folio.dataexp.service.export.Constants.HOLDINGS_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class RuleHandlerTest {
 
@@ -42,4 +44,32 @@ class RuleHandlerTest {
     assertEquals("$.holdings[0].hrid", createdDataSource.getFrom());
     assertEquals("3", createdDataSource.getSubfield());
   }
+
+  @Test
+  void preHandleShouldReuseRulesForSameNumberOfHoldingsTest() {
+    var ruleHandler = new RuleHandler();
+    var rule = new Rule();
+    rule.setItemTypeRule(true);
+    rule.setField("fieldId");
+    rule.setId("ruleId");
+    rule.setDataSources(List.of(new DataSource()));
+    var rules = List.of(rule);
+
+    var result = ruleHandler.preHandle(instanceWithHoldings(2), rules);
+
+    assertEquals(2, result.size());
+    assertSame(result, ruleHandler.preHandle(instanceWithHoldings(2), rules));
+    assertNotSame(result, ruleHandler.preHandle(instanceWithHoldings(2), List.of(rule)));
+    assertEquals(3, ruleHandler.preHandle(instanceWithHoldings(3), rules).size());
+  }
+
+  private JSONObject instanceWithHoldings(int numberOfHoldings) {
+    var holdings = new JSONArray();
+    for (int i = 0; i < numberOfHoldings; i++) {
+      holdings.add(new JSONObject());
+    }
+    var jsonObject = new JSONObject();
+    jsonObject.put(HOLDINGS_KEY, holdings);
+    return jsonObject;
+  }
 }
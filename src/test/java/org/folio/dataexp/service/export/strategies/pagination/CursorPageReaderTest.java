@@ -0,0 +1,90 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import org.folio.dataexp.exception.export.DataExportException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CursorPageReaderTest {
+
+  private static final String SQL = "SELECT * FROM v_folio_instance_all_non_deleted WHERE id BETWEEN ? AND ? ORDER BY id ASC";
+
+  @Mock
+  private DataSource dataSource;
+  @Mock
+  private Connection connection;
+  @Mock
+  private PreparedStatement statement;
+  @Mock
+  private ResultSet resultSet;
+
+  @Test
+  void shouldReadRowsOfSingleQueryInPages() throws SQLException {
+    mockCursor();
+    when(resultSet.next()).thenReturn(true, true, true, false);
+    when(resultSet.getString("value")).thenReturn("a", "b", "c");
+
+    try (var reader = new CursorPageReader<>(dataSource, SQL, (rs, rowNum) -> rs.getString("value"), 2, "from", "to")) {
+      assertEquals(List.of("a", "b"), reader.readNext());
+      assertEquals(List.of("c"), reader.readNext());
+      assertNull(reader.readNext());
+    }
+
+    verify(connection).setAutoCommit(false);
+    verify(statement).setFetchSize(2);
+    verify(statement).setObject(1, "from");
+    verify(statement).setObject(2, "to");
+    verify(resultSet).close();
+    verify(statement).close();
+    verify(connection).close();
+  }
+
+  @Test
+  void shouldReturnEmptyFirstPageIfNoRows() throws SQLException {
+    mockCursor();
+    when(resultSet.next()).thenReturn(false);
+
+    try (var reader = new CursorPageReader<>(dataSource, SQL, (rs, rowNum) -> rs.getString("value"), 2)) {
+      assertEquals(List.of(), reader.readNext());
+      assertNull(reader.readNext());
+    }
+  }
+
+  @Test
+  void shouldThrowDataExportExceptionIfQueryFails() throws SQLException {
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+      .thenThrow(new SQLException("relation does not exist"));
+
+    try (var reader = new CursorPageReader<>(dataSource, SQL, (rs, rowNum) -> rs.getString("value"), 2)) {
+      var exception = assertThrows(DataExportException.class, reader::readNext);
+      assertEquals("relation does not exist", exception.getMessage());
+      assertNull(reader.readNext());
+    }
+
+    verify(connection).close();
+  }
+
+  private void mockCursor() throws SQLException {
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+  }
+}
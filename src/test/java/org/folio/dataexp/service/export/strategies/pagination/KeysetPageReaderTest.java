@@ -0,0 +1,57 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class KeysetPageReaderTest {
+
+  private static final UUID ID_1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  private static final UUID ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000002");
+  private static final UUID ID_3 = UUID.fromString("00000000-0000-0000-0000-000000000003");
+  private static final UUID ID_4 = UUID.fromString("00000000-0000-0000-0000-000000000004");
+  private static final UUID ID_5 = UUID.fromString("00000000-0000-0000-0000-000000000005");
+
+  @Test
+  void shouldReadNextPagesAfterLastIdOfPreviousPage() {
+    var ids = List.of(ID_1, ID_2, ID_3, ID_4, ID_5);
+    var lastIds = new ArrayList<UUID>();
+    var reader = new KeysetPageReader<UUID>(pageable -> new SliceImpl<>(ids.subList(0, 2), pageable, true),
+      (lastId, limit) -> {
+        lastIds.add(lastId);
+        return ids.stream().filter(id -> id.compareTo(lastId) > 0).limit(limit).toList();
+      }, id -> id, 2);
+
+    assertEquals(List.of(ID_1, ID_2), reader.readNext());
+    assertEquals(List.of(ID_3, ID_4), reader.readNext());
+    assertEquals(List.of(ID_5), reader.readNext());
+    assertNull(reader.readNext());
+    assertEquals(List.of(ID_2, ID_4), lastIds);
+  }
+
+  @Test
+  void shouldNotReadNextPageIfFirstSliceHasNoNext() {
+    var reader = new KeysetPageReader<UUID>(pageable -> new SliceImpl<>(List.of(ID_1), pageable, false),
+      (lastId, limit) -> {
+        throw new IllegalStateException("Next page should not be read");
+      }, id -> id, 2);
+
+    assertEquals(List.of(ID_1), reader.readNext());
+    assertNull(reader.readNext());
+  }
+
+  @Test
+  void shouldStopOnEmptyNextPage() {
+    var reader = new KeysetPageReader<UUID>(pageable -> new SliceImpl<>(List.of(ID_1, ID_2), pageable, true),
+      (lastId, limit) -> List.of(), id -> id, 2);
+
+    assertEquals(List.of(ID_1, ID_2), reader.readNext());
+    assertNull(reader.readNext());
+  }
+}
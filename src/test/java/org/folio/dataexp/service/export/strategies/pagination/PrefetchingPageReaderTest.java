@@ -0,0 +1,54 @@
+package org.folio.dataexp.service.export.strategies.pagination;
+
+import org.folio.dataexp.exception.export.DataExportException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrefetchingPageReaderTest {
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldReadAllPagesInOrder() {
+    var pages = List.of(List.of(1, 2), List.of(3, 4), List.of(5));
+    var iterator = pages.iterator();
+    PageReader<Integer> pageReader = () -> iterator.hasNext() ? iterator.next() : null;
+
+    var result = new ArrayList<List<Integer>>();
+    try (var reader = new PrefetchingPageReader<>(pageReader, 1, executor)) {
+      for (var page = reader.readNext(); page != null; page = reader.readNext()) {
+        result.add(page);
+      }
+      assertNull(reader.readNext());
+    }
+
+    assertEquals(pages, result);
+  }
+
+  @Test
+  void shouldRethrowErrorOfReaderThread() {
+    PageReader<Integer> failingReader = () -> {
+      throw new DataExportException("Can not read");
+    };
+
+    try (var reader = new PrefetchingPageReader<>(failingReader, 2, executor)) {
+      var exception = assertThrows(DataExportException.class, reader::readNext);
+      assertEquals("Can not read", exception.getMessage());
+      assertNull(reader.readNext());
+    }
+  }
+}
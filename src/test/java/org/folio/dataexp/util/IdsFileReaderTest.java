@@ -0,0 +1,90 @@
+package org.folio.dataexp.util;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdsFileReaderTest {
+
+  private static final String ID = "7aadccbf-63a1-4c66-bb3a-83365649236c";
+
+  @Test
+  @SneakyThrows
+  void shouldSplitLinesLikeBufferedReader() {
+    var lines = readLines("first\nsecond\r\nthird\r\rfifth");
+    assertEquals(List.of("first", "second", "third", "", "fifth"), lines);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldNotReturnLineAfterLastLineTerminator() {
+    assertEquals(List.of("first", ""), readLines("first\n\n"));
+    assertEquals(List.of("first"), readLines("first\r\n"));
+    assertEquals(List.of(), readLines(""));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReadLinesLongerThanBuffer() {
+    var longLine = "a".repeat(200_000);
+    assertEquals(List.of(longLine, ID), readLines(longLine + "\n" + ID));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldParseUuids() {
+    var upperCase = ID.toUpperCase();
+    var nonCanonical = "7aadccbf-63a1-4c66-bb3a-3365649236c";
+    try (var reader = reader(ID + "\n\"" + ID + "\"\n" + upperCase + "\n" + nonCanonical + "\n")) {
+      assertTrue(reader.nextLine());
+      assertEquals(UUID.fromString(ID), reader.getUuid());
+      assertTrue(reader.nextLine());
+      assertEquals(UUID.fromString(ID), reader.getUuid());
+      assertTrue(reader.nextLine());
+      assertEquals(UUID.fromString(ID), reader.getUuid());
+      assertTrue(reader.nextLine());
+      assertEquals(UUID.fromString(nonCanonical), reader.getUuid());
+      assertFalse(reader.nextLine());
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldThrowExceptionIfLineIsNotUuid() {
+    try (var reader = reader("\n7aadccbf-63a1-4c66-bb3a-83365649236g\n\"not-uuid\"\n")) {
+      assertTrue(reader.nextLine());
+      assertThrows(IllegalArgumentException.class, reader::getUuid);
+      assertEquals("", reader.getLine());
+      assertTrue(reader.nextLine());
+      assertThrows(IllegalArgumentException.class, reader::getUuid);
+      assertTrue(reader.nextLine());
+      assertThrows(IllegalArgumentException.class, reader::getUuid);
+      assertEquals("not-uuid", reader.getLine());
+    }
+  }
+
+  @SneakyThrows
+  private List<String> readLines(String content) {
+    var lines = new ArrayList<String>();
+    try (var reader = reader(content)) {
+      while (reader.nextLine()) {
+        lines.add(reader.getLine());
+      }
+    }
+    return lines;
+  }
+
+  private IdsFileReader reader(String content) {
+    return new IdsFileReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,68 @@
+package org.folio.dataexp.util;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceIdsReaderTest {
+
+  private static final UUID FIRST_ID = UUID.fromString("011e1aea-222d-4d1d-957d-0abcdd0e9acd");
+  private static final UUID SECOND_ID = UUID.fromString("011e1aea-111d-4d1d-957d-0abcdd0e9acd");
+  private static final UUID THIRD_ID = UUID.fromString("7aadccbf-63a1-4c66-bb3a-83365649236c");
+
+  @Test
+  @SneakyThrows
+  void shouldReadIdsInChunks() {
+    var json = "{\"ids\":[{\"id\":\"" + FIRST_ID + "\"},{\"extra\":{\"a\":[1]},\"id\":\"" + SECOND_ID + "\"},{\"id\":\""
+      + THIRD_ID + "\"}],\"totalRecords\":3}";
+    try (var reader = reader(json)) {
+      assertEquals(List.of(FIRST_ID, SECOND_ID), reader.nextChunk(2));
+      assertNull(reader.getTotalRecords());
+      assertEquals(List.of(THIRD_ID), reader.nextChunk(2));
+      assertTrue(reader.nextChunk(2).isEmpty());
+      assertEquals(3, reader.getTotalRecords());
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReadTotalRecordsBeforeIdsAndSkipUnknownFields() {
+    var json = "{\"totalRecords\":1,\"unknown\":{\"ids\":[]},\"ids\":[{\"id\":\"" + FIRST_ID + "\"}]}";
+    try (var reader = reader(json)) {
+      assertEquals(List.of(FIRST_ID), reader.nextChunk(10));
+      assertEquals(1, reader.getTotalRecords());
+      assertTrue(reader.nextChunk(10).isEmpty());
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReadEmptyResponse() {
+    try (var reader = reader("")) {
+      assertTrue(reader.nextChunk(10).isEmpty());
+    }
+    try (var reader = reader("{\"ids\":[],\"totalRecords\":0}")) {
+      assertTrue(reader.nextChunk(10).isEmpty());
+      assertEquals(0, reader.getTotalRecords());
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionIfResponseIsNotObject() {
+    assertThrows(IOException.class, () -> reader("[]"));
+  }
+
+  private ResourceIdsReader reader(String json) throws IOException {
+    return new ResourceIdsReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+  }
+}
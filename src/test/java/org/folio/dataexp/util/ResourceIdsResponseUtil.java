@@ -0,0 +1,23 @@
+package org.folio.dataexp.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Request;
+import feign.Response;
+import org.folio.dataexp.domain.dto.ResourceIds;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class ResourceIdsResponseUtil {
+  private static ObjectMapper mapper = new ObjectMapper();
+
+  public static Response getResourceIdsResponse(ResourceIds resourceIds) throws IOException {
+    var request = Request.create(Request.HttpMethod.GET, "/search/resources/jobs/ids", Map.of(), null, StandardCharsets.UTF_8, null);
+    return Response.builder()
+      .status(200)
+      .request(request)
+      .body(mapper.writeValueAsBytes(resourceIds))
+      .build();
+  }
+}
@@ -0,0 +1,92 @@
+package org.folio.dataexp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidHashSetTest {
+
+  @Test
+  void shouldDetectDuplicatesWhileGrowing() {
+    var set = new UuidHashSet(0, Long.MAX_VALUE);
+    var uuids = new ArrayList<UUID>();
+    for (int i = 0; i < 100_000; i++) {
+      uuids.add(UUID.randomUUID());
+    }
+    uuids.forEach(uuid -> assertTrue(set.add(uuid)));
+    uuids.forEach(uuid -> assertFalse(set.add(uuid)));
+
+    assertEquals(uuids.size(), set.size());
+    assertFalse(set.isFull());
+    assertEquals(262_144 * 16L, set.getMemoryBytes());
+  }
+
+  @Test
+  void shouldStoreZeroUuid() {
+    var set = new UuidHashSet(10, 1024);
+    var zero = new UUID(0, 0);
+
+    assertTrue(set.add(zero));
+    assertFalse(set.add(zero));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  void shouldStopStoringWhenMemoryLimitIsReached() {
+    var set = new UuidHashSet(1000, 32 * 16);
+    var stored = new ArrayList<UUID>();
+    for (int i = 0; i < 24; i++) {
+      var uuid = UUID.randomUUID();
+      stored.add(uuid);
+      assertTrue(set.add(uuid));
+    }
+    assertFalse(set.isFull());
+
+    var notStored = UUID.randomUUID();
+    assertTrue(set.add(notStored));
+    assertTrue(set.add(notStored));
+    assertTrue(set.isFull());
+    stored.forEach(uuid -> assertFalse(set.add(uuid)));
+    assertEquals(32 * 16L, set.getMemoryBytes());
+  }
+
+  @Test
+  void shouldShareMemoryLimitBetweenSets() {
+    var usedMemory = new AtomicLong();
+    var first = new UuidHashSet(0, 64 * 16, usedMemory);
+    var second = new UuidHashSet(0, 64 * 16, usedMemory);
+    assertEquals(2 * 16 * 16L, usedMemory.get());
+
+    for (int i = 0; i < 24; i++) {
+      assertTrue(first.add(UUID.randomUUID()));
+    }
+    assertFalse(first.isFull());
+    assertEquals(32 * 16L, first.getMemoryBytes());
+    assertEquals(32 * 16L + 16 * 16L, usedMemory.get());
+
+    for (int i = 0; i < 13; i++) {
+      assertTrue(second.add(UUID.randomUUID()));
+    }
+    assertTrue(second.isFull());
+    assertEquals(16 * 16L, second.getMemoryBytes());
+    assertEquals(12, second.size());
+
+    first.close();
+    assertEquals(16 * 16L, usedMemory.get());
+    for (int i = 0; i < 12; i++) {
+      assertTrue(second.add(UUID.randomUUID()));
+    }
+    assertEquals(32 * 16L, second.getMemoryBytes());
+    assertEquals(24, second.size());
+
+    second.close();
+    second.close();
+    assertEquals(0, usedMemory.get());
+  }
+}